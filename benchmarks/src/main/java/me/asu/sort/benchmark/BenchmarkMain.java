@@ -0,0 +1,157 @@
+package me.asu.sort.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import me.asu.sort.algorithm.Sorts;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the sort benchmarks for every algorithm registered in {@link Sorts},
+ * with the GC profiler, prints ns/element and allocation per element and
+ * writes them to a JSON report. Given a baseline report it exits with status
+ * 1 when a result got slower than the tolerance allows.
+ * <pre>
+ * java -jar benchmarks.jar [--full] [--algorithms a,b] [--sizes 10,1000]
+ *     [--distributions random,zipf] [--include regex] [--heap 8g]
+ *     [--result report.json] [--baseline baseline.json] [--tolerance 0.10]
+ * </pre>
+ * The quick set runs sizes 10 to 10^5, --full runs 10 to 10^8 (10^8 boxed or
+ * String elements need a heap of several GB, see --heap). The quadratic
+ * algorithms only run sizes up to {@link #QUADRATIC_MAX_SIZE}.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class BenchmarkMain {
+
+    public static final String[] QUICK_SIZES = {"10", "1000", "100000"};
+    public static final String[] FULL_SIZES = {"10", "100", "1000", "10000", "100000",
+            "1000000", "10000000", "100000000"};
+    public static final List<String> QUADRATIC = Arrays.asList("insert", "bubble", "selection");
+    public static final int QUADRATIC_MAX_SIZE = 10000;
+
+    private static final String DEFAULT_INCLUDE = "me\\.asu\\.sort\\.benchmark\\..*SortBenchmark";
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        List<String> algorithms = new ArrayList<String>(Sorts.names());
+        List<String> sizes = Arrays.asList(QUICK_SIZES);
+        List<String> distributions = new ArrayList<String>();
+        for (Distribution d : Distribution.values()) {
+            distributions.add(d.name().toLowerCase());
+        }
+        String include = DEFAULT_INCLUDE;
+        String heap = null;
+        File result = new File("benchmark-result.json");
+        File baseline = null;
+        double tolerance = 0.10;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if ("--full".equals(arg)) {
+                sizes = Arrays.asList(FULL_SIZES);
+            } else if ("--algorithms".equals(arg)) {
+                algorithms = split(value(args, ++i, arg));
+            } else if ("--sizes".equals(arg)) {
+                sizes = split(value(args, ++i, arg));
+            } else if ("--distributions".equals(arg)) {
+                distributions = split(value(args, ++i, arg));
+            } else if ("--include".equals(arg)) {
+                include = value(args, ++i, arg);
+            } else if ("--heap".equals(arg)) {
+                heap = value(args, ++i, arg);
+            } else if ("--result".equals(arg)) {
+                result = new File(value(args, ++i, arg));
+            } else if ("--baseline".equals(arg)) {
+                baseline = new File(value(args, ++i, arg));
+            } else if ("--tolerance".equals(arg)) {
+                tolerance = Double.parseDouble(value(args, ++i, arg));
+            } else {
+                throw new IllegalArgumentException("unknown option: " + arg);
+            }
+        }
+        for (int i = 0; i < distributions.size(); i++) {
+            distributions.set(i, Distribution.of(distributions.get(i)).name().toLowerCase());
+        }
+        for (String a : algorithms) {
+            if (Sorts.get(a) == null) {
+                throw new IllegalArgumentException("There's no " + a);
+            }
+        }
+
+        List<String> fast = new ArrayList<String>();
+        List<String> quadratic = new ArrayList<String>();
+        for (String a : algorithms) {
+            (QUADRATIC.contains(a) ? quadratic : fast).add(a);
+        }
+        List<String> smallSizes = new ArrayList<String>();
+        for (String s : sizes) {
+            if (Integer.parseInt(s) <= QUADRATIC_MAX_SIZE) {
+                smallSizes.add(s);
+            }
+        }
+
+        List<RunResult> results = new ArrayList<RunResult>();
+        if (!fast.isEmpty()) {
+            results.addAll(run(include, fast, sizes, distributions, heap));
+        }
+        if (!quadratic.isEmpty() && !smallSizes.isEmpty()) {
+            results.addAll(run(include, quadratic, smallSizes, distributions, heap));
+        }
+
+        BenchmarkReport report = BenchmarkReport.of(results);
+        report.print(System.out);
+        report.write(result);
+        System.out.println("report written to " + result);
+
+        if (baseline != null) {
+            List<String> regressions = report.regressions(BenchmarkReport.read(baseline), tolerance);
+            for (String r : regressions) {
+                System.out.println("REGRESSION " + r);
+            }
+            if (!regressions.isEmpty()) {
+                System.exit(1);
+            }
+            System.out.println("no regressions against " + baseline);
+        }
+    }
+
+    private static Collection<RunResult> run(String include, List<String> algorithms, List<String> sizes,
+                                             List<String> distributions, String heap) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(include)
+                .param("algorithm", algorithms.toArray(new String[0]))
+                .param("size", sizes.toArray(new String[0]))
+                .param("distribution", distributions.toArray(new String[0]))
+                .addProfiler(GCProfiler.class);
+        if (heap != null) {
+            options.jvmArgsAppend("-Xms" + heap, "-Xmx" + heap);
+        }
+        return new Runner(options.build()).run();
+    }
+
+    private static String value(String[] args, int i, String option) {
+        if (i >= args.length) {
+            throw new IllegalArgumentException(option + " needs a value");
+        }
+        return args[i];
+    }
+
+    private static List<String> split(String value) {
+        List<String> list = new ArrayList<String>();
+        for (String s : value.split(",")) {
+            if (!s.trim().isEmpty()) {
+                list.add(s.trim());
+            }
+        }
+        return list;
+    }
+}
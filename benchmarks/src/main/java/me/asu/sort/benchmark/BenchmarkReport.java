@@ -0,0 +1,128 @@
+package me.asu.sort.benchmark;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+
+/**
+ * The per element view of a benchmark run, stored as JSON so that a later
+ * run can be compared against it.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class BenchmarkReport {
+
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+    private static final String ALLOC_RATE = "gc.alloc.rate";
+
+    public static class Entry {
+        public String benchmark;
+        public String algorithm;
+        public int size;
+        public String distribution;
+        public double nsPerElement;
+        public double nsPerElementError;
+        public double allocBytesPerElement;
+        public double allocRateMBPerSec;
+
+        String key() {
+            return benchmark + " " + algorithm + " " + size + " " + distribution;
+        }
+    }
+
+    public List<Entry> results = new ArrayList<Entry>();
+
+    public static BenchmarkReport of(Collection<RunResult> runs) {
+        BenchmarkReport report = new BenchmarkReport();
+        for (RunResult run : runs) {
+            BenchmarkParams params = run.getParams();
+            Entry e = new Entry();
+            String name = params.getBenchmark();
+            e.benchmark = name.substring(name.lastIndexOf('.', name.lastIndexOf('.') - 1) + 1);
+            e.algorithm = params.getParam("algorithm");
+            e.size = Integer.parseInt(params.getParam("size"));
+            e.distribution = params.getParam("distribution");
+            Result<?> primary = run.getPrimaryResult();
+            e.nsPerElement = primary.getScore() / e.size;
+            e.nsPerElementError = Double.isNaN(primary.getScoreError()) ? 0 : primary.getScoreError() / e.size;
+            // JMH hands out a map of raw Results
+            for (String key : run.getSecondaryResults().keySet()) {
+                Result<?> secondary = run.getSecondaryResults().get(key);
+                if (key.endsWith(ALLOC_NORM)) {
+                    e.allocBytesPerElement = secondary.getScore() / e.size;
+                } else if (key.endsWith(ALLOC_RATE)) {
+                    e.allocRateMBPerSec = secondary.getScore();
+                }
+            }
+            report.results.add(e);
+        }
+        return report;
+    }
+
+    public static BenchmarkReport read(File file) throws IOException {
+        Reader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8);
+        try {
+            return new Gson().fromJson(in, BenchmarkReport.class);
+        } finally {
+            in.close();
+        }
+    }
+
+    public void write(File file) throws IOException {
+        Writer out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+        try {
+            new GsonBuilder().setPrettyPrinting().create().toJson(this, out);
+        } finally {
+            out.close();
+        }
+    }
+
+    public void print(PrintStream out) {
+        out.printf("%-28s %-18s %10s %-12s %12s %12s %14s%n", "benchmark", "algorithm", "size",
+                "distribution", "ns/element", "error", "alloc B/elem");
+        for (Entry e : results) {
+            out.printf("%-28s %-18s %10d %-12s %12.3f %12.3f %14.3f%n", e.benchmark, e.algorithm, e.size,
+                    e.distribution, e.nsPerElement, e.nsPerElementError, e.allocBytesPerElement);
+        }
+    }
+
+    /**
+     * Results that are slower than their baseline by more than tolerance
+     * (0.10 is 10%), after giving both sides the benefit of their error.
+     * Results missing from either report are not compared.
+     */
+    public List<String> regressions(BenchmarkReport baseline, double tolerance) {
+        Map<String, Entry> base = new HashMap<String, Entry>();
+        for (Entry e : baseline.results) {
+            base.put(e.key(), e);
+        }
+        List<String> regressions = new ArrayList<String>();
+        for (Entry e : results) {
+            Entry b = base.get(e.key());
+            if (b == null) {
+                continue;
+            }
+            double limit = (b.nsPerElement + b.nsPerElementError) * (1 + tolerance);
+            if (e.nsPerElement - e.nsPerElementError > limit) {
+                regressions.add(String.format("%s: %.3f ns/element, baseline %.3f", e.key(),
+                        e.nsPerElement, b.nsPerElement));
+            }
+        }
+        return regressions;
+    }
+}
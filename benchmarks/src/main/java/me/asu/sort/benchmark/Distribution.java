@@ -0,0 +1,151 @@
+package me.asu.sort.benchmark;
+
+import java.util.Random;
+
+/**
+ * Input distributions of the benchmarks. Every distribution generates int
+ * keys from a fixed seed, so runs are repeatable; the boxed and String inputs
+ * are derived from the same keys.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public enum Distribution {
+
+    /** Uniform over the whole int range. */
+    RANDOM {
+        @Override
+        void fill(int[] keys, Random rnd) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = rnd.nextInt();
+            }
+        }
+    },
+
+    /** Already ascending. */
+    SORTED {
+        @Override
+        void fill(int[] keys, Random rnd) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = i;
+            }
+        }
+    },
+
+    /** Strictly descending. */
+    REVERSED {
+        @Override
+        void fill(int[] keys, Random rnd) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = keys.length - i;
+            }
+        }
+    },
+
+    /** Ascending to the middle, then descending. */
+    ORGAN_PIPE {
+        @Override
+        void fill(int[] keys, Random rnd) {
+            int n = keys.length;
+            for (int i = 0; i < n; i++) {
+                keys[i] = i < n / 2 ? i : n - i;
+            }
+        }
+    },
+
+    /** 16 distinct keys in random order. */
+    FEW_UNIQUE {
+        @Override
+        void fill(int[] keys, Random rnd) {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = rnd.nextInt(16);
+            }
+        }
+    },
+
+    /** 16 ascending runs of equal length. */
+    SAWTOOTH {
+        @Override
+        void fill(int[] keys, Random rnd) {
+            int period = Math.max(2, keys.length >>> 4);
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = i % period;
+            }
+        }
+    },
+
+    /**
+     * Zipf with exponent 1 over up to 2^20 distinct keys: a few keys are very
+     * frequent, most are rare. The ranks are scrambled so that the frequent
+     * keys do not sort next to each other.
+     */
+    ZIPF {
+        @Override
+        void fill(int[] keys, Random rnd) {
+            int m = Math.max(1, Math.min(keys.length, 1 << 20));
+            double[] cdf = new double[m];
+            double sum = 0;
+            for (int r = 0; r < m; r++) {
+                sum += 1.0 / (r + 1);
+                cdf[r] = sum;
+            }
+            for (int i = 0; i < keys.length; i++) {
+                double u = rnd.nextDouble() * sum;
+                int lo = 0, hi = m - 1;
+                while (lo < hi) {
+                    int mid = (lo + hi) >>> 1;
+                    if (cdf[mid] < u) {
+                        lo = mid + 1;
+                    } else {
+                        hi = mid;
+                    }
+                }
+                keys[i] = lo * 0x9E3779B1;
+            }
+        }
+    };
+
+    private static final long SEED = 0x5EED5EEDL;
+
+    abstract void fill(int[] keys, Random rnd);
+
+    /**
+     * Parses a distribution name, case insensitive and with '-' for '_'.
+     */
+    public static Distribution of(String name) {
+        return valueOf(name.trim().toUpperCase().replace('-', '_'));
+    }
+
+    public int[] ints(int n) {
+        int[] keys = new int[n];
+        fill(keys, new Random(SEED));
+        return keys;
+    }
+
+    public Integer[] boxed(int n) {
+        int[] keys = ints(n);
+        Integer[] data = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = keys[i];
+        }
+        return data;
+    }
+
+    /**
+     * Strings that order like their int keys: a common prefix and the key as
+     * 8 hex digits with the sign bit flipped.
+     */
+    public String[] strings(int n) {
+        int[] keys = ints(n);
+        String[] data = new String[n];
+        char[] buf = {'k', 'e', 'y', '-', 0, 0, 0, 0, 0, 0, 0, 0};
+        for (int i = 0; i < n; i++) {
+            int k = keys[i] ^ Integer.MIN_VALUE;
+            for (int d = buf.length - 1; d >= 4; d--, k >>>= 4) {
+                buf[d] = Character.forDigit(k & 0xf, 16);
+            }
+            data[i] = new String(buf);
+        }
+        return data;
+    }
+}
@@ -0,0 +1,96 @@
+package me.asu.sort.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import me.asu.sort.Sort;
+import me.asu.sort.algorithm.Sorts;
+import me.asu.sort.metrics.InstrumentedSort;
+import me.asu.sort.metrics.MetricsSink;
+import me.asu.sort.metrics.SortMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of the {@link me.asu.sort.metrics.SortProbe} hooks. Each method runs
+ * in its own fork with the metrics property set as named:
+ * <ul>
+ * <li>disabled: the production setting, must match {@link BoxedSortBenchmark}
+ * of the same build and of a build without the hooks.</li>
+ * <li>enabledIdle: hooks compiled in but nothing recording.</li>
+ * <li>instrumented: through an {@link InstrumentedSort} with every count on.</li>
+ * </ul>
+ * <pre>
+ * java -jar benchmarks.jar --include InstrumentationBenchmark --algorithms improved_quick,tim
+ * </pre>
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InstrumentationBenchmark {
+
+    @Param({"improved_quick"})
+    public String algorithm;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"random"})
+    public String distribution;
+
+    private Sort sort;
+    private Sort instrumented;
+    private Integer[] input;
+    private Integer[] work;
+    private SortMetrics last;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        sort = Sorts.get(algorithm);
+        if (sort == null) {
+            throw new IllegalArgumentException("There's no " + algorithm);
+        }
+        MetricsSink sink = m -> last = m;
+        instrumented = new InstrumentedSort(sort, sink);
+        input = Distribution.of(distribution).boxed(size);
+        work = new Integer[size];
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsPrepend = "-Dme.asu.sort.metrics=false")
+    public Object disabled() {
+        System.arraycopy(input, 0, work, 0, input.length);
+        sort.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsPrepend = "-Dme.asu.sort.metrics=true")
+    public Object enabledIdle() {
+        System.arraycopy(input, 0, work, 0, input.length);
+        sort.sort(work);
+        return work;
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsPrepend = "-Dme.asu.sort.metrics=true")
+    public Object instrumented() {
+        System.arraycopy(input, 0, work, 0, input.length);
+        instrumented.sort(work);
+        return last;
+    }
+}
@@ -0,0 +1,41 @@
+package me.asu.sort.benchmark;
+
+import me.asu.sort.Sort;
+import me.asu.sort.algorithm.Sorts;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parameters shared by the sort benchmarks. The defaults are a small smoke
+ * set, {@link BenchmarkMain} runs every algorithm registered in
+ * {@link Sorts}.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+@State(Scope.Thread)
+public abstract class SortState {
+
+    @Param({"improved_quick"})
+    public String algorithm;
+
+    @Param({"10", "1000", "100000"})
+    public int size;
+
+    @Param({"random", "sorted", "reversed", "organ_pipe", "few_unique", "sawtooth", "zipf"})
+    public String distribution;
+
+    protected Sort sort;
+
+    protected void init() {
+        sort = Sorts.get(algorithm);
+        if (sort == null) {
+            throw new IllegalArgumentException("There's no " + algorithm);
+        }
+    }
+
+    protected Distribution distribution() {
+        return Distribution.of(distribution);
+    }
+}
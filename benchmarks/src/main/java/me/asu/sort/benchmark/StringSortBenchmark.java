@@ -0,0 +1,48 @@
+package me.asu.sort.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sorts a String[] in natural order. Every invocation copies the
+ * generated input into a work array first, the copy is part of the
+ * measured time but does not allocate.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringSortBenchmark extends SortState {
+
+    private String[] input;
+    private String[] work;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        init();
+        input = distribution().strings(size);
+        work = new String[size];
+    }
+
+    @Benchmark
+    public Object sort() {
+        System.arraycopy(input, 0, work, 0, input.length);
+        sort.sort(work);
+        return work;
+    }
+}
@@ -0,0 +1,37 @@
+package me.asu.sort;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.ListIterator;
+
+/**
+ * Sorts a List with a {@link Sort}: the elements are copied out once by
+ * toArray, sorted, and written back through a ListIterator, as the default
+ * {@link List#sort} does. A caller that owns the array behind its list can
+ * sort it in place with the range overloads of {@link Sort} instead.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+final class ListSort {
+
+    private ListSort() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> void sort(Sort sort, List<T> list, Comparator<? super T> c) {
+        if (list == null) {
+            throw new NullPointerException("list");
+        }
+        if (list.size() < 2) {
+            return;
+        }
+        T[] data = (T[]) list.toArray();
+        sort.sort(data, 0, data.length, c);
+        ListIterator<T> it = list.listIterator();
+        for (T t : data) {
+            it.next();
+            it.set(t);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package me.asu.sort;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * The range overloads of {@link Sort} for implementations that only sort
+ * whole object arrays: the range is copied out, boxed for the primitive
+ * arrays, sorted with {@link Sort#sort(Object[], Comparator)} and written
+ * back. The algorithms of this library sort their ranges in place instead.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+final class RangeSort {
+
+    private RangeSort() {
+    }
+
+    static <T> void sort(Sort sort, T[] data, int from, int to, Comparator<? super T> c) {
+        check(data.length, from, to);
+        if (from == 0 && to == data.length) {
+            sort.sort(data, c);
+            return;
+        }
+        if (to - from < 2) {
+            return;
+        }
+        T[] range = Arrays.copyOfRange(data, from, to);
+        sort.sort(range, c);
+        System.arraycopy(range, 0, data, from, range.length);
+    }
+
+    static void sort(Sort sort, int[] data, int from, int to) {
+        check(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        Integer[] boxed = new Integer[to - from];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = data[from + i];
+        }
+        sort.sort(boxed);
+        for (int i = 0; i < boxed.length; i++) {
+            data[from + i] = boxed[i];
+        }
+    }
+
+    static void sort(Sort sort, long[] data, int from, int to) {
+        check(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        Long[] boxed = new Long[to - from];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = data[from + i];
+        }
+        sort.sort(boxed);
+        for (int i = 0; i < boxed.length; i++) {
+            data[from + i] = boxed[i];
+        }
+    }
+
+    static void sort(Sort sort, float[] data, int from, int to) {
+        check(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        Float[] boxed = new Float[to - from];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = data[from + i];
+        }
+        sort.sort(boxed);
+        for (int i = 0; i < boxed.length; i++) {
+            data[from + i] = boxed[i];
+        }
+    }
+
+    static void sort(Sort sort, double[] data, int from, int to) {
+        check(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        Double[] boxed = new Double[to - from];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = data[from + i];
+        }
+        sort.sort(boxed);
+        for (int i = 0; i < boxed.length; i++) {
+            data[from + i] = boxed[i];
+        }
+    }
+
+    /**
+     * Checks that [from, to) is a valid range of an array of the given length.
+     */
+    private static void check(int length, int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("from(" + from + ") > to(" + to + ")");
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        if (to > length) {
+            throw new ArrayIndexOutOfBoundsException(to);
+        }
+    }
+}
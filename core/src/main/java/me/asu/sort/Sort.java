@@ -0,0 +1,173 @@
+package me.asu.sort;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import me.asu.sort.algorithm.Selector;
+import me.asu.sort.algorithm.Sorts;
+
+/**
+ * Created by suk on 2019/10/1.
+ */
+public interface Sort {
+
+    <T> void sort(T[] data);
+
+    <T> void sort(T[] data, Comparator<? super T> c);
+
+    /**
+     * Sort with scratch space from a caller-owned workspace instead of the
+     * calling thread's, c null means natural order. Algorithms that need no
+     * scratch space ignore the workspace.
+     */
+    default <T> void sort(T[] data, Comparator<? super T> c, Workspace workspace) {
+        if (data != null) {
+            sort(data, 0, data.length, c, workspace);
+        }
+    }
+
+    /**
+     * Sort the range [from, to) of the array in natural order.
+     */
+    default <T> void sort(T[] data, int from, int to) {
+        sort(data, from, to, null);
+    }
+
+    /**
+     * Sort the range [from, to) of the array, c null means natural order.
+     * The elements outside the range are not touched. The default sorts a
+     * copy of the range with {@link #sort(Object[], Comparator)}.
+     */
+    default <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        RangeSort.sort(this, data, from, to, c);
+    }
+
+    default <T> void sort(T[] data, int from, int to, Comparator<? super T> c, Workspace workspace) {
+        sort(data, from, to, c);
+    }
+
+    /**
+     * Sort the list in natural order, see {@link #sort(List, Comparator)}.
+     */
+    default <T> void sort(List<T> list) {
+        sort(list, null);
+    }
+
+    /**
+     * Sort the list, c null means natural order. The list is copied out once
+     * by toArray, sorted, and written back through a ListIterator; to sort
+     * an array without the copy, use {@link #sort(Object[], int, int, Comparator)}.
+     */
+    default <T> void sort(List<T> list, Comparator<? super T> c) {
+        ListSort.sort(this, list, c);
+    }
+
+    /**
+     * Sort the whole int array in ascending order.
+     */
+    default void sort(int[] data) {
+        sort(data, 0, data.length);
+    }
+
+    /**
+     * Sort the range [from, to) of the int array in ascending order. The
+     * default boxes the range and sorts it with {@link #sort(Object[])}, as
+     * do the other primitive range overloads.
+     */
+    default void sort(int[] data, int from, int to) {
+        RangeSort.sort(this, data, from, to);
+    }
+
+    default void sort(long[] data) {
+        sort(data, 0, data.length);
+    }
+
+    default void sort(long[] data, int from, int to) {
+        RangeSort.sort(this, data, from, to);
+    }
+
+    /**
+     * Sort the whole float array, NaN and -0.0f are ordered as {@link Float#compare}.
+     */
+    default void sort(float[] data) {
+        sort(data, 0, data.length);
+    }
+
+    default void sort(float[] data, int from, int to) {
+        RangeSort.sort(this, data, from, to);
+    }
+
+    /**
+     * Sort the whole double array, NaN and -0.0d are ordered as {@link Double#compare}.
+     */
+    default void sort(double[] data) {
+        sort(data, 0, data.length);
+    }
+
+    default void sort(double[] data, int from, int to) {
+        RangeSort.sort(this, data, from, to);
+    }
+
+    String algorithm();
+
+    /**
+     * Whether equal elements keep their relative order in the object sorts,
+     * as a second sort pass by another key relies on. False unless the
+     * implementation guarantees it for every input.
+     */
+    default boolean isStable() {
+        return false;
+    }
+
+
+    /**
+     * Sort with the "auto" algorithm, which picks an engine from a sample of
+     * the data.
+     */
+    static <T> void sortData(T[] data) {
+        sortData(data, "auto");
+    }
+
+    /**
+     * @throws IllegalArgumentException if there is no such algorithm
+     */
+    static <T> void sortData(T[] data, String algorithm) {
+        sortData(data, algorithm, null);
+    }
+
+
+    /**
+     * @throws IllegalArgumentException if there is no such algorithm
+     */
+    static <T> void sortData(T[] data, String algorithm, Comparator<? super T> c) {
+        Sort sort = Sorts.require(algorithm);
+        if (data == null || data.length == 0) {
+            return;
+        }
+        sort.sort(data, c);
+    }
+
+    /**
+     * Moves the k-th smallest element (0 based) to data[k], smaller ones
+     * before and greater ones after it, in O(n). c null means natural order.
+     */
+    static <T> T selectKth(T[] data, int k, Comparator<? super T> c) {
+        return Selector.selectKth(data, k, c);
+    }
+
+    /**
+     * Sorts the k smallest elements into data[0, k), the rest stays
+     * unordered, in O(n + k log k). c null means natural order.
+     */
+    static <T> void partialSort(T[] data, int k, Comparator<? super T> c) {
+        Selector.partialSort(data, k, c);
+    }
+
+    /**
+     * The k smallest elements of the iterator in order, in O(n log k) time
+     * and O(k) space. c null means natural order.
+     */
+    static <T> List<T> topK(Iterator<? extends T> it, int k, Comparator<? super T> c) {
+        return Selector.topK(it, k, c);
+    }
+}
@@ -0,0 +1,250 @@
+package me.asu.sort;
+
+import java.util.Arrays;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * Scratch arrays for the sorts that need them (the merge sorts, TimSort), so
+ * that sorting in a hot loop does not allocate an n-sized buffer per call.
+ * <p>
+ * A workspace keeps one array per element kind and hands it out again when
+ * it is long enough. Arrays longer than maxRetained elements are handed out
+ * but not kept, and a kept array that stays much longer than what was asked
+ * for over the last {@value #DECAY_PERIOD} acquisitions is dropped, so one
+ * huge sort does not pin its buffer forever. Released object arrays are
+ * cleared, the workspace holds no references to sorted data.
+ * <p>
+ * A workspace is not thread safe: pass a caller-owned one to
+ * {@link Sort#sort(Object[], java.util.Comparator, Workspace)}, or let the
+ * sorts use {@link #current()}, one per thread. Nested use (a comparator
+ * that sorts) gets a fresh, unpooled array.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class Workspace {
+
+    /** Elements per array kind a workspace keeps by default. */
+    public static final int DEFAULT_MAX_RETAINED = 1 << 16;
+
+    static final int DECAY_PERIOD = 256;
+
+    /** Estimated size of a reference, compressed oops. */
+    private static final int REFERENCE_BYTES = 4;
+
+    private static final ThreadLocal<Workspace> CURRENT = ThreadLocal.withInitial(Workspace::new);
+
+    private final int maxRetained;
+
+    private Object[] objects;
+    private int[] ints;
+    private long[] longs;
+    private float[] floats;
+    private double[] doubles;
+
+    private boolean objectsInUse, intsInUse, longsInUse, floatsInUse, doublesInUse;
+
+    /** Acquisitions since the last decay and the largest of them. */
+    private int acquisitions;
+    private int highWater;
+
+    public Workspace() {
+        this(DEFAULT_MAX_RETAINED);
+    }
+
+    /**
+     * @param maxRetained longest array, in elements, that is kept for reuse
+     */
+    public Workspace(int maxRetained) {
+        if (maxRetained < 0) {
+            throw new IllegalArgumentException("maxRetained < 0: " + maxRetained);
+        }
+        this.maxRetained = maxRetained;
+    }
+
+    /**
+     * The calling thread's workspace.
+     */
+    public static Workspace current() {
+        return CURRENT.get();
+    }
+
+    public int getMaxRetained() {
+        return maxRetained;
+    }
+
+    /**
+     * An Object[] of at least n elements, give it back with
+     * {@link #releaseObjects(Object[], int)}.
+     */
+    public Object[] acquireObjects(int n) {
+        track(n);
+        if (objectsInUse || n > maxRetained) {
+            allocated((long) n * REFERENCE_BYTES);
+            return new Object[n];
+        }
+        if (objects == null || objects.length < n) {
+            objects = new Object[grow(objects == null ? 0 : objects.length, n)];
+            allocated((long) objects.length * REFERENCE_BYTES);
+        }
+        objectsInUse = true;
+        return objects;
+    }
+
+    /**
+     * Clears buffer[0, used) and makes buffer available again.
+     */
+    public void releaseObjects(Object[] buffer, int used) {
+        if (buffer == objects) {
+            Arrays.fill(buffer, 0, Math.min(used, buffer.length), null);
+            objectsInUse = false;
+        }
+    }
+
+    public int[] acquireInts(int n) {
+        track(n);
+        if (intsInUse || n > maxRetained) {
+            allocated((long) n * 4);
+            return new int[n];
+        }
+        if (ints == null || ints.length < n) {
+            ints = new int[grow(ints == null ? 0 : ints.length, n)];
+            allocated((long) ints.length * 4);
+        }
+        intsInUse = true;
+        return ints;
+    }
+
+    public void releaseInts(int[] buffer) {
+        if (buffer == ints) {
+            intsInUse = false;
+        }
+    }
+
+    public long[] acquireLongs(int n) {
+        track(n);
+        if (longsInUse || n > maxRetained) {
+            allocated((long) n * 8);
+            return new long[n];
+        }
+        if (longs == null || longs.length < n) {
+            longs = new long[grow(longs == null ? 0 : longs.length, n)];
+            allocated((long) longs.length * 8);
+        }
+        longsInUse = true;
+        return longs;
+    }
+
+    public void releaseLongs(long[] buffer) {
+        if (buffer == longs) {
+            longsInUse = false;
+        }
+    }
+
+    public float[] acquireFloats(int n) {
+        track(n);
+        if (floatsInUse || n > maxRetained) {
+            allocated((long) n * 4);
+            return new float[n];
+        }
+        if (floats == null || floats.length < n) {
+            floats = new float[grow(floats == null ? 0 : floats.length, n)];
+            allocated((long) floats.length * 4);
+        }
+        floatsInUse = true;
+        return floats;
+    }
+
+    public void releaseFloats(float[] buffer) {
+        if (buffer == floats) {
+            floatsInUse = false;
+        }
+    }
+
+    public double[] acquireDoubles(int n) {
+        track(n);
+        if (doublesInUse || n > maxRetained) {
+            allocated((long) n * 8);
+            return new double[n];
+        }
+        if (doubles == null || doubles.length < n) {
+            doubles = new double[grow(doubles == null ? 0 : doubles.length, n)];
+            allocated((long) doubles.length * 8);
+        }
+        doublesInUse = true;
+        return doubles;
+    }
+
+    public void releaseDoubles(double[] buffer) {
+        if (buffer == doubles) {
+            doublesInUse = false;
+        }
+    }
+
+    /**
+     * Drops every kept array that is not handed out.
+     */
+    public void trim() {
+        if (!objectsInUse) {
+            objects = null;
+        }
+        if (!intsInUse) {
+            ints = null;
+        }
+        if (!longsInUse) {
+            longs = null;
+        }
+        if (!floatsInUse) {
+            floats = null;
+        }
+        if (!doublesInUse) {
+            doubles = null;
+        }
+    }
+
+    private static void allocated(long bytes) {
+        if (SortProbe.ENABLED) {
+            SortProbe.scratch(bytes);
+        }
+    }
+
+    /**
+     * Grows by half at least, so a slowly rising n does not reallocate on
+     * every call, but never past maxRetained.
+     */
+    private int grow(int length, int n) {
+        long grown = length + (length >> 1);
+        return (int) Math.max(n, Math.min(grown, maxRetained));
+    }
+
+    /**
+     * Every DECAY_PERIOD acquisitions, drops the arrays that are more than 4
+     * times longer than the longest request of the period.
+     */
+    private void track(int n) {
+        if (n > highWater) {
+            highWater = n;
+        }
+        if (++acquisitions < DECAY_PERIOD) {
+            return;
+        }
+        long limit = 4L * highWater;
+        if (!objectsInUse && objects != null && objects.length > limit) {
+            objects = null;
+        }
+        if (!intsInUse && ints != null && ints.length > limit) {
+            ints = null;
+        }
+        if (!longsInUse && longs != null && longs.length > limit) {
+            longs = null;
+        }
+        if (!floatsInUse && floats != null && floats.length > limit) {
+            floats = null;
+        }
+        if (!doublesInUse && doubles != null && doubles.length > limit) {
+            doubles = null;
+        }
+        acquisitions = 0;
+        highWater = 0;
+    }
+}
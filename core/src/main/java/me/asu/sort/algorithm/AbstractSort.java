@@ -0,0 +1,146 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+import me.asu.sort.Sort;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * @author suk 增加泛型支持
+ * @version 1.1
+ * @since 2004-10-21
+ */
+public abstract class AbstractSort implements Sort {
+
+    private static final Comparator<Object> NATURAL = AbstractSort::compareNatural;
+
+    public String algorithm() {
+     return getClass().getSimpleName();
+    }
+
+    /**
+     * Sorts the whole array through the range sort.
+     */
+    public <T> void sort(T[] data) {
+        sort(data, null);
+    }
+
+    public <T> void sort(T[] data, Comparator<? super T> c) {
+        if (data == null) {
+            return;
+        }
+        sort(data, 0, data.length, c);
+    }
+
+    /**
+     * Every algorithm sorts its ranges in place, sort(T[], Comparator) and
+     * the fallbacks below go through here.
+     */
+    public abstract <T> void sort(T[] data, int from, int to, Comparator<? super T> c);
+
+    public <T> void swap(T[] data, int i, int j) {
+        if (SortProbe.ENABLED) {
+            SortProbe.move();
+        }
+        T temp = data[i];
+        data[i] = data[j];
+        data[j] = temp;
+    }
+
+    /**
+     * Fallback for algorithms without a primitive specialization: box, sort, unbox.
+     */
+    public void sort(int[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        Integer[] boxed = new Integer[to - from];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = data[from + i];
+        }
+        sort(boxed);
+        for (int i = 0; i < boxed.length; i++) {
+            data[from + i] = boxed[i];
+        }
+    }
+
+    public void sort(long[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        Long[] boxed = new Long[to - from];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = data[from + i];
+        }
+        sort(boxed);
+        for (int i = 0; i < boxed.length; i++) {
+            data[from + i] = boxed[i];
+        }
+    }
+
+    public void sort(float[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        Float[] boxed = new Float[to - from];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = data[from + i];
+        }
+        sort(boxed);
+        for (int i = 0; i < boxed.length; i++) {
+            data[from + i] = boxed[i];
+        }
+    }
+
+    public void sort(double[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        Double[] boxed = new Double[to - from];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = data[from + i];
+        }
+        sort(boxed);
+        for (int i = 0; i < boxed.length; i++) {
+            data[from + i] = boxed[i];
+        }
+    }
+
+    /**
+     * Natural ordering, lets an implementation serve sort(T[]) from its
+     * comparator code path.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Comparator<? super T> naturalOrder() {
+        return (Comparator<? super T>) NATURAL;
+    }
+
+    /**
+     * a.compareTo(b), counted by {@link SortProbe#compare} when enabled.
+     */
+    @SuppressWarnings("unchecked")
+    static int compareNatural(Object a, Object b) {
+        if (SortProbe.ENABLED) {
+            SortProbe.compare();
+        }
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    /**
+     * Checks that [from, to) is a valid range of an array of the given length.
+     */
+    static void rangeCheck(int length, int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("from(" + from + ") > to(" + to + ")");
+        }
+        if (from < 0) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        if (to > length) {
+            throw new ArrayIndexOutOfBoundsException(to);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package me.asu.sort.algorithm;
+
+import me.asu.sort.Sort;
+
+/**
+ * Typed handles of the built-in algorithms. Each one looks its sort up in
+ * {@link Sorts} once, {@link #sort()} is then a field read. AUTO looks its
+ * sort up on the first call, so that a bad auto profile only fails AUTO.
+ * <pre>
+ * Algorithm.TIM.sort().sort(data, c);
+ * </pre>
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public enum Algorithm {
+    INSERT("insert"),
+    BUBBLE("bubble"),
+    SELECTION("selection"),
+    SHELL("shell"),
+    QUICK("quick"),
+    IMPROVED_QUICK("improved_quick"),
+    MERGE("merge"),
+    IMPROVED_MERGE("improved_merge"),
+    HEAP("heap"),
+    PARALLEL_MERGE("parallel_merge"),
+    PARALLEL_QUICK("parallel_quick"),
+    DUAL_PIVOT_QUICK("dual_pivot_quick"),
+    THREE_WAY_QUICK("three_way_quick"),
+    TIM("tim"),
+    RADIX("radix"),
+    STRING("string"),
+    BLOCK_MERGE("block_merge"),
+    AUTO("auto");
+
+    private final String algorithm;
+    private volatile Sort sort;
+
+    Algorithm(String algorithm) {
+        this.algorithm = algorithm;
+        if (!"auto".equals(algorithm)) {
+            this.sort = Sorts.require(algorithm);
+        }
+    }
+
+    /**
+     * The name in {@link Sorts}.
+     */
+    public String algorithm() {
+        return algorithm;
+    }
+
+    public Sort sort() {
+        Sort s = sort;
+        if (s == null) {
+            s = Sorts.require(algorithm);
+            sort = s;
+        }
+        return s;
+    }
+
+    /**
+     * The stable variant, as {@link Sorts#require(String, boolean)}.
+     */
+    public Sort stableSort() {
+        return Sorts.require(algorithm, true);
+    }
+}
@@ -0,0 +1,109 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+import me.asu.sort.Sort;
+
+/**
+ * Indirect sorts: instead of moving the elements, return the permutation
+ * that would sort them, order[i] being the index of the i-th smallest. The
+ * data is left untouched; {@link Permutations#apply} then rearranges it and
+ * any number of parallel arrays in place.
+ * <p>
+ * Every argsort is stable, equal elements keep their index order.
+ * <ul>
+ * <li>int[]: (value, index) packed into one long and sorted by
+ * {@link RadixSort}.</li>
+ * <li>long[], float[], double[]: unsigned-ordered keys radix sorted together
+ * with their indexes, floating point ordered as {@link Double#compare}.</li>
+ * <li>T[]: a primitive index array sorted by a comparison of the elements
+ * it points at, by {@link IndexSort}. Given a {@link Sort} that is not
+ * stable, a boxed index array sorted by that sort, whose tie order it
+ * decides.</li>
+ * </ul>
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class ArgSort {
+
+    private static final RadixSort RADIX_SORT = new RadixSort();
+
+    public static int[] argsort(int[] data) {
+        int n = data.length;
+        long[] packed = new long[n];
+        for (int i = 0; i < n; i++) {
+            packed[i] = ((long) data[i] << 32) | i;
+        }
+        RADIX_SORT.sort(packed);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    public static int[] argsort(long[] data) {
+        long[] keys = new long[data.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = data[i] ^ Long.MIN_VALUE;
+        }
+        return KeySort.order(keys);
+    }
+
+    public static int[] argsort(double[] data) {
+        long[] keys = new long[data.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = KeySort.unsignedKey(data[i]);
+        }
+        return KeySort.order(keys);
+    }
+
+    /**
+     * Ordered as {@link Float#compare}, which widening to double keeps.
+     */
+    public static int[] argsort(float[] data) {
+        long[] keys = new long[data.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = KeySort.unsignedKey(data[i]);
+        }
+        return KeySort.order(keys);
+    }
+
+    /**
+     * Stable argsort in the order of c, natural order when c is null.
+     */
+    public static <T> int[] argsort(final T[] data, Comparator<? super T> c) {
+        final Comparator<? super T> cmp = c == null ? AbstractSort.<T>naturalOrder() : c;
+        int[] order = Permutations.identity(data.length);
+        IndexSort.sort(order, (i, j) -> cmp.compare(data[i], data[j]));
+        return order;
+    }
+
+    /**
+     * Argsort by any registered algorithm, e.g. one from
+     * {@link Sorts#get(String)}. All stable sorts give the same order, so a
+     * stable one is served by {@link IndexSort} without boxing; only a sort
+     * that is not stable, whose tie order may differ, sorts a boxed index
+     * array itself.
+     */
+    public static <T> int[] argsort(final T[] data, Comparator<? super T> c, Sort sort) {
+        if (sort.isStable()) {
+            return argsort(data, c);
+        }
+        final Comparator<? super T> cmp = c == null ? AbstractSort.<T>naturalOrder() : c;
+        Integer[] index = new Integer[data.length];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = i;
+        }
+        sort.sort(index, (a, b) -> cmp.compare(data[a], data[b]));
+        return unbox(index);
+    }
+
+    private static int[] unbox(Integer[] index) {
+        int[] order = new int[index.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = index[i];
+        }
+        return order;
+    }
+}
@@ -0,0 +1,496 @@
+package me.asu.sort.algorithm;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.text.Collator;
+import java.util.Comparator;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import me.asu.sort.Sort;
+
+/**
+ * Picks an engine per call. A few dozen elements of the input are sampled
+ * to estimate how presorted it is and how many keys repeat, then the work
+ * goes to
+ * <ul>
+ * <li>insertion sort for tiny inputs,</li>
+ * <li>{@link TimSort} when the sample shows long runs (either direction),</li>
+ * <li>{@link StringSort} for Strings in natural or {@link Collator} order,</li>
+ * <li>{@link ParallelMergeSort} for large inputs when there are spare cores,</li>
+ * <li>{@link RadixSort} for natural order over boxed integrals,</li>
+ * <li>{@link ThreeWayQuickSort} when the sample has few distinct keys,</li>
+ * <li>{@link ImprovedQuickSort} otherwise.</li>
+ * </ul>
+ * int[] and long[] go to radix sort above the radix threshold, the other
+ * primitive arrays to {@link ImprovedQuickSort}.
+ * <p>
+ * A stable AutoSort (see {@link Profile#setStable(boolean)}) only picks
+ * engines that keep equal elements in order: the few-distinct case is left
+ * to the general one, and the general one is {@link ImprovedMergeSort}
+ * instead of the quick sort. The other engines above are stable on the
+ * inputs they are picked for.
+ * <p>
+ * An AutoSort is immutable, the registered one is shared by every thread.
+ * Its thresholds come from a {@link Profile}, which has defaults, can be set
+ * one by one, read from a properties file with the setter names as keys or
+ * measured on this machine by {@link #calibrated()}; a different profile
+ * makes a new AutoSort. The instance registered in {@link Sorts} loads the
+ * file named by the system property {@value #PROFILE_PROPERTY} and
+ * calibrates when {@value #CALIBRATE_PROPERTY} is true, both on the first
+ * lookup of "auto".
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class AutoSort extends AbstractSort {
+
+    public static final String PROFILE_PROPERTY = "me.asu.sort.auto.profile";
+    public static final String CALIBRATE_PROPERTY = "me.asu.sort.auto.calibrate";
+
+    public static final int DEFAULT_INSERTION_THRESHOLD = 24;
+    public static final int DEFAULT_RADIX_THRESHOLD = 1 << 11;
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 1 << 16;
+    /** Sampled neighbours out of order, at most, for the input to count as presorted. */
+    public static final double DEFAULT_PRESORTED_RATIO = 1.0 / 16;
+    /** Distinct keys in the sample, at most, for the input to count as few-unique. */
+    public static final double DEFAULT_DISTINCT_RATIO = 0.25;
+
+    private static final int WINDOWS = 16;
+    private static final int WINDOW = 8;
+    private static final int DISTINCT_SAMPLE = 64;
+
+    private static final InsertSort INSERT_SORT = new InsertSort();
+    private static final TimSort TIM_SORT = new TimSort();
+    private static final ImprovedQuickSort QUICK_SORT = new ImprovedQuickSort();
+    private static final ThreeWayQuickSort THREE_WAY_QUICK_SORT = new ThreeWayQuickSort();
+    private static final RadixSort RADIX_SORT = new RadixSort();
+    private static final StringSort STRING_SORT = new StringSort();
+    private static final ImprovedMergeSort MERGE_SORT = new ImprovedMergeSort();
+
+    /**
+     * The thresholds of an AutoSort. A plain bean; the AutoSort made from
+     * it keeps a copy, so changing it later does not change the sort.
+     */
+    public static class Profile {
+
+        private int insertionThreshold = DEFAULT_INSERTION_THRESHOLD;
+        private int radixThreshold = DEFAULT_RADIX_THRESHOLD;
+        private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        private double presortedRatio = DEFAULT_PRESORTED_RATIO;
+        private double distinctRatio = DEFAULT_DISTINCT_RATIO;
+        private boolean stable;
+
+        /**
+         * The defaults.
+         */
+        public Profile() {
+        }
+
+        public Profile(Profile other) {
+            this.insertionThreshold = other.insertionThreshold;
+            this.radixThreshold = other.radixThreshold;
+            this.parallelThreshold = other.parallelThreshold;
+            this.presortedRatio = other.presortedRatio;
+            this.distinctRatio = other.distinctRatio;
+            this.stable = other.stable;
+        }
+
+        /**
+         * The defaults, overridden by the keys found in the properties file.
+         */
+        public static Profile load(File file) throws IOException {
+            Properties p = new Properties();
+            InputStream in = new FileInputStream(file);
+            try {
+                p.load(in);
+            } finally {
+                in.close();
+            }
+            Profile profile = new Profile();
+            profile.insertionThreshold = intValue(p, "insertionThreshold", profile.insertionThreshold);
+            profile.radixThreshold = intValue(p, "radixThreshold", profile.radixThreshold);
+            profile.parallelThreshold = intValue(p, "parallelThreshold", profile.parallelThreshold);
+            profile.presortedRatio = doubleValue(p, "presortedRatio", profile.presortedRatio);
+            profile.distinctRatio = doubleValue(p, "distinctRatio", profile.distinctRatio);
+            return profile;
+        }
+
+        /**
+         * Writes the thresholds, e.g. of a {@link AutoSort#calibrated()}
+         * sort, in the format {@link #load(File)} reads.
+         */
+        public void store(File file) throws IOException {
+            Properties p = new Properties();
+            p.setProperty("insertionThreshold", String.valueOf(insertionThreshold));
+            p.setProperty("radixThreshold", String.valueOf(radixThreshold));
+            p.setProperty("parallelThreshold", String.valueOf(parallelThreshold));
+            p.setProperty("presortedRatio", String.valueOf(presortedRatio));
+            p.setProperty("distinctRatio", String.valueOf(distinctRatio));
+            OutputStream out = new FileOutputStream(file);
+            try {
+                p.store(out, "asu-sort auto thresholds");
+            } finally {
+                out.close();
+            }
+        }
+
+        private static int intValue(Properties p, String key, int value) {
+            String s = p.getProperty(key);
+            return s == null ? value : Integer.parseInt(s.trim());
+        }
+
+        private static double doubleValue(Properties p, String key, double value) {
+            String s = p.getProperty(key);
+            return s == null ? value : Double.parseDouble(s.trim());
+        }
+
+        public int getInsertionThreshold() {
+            return insertionThreshold;
+        }
+
+        /**
+         * Inputs of at most this many elements are insertion sorted.
+         */
+        public void setInsertionThreshold(int insertionThreshold) {
+            this.insertionThreshold = insertionThreshold;
+        }
+
+        public int getRadixThreshold() {
+            return radixThreshold;
+        }
+
+        /**
+         * Inputs of at least this many radix-able elements are radix sorted.
+         */
+        public void setRadixThreshold(int radixThreshold) {
+            this.radixThreshold = radixThreshold;
+        }
+
+        public int getParallelThreshold() {
+            return parallelThreshold;
+        }
+
+        /**
+         * Inputs of at least this many elements are sorted in parallel.
+         */
+        public void setParallelThreshold(int parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+        }
+
+        public double getPresortedRatio() {
+            return presortedRatio;
+        }
+
+        public void setPresortedRatio(double presortedRatio) {
+            this.presortedRatio = presortedRatio;
+        }
+
+        public double getDistinctRatio() {
+            return distinctRatio;
+        }
+
+        public void setDistinctRatio(double distinctRatio) {
+            this.distinctRatio = distinctRatio;
+        }
+
+        public boolean isStable() {
+            return stable;
+        }
+
+        /**
+         * Pick only engines that keep equal elements in order.
+         */
+        public void setStable(boolean stable) {
+            this.stable = stable;
+        }
+    }
+
+    private final Sort parallelSort;
+    private final int parallelism;
+
+    private final int insertionThreshold;
+    private final int radixThreshold;
+    private final int parallelThreshold;
+    private final double presortedRatio;
+    private final double distinctRatio;
+    private final boolean stable;
+
+    public AutoSort() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param pool the pool of the parallel engine, its parallelism decides
+     *             whether going parallel pays
+     */
+    public AutoSort(ForkJoinPool pool) {
+        this(pool, new Profile());
+    }
+
+    public AutoSort(Profile profile) {
+        this(ForkJoinPool.commonPool(), profile);
+    }
+
+    public AutoSort(ForkJoinPool pool, Profile profile) {
+        this(new ParallelMergeSort(pool), pool.getParallelism(), profile);
+    }
+
+    private AutoSort(Sort parallelSort, int parallelism, Profile profile) {
+        if (profile == null) {
+            throw new NullPointerException("profile");
+        }
+        this.parallelSort = parallelSort;
+        this.parallelism = parallelism;
+        this.insertionThreshold = profile.insertionThreshold;
+        this.radixThreshold = profile.radixThreshold;
+        this.parallelThreshold = profile.parallelThreshold;
+        this.presortedRatio = profile.presortedRatio;
+        this.distinctRatio = profile.distinctRatio;
+        this.stable = profile.stable;
+    }
+
+    /**
+     * A stable copy with the same thresholds and parallel engine.
+     */
+    AutoSort stableCopy() {
+        Profile profile = getProfile();
+        profile.setStable(true);
+        return new AutoSort(parallelSort, parallelism, profile);
+    }
+
+    /**
+     * The instance for {@link Sorts}: defaults, overridden by the profile
+     * and by calibration when the system properties ask for them.
+     *
+     * @throws IllegalStateException if the profile named cannot be read
+     */
+    static AutoSort fromSystemProperties() {
+        AutoSort auto = new AutoSort();
+        String profile = System.getProperty(PROFILE_PROPERTY);
+        if (profile != null) {
+            try {
+                auto = new AutoSort(Profile.load(new File(profile)));
+            } catch (IOException | IllegalArgumentException e) {
+                throw new IllegalStateException("Can't load sort profile " + profile, e);
+            }
+        }
+        if (Boolean.getBoolean(CALIBRATE_PROPERTY)) {
+            auto = auto.calibrated();
+        }
+        return auto;
+    }
+
+    /**
+     * A copy of the thresholds of this sort.
+     */
+    public Profile getProfile() {
+        Profile profile = new Profile();
+        profile.insertionThreshold = insertionThreshold;
+        profile.radixThreshold = radixThreshold;
+        profile.parallelThreshold = parallelThreshold;
+        profile.presortedRatio = presortedRatio;
+        profile.distinctRatio = distinctRatio;
+        profile.stable = stable;
+        return profile;
+    }
+
+    @Override
+    public String algorithm() {
+        return "auto";
+    }
+
+    @Override
+    public boolean isStable() {
+        return stable;
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        rangeCheck(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        select(data, from, to, c).sort(data, from, to, c);
+    }
+
+    public void sort(int[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        if (to - from >= radixThreshold) {
+            RADIX_SORT.sort(data, from, to);
+        } else {
+            QUICK_SORT.sort(data, from, to);
+        }
+    }
+
+    public void sort(long[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        if (to - from >= radixThreshold) {
+            RADIX_SORT.sort(data, from, to);
+        } else {
+            QUICK_SORT.sort(data, from, to);
+        }
+    }
+
+    public void sort(float[] data, int from, int to) {
+        QUICK_SORT.sort(data, from, to);
+    }
+
+    public void sort(double[] data, int from, int to) {
+        QUICK_SORT.sort(data, from, to);
+    }
+
+    /**
+     * The engine this instance would sort data with, c is null for natural
+     * order.
+     */
+    public <T> Sort select(T[] data, Comparator<? super T> c) {
+        return select(data, 0, data.length, c);
+    }
+
+    /**
+     * The engine this instance would sort data[from, to) with.
+     */
+    public <T> Sort select(T[] data, int from, int to, Comparator<? super T> c) {
+        int n = to - from;
+        if (n <= insertionThreshold) {
+            return INSERT_SORT;
+        }
+        Comparator<? super T> cmp = c == null ? AbstractSort.<T>naturalOrder() : c;
+        if (presorted(data, from, n, cmp)) {
+            return TIM_SORT;
+        }
+        if (n >= radixThreshold && data[from] instanceof String && (c == null || c instanceof Collator)) {
+            return STRING_SORT;
+        }
+        if (n >= parallelThreshold && parallelism > 1) {
+            return parallelSort;
+        }
+        if (c == null && n >= radixThreshold && radixKey(data[from])) {
+            return RADIX_SORT;
+        }
+        if (stable) {
+            return MERGE_SORT;
+        }
+        if (fewDistinct(data, from, n, cmp)) {
+            return THREE_WAY_QUICK_SORT;
+        }
+        return QUICK_SORT;
+    }
+
+    /**
+     * Looks at WINDOWS evenly spread windows of WINDOW neighbours. When
+     * nearly all neighbour pairs are in order, or nearly all are reversed,
+     * the runs are long and a run-adaptive merge wins.
+     */
+    private <T> boolean presorted(T[] data, int from, int n, Comparator<? super T> c) {
+        int windows = Math.min(WINDOWS, n / WINDOW);
+        int step = (n - WINDOW) / Math.max(1, windows - 1);
+        int pairs = 0, descents = 0, ascents = 0;
+        for (int w = 0; w < windows; w++) {
+            int base = from + w * step;
+            for (int i = base + 1; i < base + WINDOW; i++) {
+                int cmp = c.compare(data[i - 1], data[i]);
+                if (cmp > 0) {
+                    descents++;
+                } else if (cmp < 0) {
+                    ascents++;
+                }
+                pairs++;
+            }
+        }
+        double limit = pairs * presortedRatio;
+        return descents <= limit || ascents <= limit;
+    }
+
+    /**
+     * Sorts DISTINCT_SAMPLE evenly spread elements and counts the distinct
+     * ones.
+     */
+    private <T> boolean fewDistinct(T[] data, int from, int n, Comparator<? super T> c) {
+        int m = Math.min(DISTINCT_SAMPLE, n);
+        @SuppressWarnings("unchecked")
+        T[] sample = (T[]) new Object[m];
+        long step = ((long) n << 16) / m;
+        for (int i = 0; i < m; i++) {
+            sample[i] = data[from + (int) ((i * step) >>> 16)];
+        }
+        TimSort.binarySort(sample, 0, m, 1, c);
+        int distinct = 1;
+        for (int i = 1; i < m; i++) {
+            if (c.compare(sample[i - 1], sample[i]) != 0) {
+                distinct++;
+            }
+        }
+        return distinct <= m * distinctRatio;
+    }
+
+    /**
+     * Whether {@link RadixSort} has a key extraction for the element type,
+     * it checks the remaining elements itself.
+     */
+    private static boolean radixKey(Object o) {
+        return o instanceof Integer || o instanceof Long || o instanceof Short || o instanceof Byte
+                || o instanceof Character;
+    }
+
+    /**
+     * A copy of this sort with the insertion and parallel cutovers measured
+     * on random Integer arrays. Takes a few seconds.
+     */
+    public AutoSort calibrated() {
+        Random rnd = new Random(42);
+        Profile profile = getProfile();
+        int insertion = 8;
+        for (int n = 8; n <= 128; n += 8) {
+            Integer[] input = randomIntegers(rnd, n);
+            if (time(INSERT_SORT, input, 2000) > time(QUICK_SORT, input, 2000)) {
+                break;
+            }
+            insertion = n;
+        }
+        profile.setInsertionThreshold(insertion);
+
+        if (parallelism > 1) {
+            int parallel = Integer.MAX_VALUE;
+            for (int n = 1 << 12; n <= 1 << 20; n <<= 1) {
+                Integer[] input = randomIntegers(rnd, n);
+                int reps = Math.max(3, (1 << 20) / n);
+                if (time(parallelSort, input, reps) < time(QUICK_SORT, input, reps)) {
+                    parallel = n;
+                    break;
+                }
+            }
+            profile.setParallelThreshold(parallel);
+        }
+        return new AutoSort(parallelSort, parallelism, profile);
+    }
+
+    private static Integer[] randomIntegers(Random rnd, int n) {
+        Integer[] data = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = rnd.nextInt();
+        }
+        return data;
+    }
+
+    /**
+     * Best of a few rounds of reps sorts, in ns.
+     */
+    private static long time(Sort sort, Integer[] input, int reps) {
+        Integer[] work = new Integer[input.length];
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < reps; r++) {
+                System.arraycopy(input, 0, work, 0, input.length);
+                sort.sort(work);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,305 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+import me.asu.sort.Workspace;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * Stable merge sort in O(sqrt(n)) extra space, for arrays too big to pay
+ * for the n-sized buffer of {@link ImprovedMergeSort}.
+ * <p>
+ * Bottom-up: runs of LEAF elements are binary insertion sorted, then merged
+ * pairwise with doubling width. A merge where one run fits the buffer of
+ * about sqrt(n) elements is a plain buffered merge. Longer runs are merged
+ * by blocks of the buffer length:
+ * <ol>
+ * <li>the blocks of both runs are put in the order of their first elements,
+ * A blocks first on ties, by following the cycles of that permutation with
+ * the buffer holding one block;</li>
+ * <li>one pass then merges each block with the unfinished tail of the
+ * previous block of the other run, through the buffer. After step 1 no
+ * element is more than a block away from its place, so these local merges
+ * finish the whole merge.</li>
+ * </ol>
+ * The block origins are kept in an int array of n / blockLength entries.
+ * Both arrays come from the {@link Workspace}. The primitive arrays, whose
+ * ties can not be told apart, go to the in-place {@link ImprovedQuickSort}.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class BlockMergeSort extends AbstractSort {
+
+    /**
+     * Leaf run length, a power of two so that every merge width is a
+     * multiple of the block length.
+     */
+    private static final int LEAF = 32;
+
+    private static final ImprovedQuickSort QUICK_SORT = new ImprovedQuickSort();
+
+    @Override
+    public String algorithm() {
+        return "block_merge";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        sort(data, from, to, c, Workspace.current());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c, Workspace workspace) {
+        rangeCheck(data.length, from, to);
+        int n = to - from;
+        if (n < 2) {
+            return;
+        }
+        Comparator<? super T> cmp = c == null ? AbstractSort.<T>naturalOrder() : c;
+        for (int lo = from; lo < to; lo += LEAF) {
+            TimSort.binarySort(data, lo, Math.min(lo + LEAF, to), lo + 1, cmp);
+        }
+        if (n <= LEAF) {
+            return;
+        }
+        int blockLength = blockLength(n);
+        T[] buffer = (T[]) workspace.acquireObjects(blockLength);
+        int[] labels = workspace.acquireInts(n / blockLength + 1);
+        try {
+            for (int width = LEAF; width < n; width <<= 1) {
+                for (int lo = from; lo < to - width; lo += width << 1) {
+                    merge(data, lo, lo + width, Math.min(lo + (width << 1), to), buffer, blockLength, labels, cmp);
+                }
+            }
+        } finally {
+            workspace.releaseInts(labels);
+            workspace.releaseObjects(buffer, blockLength);
+        }
+    }
+
+    public void sort(int[] data, int from, int to) {
+        QUICK_SORT.sort(data, from, to);
+    }
+
+    public void sort(long[] data, int from, int to) {
+        QUICK_SORT.sort(data, from, to);
+    }
+
+    public void sort(float[] data, int from, int to) {
+        QUICK_SORT.sort(data, from, to);
+    }
+
+    public void sort(double[] data, int from, int to) {
+        QUICK_SORT.sort(data, from, to);
+    }
+
+    /**
+     * The power of two at or above sqrt(n), at least LEAF.
+     */
+    static int blockLength(int n) {
+        int root = (int) Math.ceil(Math.sqrt(n));
+        return Math.max(LEAF, Integer.highestOneBit(root - 1) << 1);
+    }
+
+    /**
+     * Merges the sorted runs data[lo, mid) and data[mid, hi).
+     */
+    private static <T> void merge(T[] data, int lo, int mid, int hi, T[] buffer, int blockLength, int[] labels,
+                                  Comparator<? super T> c) {
+        if (c.compare(data[mid - 1], data[mid]) <= 0) {
+            return;
+        }
+        if (mid - lo <= blockLength) {
+            mergeForward(data, lo, mid, hi, buffer, c);
+            return;
+        }
+        if (hi - mid <= blockLength) {
+            mergeBackward(data, lo, mid, hi, buffer, c);
+            return;
+        }
+        // mid - lo is a multiple of blockLength, the rest of the B run is
+        // shorter than a block and merged in afterwards
+        int tail = (hi - mid) % blockLength;
+        blockMerge(data, lo, mid, hi - tail, buffer, blockLength, labels, c);
+        if (tail > 0 && c.compare(data[hi - tail - 1], data[hi - tail]) > 0) {
+            mergeBackward(data, lo, hi - tail, hi, buffer, c);
+        }
+    }
+
+    /**
+     * Merge of runs whose lengths are multiples of blockLength.
+     */
+    private static <T> void blockMerge(T[] data, int lo, int mid, int hi, T[] buffer, int blockLength,
+                                       int[] labels, Comparator<? super T> c) {
+        int aBlocks = (mid - lo) / blockLength;
+        int blocks = (hi - lo) / blockLength;
+
+        // labels[k] is the block that goes to position k: the A and B blocks
+        // merged by their first elements, they are in that order already
+        int a = 0;
+        int b = aBlocks;
+        for (int k = 0; k < blocks; k++) {
+            if (b == blocks || (a < aBlocks
+                    && c.compare(data[lo + a * blockLength], data[lo + b * blockLength]) <= 0)) {
+                labels[k] = a++;
+            } else {
+                labels[k] = b++;
+            }
+        }
+        permuteBlocks(data, lo, blocks, buffer, blockLength, labels);
+
+        // pending is the part of the merged blocks not known to be final, all
+        // from one run, the one of origin pendingA
+        int pending = lo;
+        boolean pendingA = labels[0] < aBlocks;
+        for (int k = 1; k < blocks; k++) {
+            int start = lo + k * blockLength;
+            boolean blockA = labels[k] < aBlocks;
+            if (blockA == pendingA) {
+                pending = start;
+            } else {
+                int rest = mergeLocal(data, pending, start, start + blockLength, buffer, pendingA, c);
+                if (rest >= 0) {
+                    pending = rest;
+                } else {
+                    // the rest of the block is pending now
+                    pending = ~rest;
+                    pendingA = blockA;
+                }
+            }
+        }
+    }
+
+    /**
+     * Moves block labels[k] to block position k, one block at a time through
+     * the buffer. labels is left as it was.
+     */
+    private static <T> void permuteBlocks(T[] data, int lo, int blocks, T[] buffer, int blockLength,
+                                          int[] labels) {
+        for (int start = 0; start < blocks; start++) {
+            if (labels[start] < 0 || labels[start] == start) {
+                continue;
+            }
+            System.arraycopy(data, lo + start * blockLength, buffer, 0, blockLength);
+            if (SortProbe.ENABLED) {
+                SortProbe.move(blockLength);
+            }
+            int i = start;
+            while (true) {
+                int src = labels[i];
+                labels[i] = ~src;
+                // one block copied per step
+                if (SortProbe.ENABLED) {
+                    SortProbe.move(blockLength);
+                }
+                if (src == start) {
+                    System.arraycopy(buffer, 0, data, lo + i * blockLength, blockLength);
+                    break;
+                }
+                System.arraycopy(data, lo + src * blockLength, data, lo + i * blockLength, blockLength);
+                i = src;
+            }
+        }
+        for (int k = 0; k < blocks; k++) {
+            if (labels[k] < 0) {
+                labels[k] = ~labels[k];
+            }
+        }
+    }
+
+    /**
+     * Merges data[lo, mid), at most one block of the pending run, with the
+     * block data[mid, hi) of the other run. When the pending elements run
+     * out first, returns ~j for the first unconsumed element j of the
+     * block, which becomes pending; otherwise the rest of the pending
+     * elements ends up at the end of the block and their new start is
+     * returned.
+     */
+    private static <T> int mergeLocal(T[] data, int lo, int mid, int hi, T[] buffer, boolean pendingA,
+                                      Comparator<? super T> c) {
+        int n = mid - lo;
+        System.arraycopy(data, lo, buffer, 0, n);
+        int i = 0;
+        int j = mid;
+        int k = lo;
+        if (pendingA) {
+            while (i < n && j < hi) {
+                if (c.compare(data[j], buffer[i]) < 0) {
+                    data[k++] = data[j++];
+                } else {
+                    data[k++] = buffer[i++];
+                }
+            }
+        } else {
+            while (i < n && j < hi) {
+                if (c.compare(data[j], buffer[i]) <= 0) {
+                    data[k++] = data[j++];
+                } else {
+                    data[k++] = buffer[i++];
+                }
+            }
+        }
+        if (SortProbe.ENABLED) {
+            SortProbe.move(n + (k - lo) + (n - i));
+        }
+        if (i < n) {
+            System.arraycopy(buffer, i, data, k, n - i);
+            return k;
+        }
+        return ~j;
+    }
+
+    /**
+     * Buffered merge for a left run data[lo, mid) that fits the buffer.
+     */
+    private static <T> void mergeForward(T[] data, int lo, int mid, int hi, T[] buffer, Comparator<? super T> c) {
+        int n = mid - lo;
+        System.arraycopy(data, lo, buffer, 0, n);
+        int i = 0;
+        int j = mid;
+        int k = lo;
+        while (i < n && j < hi) {
+            if (c.compare(data[j], buffer[i]) < 0) {
+                data[k++] = data[j++];
+            } else {
+                data[k++] = buffer[i++];
+            }
+        }
+        if (SortProbe.ENABLED) {
+            SortProbe.move(n + (k - lo) + (n - i));
+        }
+        if (i < n) {
+            System.arraycopy(buffer, i, data, k, n - i);
+        }
+    }
+
+    /**
+     * Buffered merge for a right run data[mid, hi) that fits the buffer,
+     * filled in from the end.
+     */
+    private static <T> void mergeBackward(T[] data, int lo, int mid, int hi, T[] buffer, Comparator<? super T> c) {
+        int n = hi - mid;
+        System.arraycopy(data, mid, buffer, 0, n);
+        int i = mid - 1;
+        int j = n - 1;
+        int k = hi - 1;
+        while (i >= lo && j >= 0) {
+            if (c.compare(buffer[j], data[i]) < 0) {
+                data[k--] = data[i--];
+            } else {
+                data[k--] = buffer[j--];
+            }
+        }
+        if (SortProbe.ENABLED) {
+            SortProbe.move(n + (hi - 1 - k) + (j + 1));
+        }
+        if (j >= 0) {
+            System.arraycopy(buffer, 0, data, lo, j + 1);
+        }
+    }
+}
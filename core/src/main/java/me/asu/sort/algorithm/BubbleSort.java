@@ -0,0 +1,42 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+
+/**
+ * @author Suk Honzeon
+ * @version 1.0
+ * @since 2004-10-21
+ */
+public class BubbleSort extends AbstractSort {
+
+    @Override
+    public String algorithm() {
+        return "bubble";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        rangeCheck(data.length, from, to);
+        if (c == null) {
+            for (int i = from; i < to; i++) {
+                for (int j = to - 1; j > i; j--) {
+                    if (compareNatural(data[j], data[j - 1]) < 0) {
+                        swap(data, j, j - 1);
+                    }
+                }
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            for (int j = to - 1; j > i; j--) {
+                if (c.compare(data[j], data[j - 1]) < 0) {
+                    swap(data, j, j - 1);
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,303 @@
+package me.asu.sort.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Stable lexicographic sort by several columns, each with its own key
+ * extractor, direction and, for object keys, null placement.
+ * <p>
+ * Every key is extracted once. int, long, double and short byte[] columns
+ * become unsigned-ordered long keys; while the leading columns are of that
+ * kind the sort goes MSD: the rows are radix sorted on the first column, and
+ * only the groups that tie on it are sorted on the second, and so on. Once
+ * an object column is reached, the remaining groups are sorted by the
+ * chained comparison of the cached keys. With duplicate-heavy leading
+ * columns most rows are never compared on the later columns at all.
+ * <p>
+ * A CompositeSort is immutable and can be shared.
+ * <pre>
+ * new CompositeSort&lt;Row&gt;(
+ *         CompositeSort.Column.ofLong(Row::getTenant, Order.ASC),
+ *         CompositeSort.Column.ofInt(Row::getDate, Order.DESC),
+ *         CompositeSort.Column.of(Row::getName, Order.ASC, Nulls.LAST)).sort(rows);
+ * </pre>
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class CompositeSort<T> {
+
+    public enum Order {
+        ASC, DESC
+    }
+
+    public enum Nulls {
+        FIRST, LAST
+    }
+
+    /**
+     * Groups this small are finished by insertion sort on all remaining
+     * columns.
+     */
+    private static final int INSERTION_THRESHOLD = 32;
+
+    /**
+     * byte[] keys up to this length are packed into a long, with the length
+     * in the low byte.
+     */
+    private static final int PACKED_BYTES = 7;
+
+    /**
+     * One sort column. Primitive columns have no nulls, object and byte[]
+     * columns place them as told, before or after the non-null keys whatever
+     * the direction.
+     */
+    public static final class Column<T> {
+
+        private final ToLongFunction<? super T> longKey;
+        private final Function<? super T, byte[]> bytesKey;
+        private final Function<? super T, ?> objectKey;
+        private final Comparator<Object> comparator;
+        private final boolean descending;
+
+        private Column(ToLongFunction<? super T> longKey, Function<? super T, byte[]> bytesKey,
+                       Function<? super T, ?> objectKey, Comparator<Object> comparator, Order order) {
+            this.longKey = longKey;
+            this.bytesKey = bytesKey;
+            this.objectKey = objectKey;
+            this.comparator = comparator;
+            this.descending = order == Order.DESC;
+        }
+
+        public static <T> Column<T> ofInt(final ToIntFunction<? super T> key, Order order) {
+            return new Column<T>(t -> (key.applyAsInt(t) ^ Integer.MIN_VALUE) & 0xffffffffL, null, null,
+                    null, order);
+        }
+
+        public static <T> Column<T> ofLong(final ToLongFunction<? super T> key, Order order) {
+            return new Column<T>(t -> key.applyAsLong(t) ^ Long.MIN_VALUE, null, null, null, order);
+        }
+
+        /**
+         * Ordered as {@link Double#compare}.
+         */
+        public static <T> Column<T> ofDouble(final ToDoubleFunction<? super T> key, Order order) {
+            return new Column<T>(t -> KeySort.unsignedKey(key.applyAsDouble(t)), null, null, null, order);
+        }
+
+        /**
+         * Unsigned lexicographic byte[] keys; radix sorted when all of them
+         * are short and none is null.
+         */
+        public static <T> Column<T> ofBytes(Function<? super T, byte[]> key, Order order, Nulls nulls) {
+            Comparator<byte[]> unsigned = (a, b) -> RadixSort.compareUnsigned(a, b, 0);
+            return new Column<T>(null, key, key, objectComparator(unsigned, order, nulls), order);
+        }
+
+        public static <T, K extends Comparable<? super K>> Column<T> of(Function<? super T, ? extends K> key,
+                                                                         Order order, Nulls nulls) {
+            return new Column<T>(null, null, key, objectComparator(Comparator.<K>naturalOrder(), order, nulls),
+                    order);
+        }
+
+        public static <T, K> Column<T> of(Function<? super T, ? extends K> key, Comparator<? super K> c,
+                                          Order order, Nulls nulls) {
+            return new Column<T>(null, null, key, objectComparator(c, order, nulls), order);
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <K> Comparator<Object> objectComparator(Comparator<? super K> c, Order order, Nulls nulls) {
+            Comparator<K> directed = (Comparator<K>) c;
+            if (order == Order.DESC) {
+                directed = directed.reversed();
+            }
+            Comparator<K> withNulls = nulls == Nulls.FIRST
+                    ? Comparator.nullsFirst(directed)
+                    : Comparator.nullsLast(directed);
+            return (Comparator<Object>) (Comparator<?>) withNulls;
+        }
+    }
+
+    private final List<Column<T>> columns;
+
+    @SafeVarargs
+    public CompositeSort(Column<T>... columns) {
+        // copied element by element, the varargs array does not escape
+        List<Column<T>> list = new ArrayList<Column<T>>(columns.length);
+        for (Column<T> column : columns) {
+            list.add(column);
+        }
+        this.columns = checked(list);
+    }
+
+    public CompositeSort(List<Column<T>> columns) {
+        this.columns = checked(new ArrayList<Column<T>>(columns));
+    }
+
+    private static <T> List<Column<T>> checked(List<Column<T>> columns) {
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("no columns");
+        }
+        return Collections.unmodifiableList(columns);
+    }
+
+    /**
+     * The same order as a comparator, it extracts the keys on every call.
+     */
+    public Comparator<T> comparator() {
+        return (a, b) -> {
+            for (Column<T> column : columns) {
+                int r;
+                if (column.longKey != null) {
+                    r = Long.compareUnsigned(column.longKey.applyAsLong(a), column.longKey.applyAsLong(b));
+                    r = column.descending ? -r : r;
+                } else {
+                    r = column.comparator.compare(column.objectKey.apply(a), column.objectKey.apply(b));
+                }
+                if (r != 0) {
+                    return r;
+                }
+            }
+            return 0;
+        };
+    }
+
+    public void sort(T[] data) {
+        if (data == null || data.length < 2) {
+            return;
+        }
+        Object[] keys = new Object[columns.size()];
+        for (int c = 0; c < keys.length; c++) {
+            keys[c] = extract(columns.get(c), data);
+        }
+        int[] order = Permutations.identity(data.length);
+        sortGroup(order, 0, data.length, 0, keys);
+        Permutations.apply(order, data);
+    }
+
+    /**
+     * The keys of one column: a long[] in unsigned order with the direction
+     * applied, or the raw keys for the column comparator.
+     */
+    private static <T> Object extract(Column<T> column, T[] data) {
+        int n = data.length;
+        if (column.longKey != null) {
+            long[] keys = new long[n];
+            for (int i = 0; i < n; i++) {
+                long k = column.longKey.applyAsLong(data[i]);
+                keys[i] = column.descending ? ~k : k;
+            }
+            return keys;
+        }
+        if (column.bytesKey != null) {
+            byte[][] raw = new byte[n][];
+            boolean packable = true;
+            for (int i = 0; i < n; i++) {
+                raw[i] = column.bytesKey.apply(data[i]);
+                packable &= raw[i] != null && raw[i].length <= PACKED_BYTES;
+            }
+            if (!packable) {
+                return raw;
+            }
+            long[] keys = new long[n];
+            for (int i = 0; i < n; i++) {
+                long k = pack(raw[i]);
+                keys[i] = column.descending ? ~k : k;
+            }
+            return keys;
+        }
+        Object[] keys = new Object[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = column.objectKey.apply(data[i]);
+        }
+        return keys;
+    }
+
+    /**
+     * Big endian bytes in the high 7 bytes, the length in the low one, so
+     * that a proper prefix sorts first.
+     */
+    private static long pack(byte[] b) {
+        long k = 0;
+        for (int i = 0; i < PACKED_BYTES; i++) {
+            k = (k << 8) | (i < b.length ? b[i] & 0xff : 0);
+        }
+        return (k << 8) | b.length;
+    }
+
+    /**
+     * Sorts order[lo, hi), which tie on all columns before col, by the
+     * columns from col on.
+     */
+    private void sortGroup(int[] order, int lo, int hi, int col, Object[] keys) {
+        if (hi - lo < 2 || col == columns.size()) {
+            return;
+        }
+        if (hi - lo <= INSERTION_THRESHOLD) {
+            insertSort(order, lo, hi, col, keys);
+            return;
+        }
+        if (!(keys[col] instanceof long[])) {
+            IndexSort.sort(order, lo, hi, (a, b) -> compare(a, b, col, keys));
+            return;
+        }
+
+        long[] all = (long[]) keys[col];
+        int n = hi - lo;
+        long[] groupKeys = new long[n];
+        int[] groupIndex = Arrays.copyOfRange(order, lo, hi);
+        for (int i = 0; i < n; i++) {
+            groupKeys[i] = all[groupIndex[i]];
+        }
+        RadixSort.lsd(groupKeys, groupIndex);
+        System.arraycopy(groupIndex, 0, order, lo, n);
+
+        int start = 0;
+        for (int i = 1; i <= n; i++) {
+            if (i == n || groupKeys[i] != groupKeys[start]) {
+                sortGroup(order, lo + start, lo + i, col + 1, keys);
+                start = i;
+            }
+        }
+    }
+
+    private void insertSort(int[] order, int lo, int hi, int col, Object[] keys) {
+        for (int i = lo + 1; i < hi; i++) {
+            int v = order[i];
+            int j = i - 1;
+            for (; j >= lo && compare(order[j], v, col, keys) > 0; j--) {
+                order[j + 1] = order[j];
+            }
+            order[j + 1] = v;
+        }
+    }
+
+    /**
+     * Compares rows a and b by the cached keys of the columns from col on.
+     */
+    private int compare(int a, int b, int col, Object[] keys) {
+        for (int c = col; c < columns.size(); c++) {
+            Object k = keys[c];
+            int r;
+            if (k instanceof long[]) {
+                long[] lk = (long[]) k;
+                r = Long.compareUnsigned(lk[a], lk[b]);
+            } else {
+                Object[] ok = (Object[]) k;
+                r = columns.get(c).comparator.compare(ok[a], ok[b]);
+            }
+            if (r != 0) {
+                return r;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,110 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * Yaroslavskiy's dual-pivot quick sort. Each step splits the range into
+ * three parts, &lt; p, p..q and &gt; q. When the middle part is large, the
+ * keys equal to p or q are moved to its ends first and skipped, so
+ * duplicate-heavy input converges quickly. Recursion depth is bounded like
+ * {@link ImprovedQuickSort}: past 2*log2(n) a range goes to heap sort.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class DualPivotQuickSort extends AbstractSort {
+
+    private static final int THRESHOLD = 16;
+    private static final HeapSort HEAP_SORT = new HeapSort();
+
+    @Override
+    public String algorithm() {
+        return "dual_pivot_quick";
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        rangeCheck(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        dualPivotQuickSort(data, from, to - 1, ImprovedQuickSort.depthLimit(to - from),
+                c == null ? naturalOrder() : c);
+    }
+
+    private <T> void dualPivotQuickSort(T[] data, int left, int right, int depth,
+                                        Comparator<? super T> c) {
+        int len = right - left + 1;
+        if (len <= THRESHOLD) {
+            insertSort(data, left, right, c);
+            return;
+        }
+        if (depth == 0) {
+            HEAP_SORT.heapSort(data, left, right + 1, c);
+            return;
+        }
+
+        // pivots from the tertiles
+        int third = len / 3;
+        swap(data, left, left + third);
+        swap(data, right, right - third);
+        if (c.compare(data[left], data[right]) > 0) {
+            swap(data, left, right);
+        }
+        T p = data[left];
+        T q = data[right];
+
+        int less = left + 1;
+        int great = right - 1;
+        for (int k = less; k <= great; k++) {
+            if (c.compare(data[k], p) < 0) {
+                swap(data, k, less++);
+            } else if (c.compare(data[k], q) > 0) {
+                while (k < great && c.compare(data[great], q) > 0) {
+                    great--;
+                }
+                swap(data, k, great--);
+                if (c.compare(data[k], p) < 0) {
+                    swap(data, k, less++);
+                }
+            }
+        }
+        swap(data, less - 1, left);
+        swap(data, great + 1, right);
+
+        dualPivotQuickSort(data, left, less - 2, depth - 1, c);
+        dualPivotQuickSort(data, great + 2, right, depth - 1, c);
+
+        if (c.compare(p, q) == 0) {
+            // the middle part holds only keys equal to p
+            return;
+        }
+        if (great - less > len * 2 / 3) {
+            for (int k = less; k <= great; k++) {
+                if (c.compare(data[k], p) == 0) {
+                    swap(data, k, less++);
+                } else if (c.compare(data[k], q) == 0) {
+                    swap(data, k, great--);
+                    if (c.compare(data[k], p) == 0) {
+                        swap(data, k, less++);
+                    }
+                }
+            }
+        }
+        dualPivotQuickSort(data, less, great, depth - 1, c);
+    }
+
+    private <T> void insertSort(T[] data, int left, int right, Comparator<? super T> c) {
+        for (int i = left + 1; i <= right; i++) {
+            T v = data[i];
+            int j = i - 1;
+            for (; (j >= left) && (c.compare(data[j], v) > 0); j--) {
+                data[j + 1] = data[j];
+            }
+            data[j + 1] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move(i - j);
+            }
+        }
+    }
+}
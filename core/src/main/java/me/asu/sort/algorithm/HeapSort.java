@@ -0,0 +1,463 @@
+package me.asu.sort.algorithm;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * @author Suk Honzeon
+ * @version 1.0
+ * @since 2004-10-21
+ */
+public class HeapSort extends AbstractSort {
+
+    @Override
+    public String algorithm() {
+        return "heap";
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        rangeCheck(data.length, from, to);
+        if (c == null) {
+            heapSort(data, from, to);
+        } else {
+            heapSort(data, from, to, c);
+        }
+    }
+
+    /**
+     * In-place heap sort of data[from, to).
+     */
+    <T> void heapSort(T[] data, int from, int to) {
+        int n = to - from;
+        for (int k = (n >>> 1) - 1; k >= 0; k--) {
+            fixDown(data, from, k, n);
+        }
+        for (int size = n - 1; size > 0; size--) {
+            swap(data, from, from + size);
+            fixDown(data, from, 0, size);
+        }
+    }
+
+    <T> void heapSort(T[] data, int from, int to, Comparator<? super T> c) {
+        int n = to - from;
+        for (int k = (n >>> 1) - 1; k >= 0; k--) {
+            fixDown(data, from, k, n, c);
+        }
+        for (int size = n - 1; size > 0; size--) {
+            swap(data, from, from + size);
+            fixDown(data, from, 0, size, c);
+        }
+    }
+
+    private static <T> void fixDown(T[] data, int base, int k, int size) {
+        T v = data[base + k];
+        int j;
+        while ((j = (k << 1) + 1) < size) {
+            if (j + 1 < size && compareNatural(data[base + j], data[base + j + 1]) < 0) {
+                j++;
+            }
+            if (compareNatural(v, data[base + j]) >= 0) {
+                break;
+            }
+            data[base + k] = data[base + j];
+            if (SortProbe.ENABLED) {
+                SortProbe.move();
+            }
+            k = j;
+        }
+        data[base + k] = v;
+        if (SortProbe.ENABLED) {
+            SortProbe.move();
+        }
+    }
+
+    /**
+     * Sifts data[base + k] down the max-heap data[base, base + size).
+     */
+    static <T> void fixDown(T[] data, int base, int k, int size, Comparator<? super T> c) {
+        T v = data[base + k];
+        int j;
+        while ((j = (k << 1) + 1) < size) {
+            if (j + 1 < size && c.compare(data[base + j], data[base + j + 1]) < 0) {
+                j++;
+            }
+            if (c.compare(v, data[base + j]) >= 0) {
+                break;
+            }
+            data[base + k] = data[base + j];
+            if (SortProbe.ENABLED) {
+                SortProbe.move();
+            }
+            k = j;
+        }
+        data[base + k] = v;
+        if (SortProbe.ENABLED) {
+            SortProbe.move();
+        }
+    }
+
+    public void sort(int[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        int n = to - from;
+        for (int k = (n >>> 1) - 1; k >= 0; k--) {
+            fixDown(data, from, k, n);
+        }
+        for (int size = n - 1; size > 0; size--) {
+            int t = data[from];
+            data[from] = data[from + size];
+            data[from + size] = t;
+            if (SortProbe.ENABLED) {
+                SortProbe.move();
+            }
+            fixDown(data, from, 0, size);
+        }
+    }
+
+    public void sort(long[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        int n = to - from;
+        for (int k = (n >>> 1) - 1; k >= 0; k--) {
+            fixDown(data, from, k, n);
+        }
+        for (int size = n - 1; size > 0; size--) {
+            long t = data[from];
+            data[from] = data[from + size];
+            data[from + size] = t;
+            if (SortProbe.ENABLED) {
+                SortProbe.move();
+            }
+            fixDown(data, from, 0, size);
+        }
+    }
+
+    public void sort(float[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        int n = to - from;
+        for (int k = (n >>> 1) - 1; k >= 0; k--) {
+            fixDown(data, from, k, n);
+        }
+        for (int size = n - 1; size > 0; size--) {
+            float t = data[from];
+            data[from] = data[from + size];
+            data[from + size] = t;
+            if (SortProbe.ENABLED) {
+                SortProbe.move();
+            }
+            fixDown(data, from, 0, size);
+        }
+    }
+
+    public void sort(double[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        int n = to - from;
+        for (int k = (n >>> 1) - 1; k >= 0; k--) {
+            fixDown(data, from, k, n);
+        }
+        for (int size = n - 1; size > 0; size--) {
+            double t = data[from];
+            data[from] = data[from + size];
+            data[from + size] = t;
+            if (SortProbe.ENABLED) {
+                SortProbe.move();
+            }
+            fixDown(data, from, 0, size);
+        }
+    }
+
+
+    /**
+     * Max-heap fixdown over data[base, base + size), k is 0-based.
+     */
+    private static void fixDown(int[] data, int base, int k, int size) {
+        int v = data[base + k];
+        int j;
+        while ((j = (k << 1) + 1) < size) {
+            if (j + 1 < size && data[base + j] < data[base + j + 1]) {
+                j++;
+            }
+            if (!(v < data[base + j])) {
+                break;
+            }
+            data[base + k] = data[base + j];
+            if (SortProbe.ENABLED) {
+                SortProbe.move();
+            }
+            k = j;
+        }
+        data[base + k] = v;
+        if (SortProbe.ENABLED) {
+            SortProbe.move();
+        }
+    }
+
+    /**
+     * Max-heap fixdown over data[base, base + size), k is 0-based.
+     */
+    private static void fixDown(long[] data, int base, int k, int size) {
+        long v = data[base + k];
+        int j;
+        while ((j = (k << 1) + 1) < size) {
+            if (j + 1 < size && data[base + j] < data[base + j + 1]) {
+                j++;
+            }
+            if (!(v < data[base + j])) {
+                break;
+            }
+            data[base + k] = data[base + j];
+            if (SortProbe.ENABLED) {
+                SortProbe.move();
+            }
+            k = j;
+        }
+        data[base + k] = v;
+        if (SortProbe.ENABLED) {
+            SortProbe.move();
+        }
+    }
+
+    /**
+     * Max-heap fixdown over data[base, base + size), k is 0-based.
+     */
+    private static void fixDown(float[] data, int base, int k, int size) {
+        float v = data[base + k];
+        int j;
+        while ((j = (k << 1) + 1) < size) {
+            if (j + 1 < size && Float.compare(data[base + j], data[base + j + 1]) < 0) {
+                j++;
+            }
+            if (!(Float.compare(v, data[base + j]) < 0)) {
+                break;
+            }
+            data[base + k] = data[base + j];
+            if (SortProbe.ENABLED) {
+                SortProbe.move();
+            }
+            k = j;
+        }
+        data[base + k] = v;
+        if (SortProbe.ENABLED) {
+            SortProbe.move();
+        }
+    }
+
+    /**
+     * Max-heap fixdown over data[base, base + size), k is 0-based.
+     */
+    private static void fixDown(double[] data, int base, int k, int size) {
+        double v = data[base + k];
+        int j;
+        while ((j = (k << 1) + 1) < size) {
+            if (j + 1 < size && Double.compare(data[base + j], data[base + j + 1]) < 0) {
+                j++;
+            }
+            if (!(Double.compare(v, data[base + j]) < 0)) {
+                break;
+            }
+            data[base + k] = data[base + j];
+            if (SortProbe.ENABLED) {
+                SortProbe.move();
+            }
+            k = j;
+        }
+        data[base + k] = v;
+        if (SortProbe.ENABLED) {
+            SortProbe.move();
+        }
+    }
+
+    /**
+     * Binary max-heap in a growable Object[], 1 based: the children of k are
+     * 2k and 2k + 1. The root is the greatest element by the comparator,
+     * natural order when it is null. clear() keeps the array, so a heap that
+     * is reused at a steady size does not allocate.
+     * <p>
+     * Subclasses that need to find an element again, e.g. to take it out with
+     * {@link #removeAt(int)}, override {@link #moved(Object, int)}.
+     */
+    public static class MaxHeap<T> {
+
+        private static final int DEFAULT_CAPACITY = 16;
+
+        int size = 0;
+
+        Object[] queue;
+
+        final Comparator<? super T> c;
+
+        public MaxHeap() {
+            this(DEFAULT_CAPACITY, null);
+        }
+
+        public MaxHeap(Comparator<? super T> c) {
+            this(DEFAULT_CAPACITY, c);
+        }
+
+        public MaxHeap(int capacity, Comparator<? super T> c) {
+            this.queue = new Object[Math.max(1, capacity) + 1];
+            this.c = c == null ? AbstractSort.<T>naturalOrder() : c;
+        }
+
+        /**
+         * Replaces the content with data, heapified bottom-up in O(n).
+         */
+        public void init(T[] data) {
+            clear();
+            ensureCapacity(data.length);
+            for (int i = 0; i < data.length; i++) {
+                queue[i + 1] = data[i];
+                moved(data[i], i + 1);
+            }
+            size = data.length;
+            for (int k = size >>> 1; k >= 1; k--) {
+                fixDown(k);
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * The greatest element, null when empty.
+         */
+        @SuppressWarnings("unchecked")
+        public T peek() {
+            return size == 0 ? null : (T) queue[1];
+        }
+
+        /**
+         * The element at heap index k, 1 &lt;= k &lt;= size.
+         */
+        @SuppressWarnings("unchecked")
+        public T get(int k) {
+            if (k < 1 || k > size) {
+                throw new ArrayIndexOutOfBoundsException(k);
+            }
+            return (T) queue[k];
+        }
+
+        public void add(T e) {
+            if (size + 1 == queue.length) {
+                ensureCapacity(size + 1);
+            }
+            queue[++size] = e;
+            moved(e, size);
+            fixUp(size);
+        }
+
+        /**
+         * Removes and returns the greatest element, null when empty.
+         */
+        public T poll() {
+            return size == 0 ? null : removeAt(1);
+        }
+
+        /**
+         * Replaces the greatest element by e, cheaper than poll() and add(e).
+         *
+         * @return the element replaced
+         */
+        @SuppressWarnings("unchecked")
+        public T replaceTop(T e) {
+            if (size == 0) {
+                throw new IllegalStateException("empty heap");
+            }
+            T top = (T) queue[1];
+            queue[1] = e;
+            moved(e, 1);
+            fixDown(1);
+            return top;
+        }
+
+        /**
+         * Removes the element at heap index k in O(log n).
+         *
+         * @return the element removed
+         */
+        @SuppressWarnings("unchecked")
+        public T removeAt(int k) {
+            if (k < 1 || k > size) {
+                throw new ArrayIndexOutOfBoundsException(k);
+            }
+            T removed = (T) queue[k];
+            T last = (T) queue[size];
+            queue[size--] = null;
+            if (k <= size) {
+                queue[k] = last;
+                moved(last, k);
+                fixDown(k);
+                if (queue[k] == last) {
+                    fixUp(k);
+                }
+            }
+            return removed;
+        }
+
+        /**
+         * Empties the heap, the array is kept.
+         */
+        public void clear() {
+            Arrays.fill(queue, 1, size + 1, null);
+            size = 0;
+        }
+
+        /**
+         * Grows the array, by half at least, to hold capacity elements.
+         */
+        public void ensureCapacity(int capacity) {
+            if (capacity + 1 > queue.length) {
+                int grown = queue.length + (queue.length >> 1);
+                queue = Arrays.copyOf(queue, Math.max(capacity + 1, grown));
+            }
+        }
+
+        /**
+         * Called whenever e is stored at heap index k.
+         */
+        protected void moved(T e, int k) {
+        }
+
+        @SuppressWarnings("unchecked")
+        private void fixDown(int k) {
+            T v = (T) queue[k];
+            int j;
+            while ((j = k << 1) <= size) {
+                if (j < size && c.compare((T) queue[j], (T) queue[j + 1]) < 0) {
+                    j++;
+                }
+                T child = (T) queue[j];
+                if (c.compare(v, child) >= 0) {
+                    break;
+                }
+                queue[k] = child;
+                moved(child, k);
+                k = j;
+            }
+            queue[k] = v;
+            moved(v, k);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void fixUp(int k) {
+            T v = (T) queue[k];
+            while (k > 1) {
+                int j = k >> 1;
+                T parent = (T) queue[j];
+                if (c.compare(v, parent) <= 0) {
+                    break;
+                }
+                queue[k] = parent;
+                moved(parent, k);
+                k = j;
+            }
+            queue[k] = v;
+            moved(v, k);
+        }
+    }
+
+}
@@ -0,0 +1,403 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+import me.asu.sort.Workspace;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * Merge sort with insertion sorted leaves. Objects are sorted stably: the
+ * leaves by binary insertion, halves that are already in order are not
+ * merged at all, and the merge takes the left element on ties. The
+ * primitive arrays, where ties can not be told apart, use a bitonic merge.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ * @since 2004-10-21
+ */
+public class ImprovedMergeSort extends AbstractSort {
+
+    private static final int THRESHOLD = 10;
+    /**
+     * Object runs up to this length are binary insertion sorted, which moves
+     * elements with arraycopy and needs only log2(n) comparisons each.
+     */
+    private static final int OBJECT_THRESHOLD = 32;
+
+    @Override
+    public String algorithm() {
+        return "improved_merge";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        sort(data, from, to, c, Workspace.current());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c, Workspace workspace) {
+        rangeCheck(data.length, from, to);
+        int n = to - from;
+        if (n < 2) {
+            return;
+        }
+        T[] temp = (T[]) workspace.acquireObjects(n);
+        try {
+            mergeSort(data, temp, from, from, to - 1, c == null ? naturalOrder() : c);
+        } finally {
+            workspace.releaseObjects(temp, n);
+        }
+    }
+
+    public void sort(int[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        Workspace workspace = Workspace.current();
+        int[] temp = workspace.acquireInts(to - from);
+        try {
+            mergeSort(data, temp, from, from, to - 1);
+        } finally {
+            workspace.releaseInts(temp);
+        }
+    }
+
+    public void sort(long[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        Workspace workspace = Workspace.current();
+        long[] temp = workspace.acquireLongs(to - from);
+        try {
+            mergeSort(data, temp, from, from, to - 1);
+        } finally {
+            workspace.releaseLongs(temp);
+        }
+    }
+
+    public void sort(float[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        Workspace workspace = Workspace.current();
+        float[] temp = workspace.acquireFloats(to - from);
+        try {
+            mergeSort(data, temp, from, from, to - 1);
+        } finally {
+            workspace.releaseFloats(temp);
+        }
+    }
+
+    public void sort(double[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        Workspace workspace = Workspace.current();
+        double[] temp = workspace.acquireDoubles(to - from);
+        try {
+            mergeSort(data, temp, from, from, to - 1);
+        } finally {
+            workspace.releaseDoubles(temp);
+        }
+    }
+
+    /**
+     * Stable sort of data[l, r]; temp[k - base] is the scratch slot of
+     * data[k].
+     */
+    <T> void mergeSort(T[] data, T[] temp, int base, int l, int r, Comparator<? super T> c) {
+        if (r - l < OBJECT_THRESHOLD) {
+            TimSort.binarySort(data, l, r + 1, l + 1, c);
+            return;
+        }
+        int mid = (l + r) >>> 1;
+        mergeSort(data, temp, base, l, mid, c);
+        mergeSort(data, temp, base, mid + 1, r, c);
+        if (c.compare(data[mid], data[mid + 1]) <= 0) {
+            // the halves are already in order
+            return;
+        }
+        merge(data, temp, base, l, mid, r, c);
+    }
+
+    /**
+     * Merges the sorted runs data[l, mid] and data[mid + 1, r]. Only the left
+     * run is copied out, the right one is merged from where it is; on ties
+     * the left element goes first.
+     */
+    private static <T> void merge(T[] data, T[] temp, int base, int l, int mid, int r, Comparator<? super T> c) {
+        int n = mid - l + 1;
+        System.arraycopy(data, l, temp, l - base, n);
+        int i = l - base;
+        int iEnd = i + n;
+        int j = mid + 1;
+        int k = l;
+        while (i < iEnd && j <= r) {
+            if (c.compare(data[j], temp[i]) < 0) {
+                data[k++] = data[j++];
+            } else {
+                data[k++] = temp[i++];
+            }
+        }
+        if (SortProbe.ENABLED) {
+            // the left run out, and every element written back
+            SortProbe.move(n + (k - l) + (iEnd - i));
+        }
+        if (i < iEnd) {
+            System.arraycopy(temp, i, data, k, iEnd - i);
+        }
+    }
+
+    /**
+     * temp[k - base] is the scratch slot of data[k].
+     */
+    private void mergeSort(int[] data, int[] temp, int base, int l, int r) {
+        int i, j, k;
+        int mid = (l + r) >>> 1;
+        if (l == r) {
+            return;
+        }
+        if ((mid - l) >= THRESHOLD) {
+            mergeSort(data, temp, base, l, mid);
+        } else {
+            insertSort(data, l, mid + 1);
+        }
+        if ((r - mid) > THRESHOLD) {
+            mergeSort(data, temp, base, mid + 1, r);
+        } else {
+            insertSort(data, mid + 1, r + 1);
+        }
+
+        for (i = l; i <= mid; i++) {
+            temp[i - base] = data[i];
+        }
+        for (j = 1; j <= r - mid; j++) {
+            temp[r - j + 1 - base] = data[j + mid];
+        }
+        int a = temp[l - base];
+        int b = temp[r - base];
+        for (i = l - base, j = r - base, k = l; k <= r; k++) {
+            if (a < b) {
+                data[k] = a;
+                if (k < r) {
+                    a = temp[++i];
+                }
+            } else {
+                data[k] = b;
+                if (k < r) {
+                    b = temp[--j];
+                }
+            }
+        }
+        if (SortProbe.ENABLED) {
+            // out to temp and back
+            SortProbe.move(2 * (r - l + 1));
+        }
+    }
+
+    private static void insertSort(int[] data, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int v = data[i];
+            int j = i - 1;
+            for (; (j >= from) && (data[j] > v); j--) {
+                data[j + 1] = data[j];
+            }
+            data[j + 1] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move(i - j);
+            }
+        }
+    }
+
+    /**
+     * temp[k - base] is the scratch slot of data[k].
+     */
+    private void mergeSort(long[] data, long[] temp, int base, int l, int r) {
+        int i, j, k;
+        int mid = (l + r) >>> 1;
+        if (l == r) {
+            return;
+        }
+        if ((mid - l) >= THRESHOLD) {
+            mergeSort(data, temp, base, l, mid);
+        } else {
+            insertSort(data, l, mid + 1);
+        }
+        if ((r - mid) > THRESHOLD) {
+            mergeSort(data, temp, base, mid + 1, r);
+        } else {
+            insertSort(data, mid + 1, r + 1);
+        }
+
+        for (i = l; i <= mid; i++) {
+            temp[i - base] = data[i];
+        }
+        for (j = 1; j <= r - mid; j++) {
+            temp[r - j + 1 - base] = data[j + mid];
+        }
+        long a = temp[l - base];
+        long b = temp[r - base];
+        for (i = l - base, j = r - base, k = l; k <= r; k++) {
+            if (a < b) {
+                data[k] = a;
+                if (k < r) {
+                    a = temp[++i];
+                }
+            } else {
+                data[k] = b;
+                if (k < r) {
+                    b = temp[--j];
+                }
+            }
+        }
+        if (SortProbe.ENABLED) {
+            // out to temp and back
+            SortProbe.move(2 * (r - l + 1));
+        }
+    }
+
+    private static void insertSort(long[] data, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long v = data[i];
+            int j = i - 1;
+            for (; (j >= from) && (data[j] > v); j--) {
+                data[j + 1] = data[j];
+            }
+            data[j + 1] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move(i - j);
+            }
+        }
+    }
+
+    /**
+     * temp[k - base] is the scratch slot of data[k].
+     */
+    private void mergeSort(float[] data, float[] temp, int base, int l, int r) {
+        int i, j, k;
+        int mid = (l + r) >>> 1;
+        if (l == r) {
+            return;
+        }
+        if ((mid - l) >= THRESHOLD) {
+            mergeSort(data, temp, base, l, mid);
+        } else {
+            insertSort(data, l, mid + 1);
+        }
+        if ((r - mid) > THRESHOLD) {
+            mergeSort(data, temp, base, mid + 1, r);
+        } else {
+            insertSort(data, mid + 1, r + 1);
+        }
+
+        for (i = l; i <= mid; i++) {
+            temp[i - base] = data[i];
+        }
+        for (j = 1; j <= r - mid; j++) {
+            temp[r - j + 1 - base] = data[j + mid];
+        }
+        float a = temp[l - base];
+        float b = temp[r - base];
+        for (i = l - base, j = r - base, k = l; k <= r; k++) {
+            if (Float.compare(a, b) < 0) {
+                data[k] = a;
+                if (k < r) {
+                    a = temp[++i];
+                }
+            } else {
+                data[k] = b;
+                if (k < r) {
+                    b = temp[--j];
+                }
+            }
+        }
+        if (SortProbe.ENABLED) {
+            // out to temp and back
+            SortProbe.move(2 * (r - l + 1));
+        }
+    }
+
+    private static void insertSort(float[] data, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            float v = data[i];
+            int j = i - 1;
+            for (; (j >= from) && (Float.compare(data[j], v) > 0); j--) {
+                data[j + 1] = data[j];
+            }
+            data[j + 1] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move(i - j);
+            }
+        }
+    }
+
+    /**
+     * temp[k - base] is the scratch slot of data[k].
+     */
+    private void mergeSort(double[] data, double[] temp, int base, int l, int r) {
+        int i, j, k;
+        int mid = (l + r) >>> 1;
+        if (l == r) {
+            return;
+        }
+        if ((mid - l) >= THRESHOLD) {
+            mergeSort(data, temp, base, l, mid);
+        } else {
+            insertSort(data, l, mid + 1);
+        }
+        if ((r - mid) > THRESHOLD) {
+            mergeSort(data, temp, base, mid + 1, r);
+        } else {
+            insertSort(data, mid + 1, r + 1);
+        }
+
+        for (i = l; i <= mid; i++) {
+            temp[i - base] = data[i];
+        }
+        for (j = 1; j <= r - mid; j++) {
+            temp[r - j + 1 - base] = data[j + mid];
+        }
+        double a = temp[l - base];
+        double b = temp[r - base];
+        for (i = l - base, j = r - base, k = l; k <= r; k++) {
+            if (Double.compare(a, b) < 0) {
+                data[k] = a;
+                if (k < r) {
+                    a = temp[++i];
+                }
+            } else {
+                data[k] = b;
+                if (k < r) {
+                    b = temp[--j];
+                }
+            }
+        }
+        if (SortProbe.ENABLED) {
+            // out to temp and back
+            SortProbe.move(2 * (r - l + 1));
+        }
+    }
+
+    private static void insertSort(double[] data, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            double v = data[i];
+            int j = i - 1;
+            for (; (j >= from) && (Double.compare(data[j], v) > 0); j--) {
+                data[j + 1] = data[j];
+            }
+            data[j + 1] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move(i - j);
+            }
+        }
+    }
+
+}
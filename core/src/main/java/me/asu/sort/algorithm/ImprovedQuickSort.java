@@ -0,0 +1,648 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+import me.asu.sort.Workspace;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * Introsort: quick sort with an explicit stack, the pivot is the median of
+ * three or, for larger ranges, a ninther. The larger partition is always
+ * pushed first so the stack stays O(log n), and a range that goes deeper
+ * than 2*log2(n) is finished by {@link HeapSort}, which bounds the worst
+ * case to O(n log n). The stack comes from the {@link Workspace}, so a call
+ * allocates nothing, and one loop drives the object and primitive sorts.
+ *
+ * @author Suk Honzeon
+ * @version 1.1
+ * @since 2004-10-21
+ */
+public class ImprovedQuickSort extends AbstractSort {
+
+    private static int THRESHOLD = 10;
+    private static int NINTHER_THRESHOLD = 40;
+    private static final HeapSort HEAP_SORT = new HeapSort();
+
+    /** Element kinds of the shared introsort loop. */
+    static final int OBJECTS = 0;
+    static final int INTS = 1;
+    static final int LONGS = 2;
+    static final int FLOATS = 3;
+    static final int DOUBLES = 4;
+
+    @Override
+    public String algorithm() {
+        return "improved_quick";
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        sort(data, from, to, c, Workspace.current());
+    }
+
+    /**
+     * The workspace provides the partition stack.
+     */
+    @Override
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c, Workspace workspace) {
+        rangeCheck(data.length, from, to);
+        introSort(data, OBJECTS, from, to, c, workspace);
+    }
+
+    /**
+     * Sorts data[from, to) in natural order.
+     */
+    <T> void quickSort(T[] data, int from, int to) {
+        introSort(data, OBJECTS, from, to, null, Workspace.current());
+    }
+
+    <T> void quickSort(T[] data, int from, int to, Comparator<? super T> c) {
+        introSort(data, OBJECTS, from, to, c, Workspace.current());
+    }
+
+    /**
+     * Sorts the range of an array of the given kind, data is a T[] for
+     * OBJECTS and c is only used for those.
+     */
+    <T> void quickSort(Object data, int kind, int from, int to, Comparator<? super T> c) {
+        introSort(data, kind, from, to, c, Workspace.current());
+    }
+
+    public void sort(int[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        introSort(data, INTS, from, to, null, Workspace.current());
+    }
+
+    public void sort(long[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        introSort(data, LONGS, from, to, null, Workspace.current());
+    }
+
+    public void sort(float[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        introSort(data, FLOATS, from, to, null, Workspace.current());
+    }
+
+    public void sort(double[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        introSort(data, DOUBLES, from, to, null, Workspace.current());
+    }
+
+    /**
+     * The loop all element kinds share: ranges [i, j] come off the stack,
+     * one that has been partitioned depthLimit times goes to heap sort, the
+     * others are partitioned and their sides pushed. Ranges up to THRESHOLD
+     * are left to the final insertion sort over data[from, to). Only the
+     * partition, heap sort and insertion sort steps differ by kind.
+     */
+    private <T> void introSort(Object data, int kind, int from, int to, Comparator<? super T> c,
+                               Workspace workspace) {
+        if (to - from > THRESHOLD + 1) {
+            int depthLimit = depthLimit(to - from);
+            int[] stack = workspace.acquireInts(3 * (depthLimit + 2));
+            try {
+                int top = -1;
+                stack[++top] = from;
+                stack[++top] = to - 1;
+                stack[++top] = depthLimit;
+
+                while (top >= 0) {
+                    int depth = stack[top--];
+                    int j = stack[top--];
+                    int i = stack[top--];
+
+                    if (depth == 0) {
+                        heapSort(data, kind, i, j + 1, c);
+                        continue;
+                    }
+
+                    int l = partition(data, kind, i, j, c);
+                    top = push(stack, top, i, l, j, depth - 1);
+                }
+            } finally {
+                workspace.releaseInts(stack);
+            }
+        }
+        insertSort(data, kind, from, to, c);
+    }
+
+    /**
+     * One partition step of the kind's loop on data[i, j].
+     *
+     * @return the final index of the pivot
+     */
+    @SuppressWarnings("unchecked")
+    <T> int partition(Object data, int kind, int i, int j, Comparator<? super T> c) {
+        switch (kind) {
+            case INTS:
+                return partition((int[]) data, i, j);
+            case LONGS:
+                return partition((long[]) data, i, j);
+            case FLOATS:
+                return partition((float[]) data, i, j);
+            case DOUBLES:
+                return partition((double[]) data, i, j);
+            default:
+                return c == null ? partition((T[]) data, i, j) : partition((T[]) data, i, j, c);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void heapSort(Object data, int kind, int from, int to, Comparator<? super T> c) {
+        switch (kind) {
+            case INTS:
+                HEAP_SORT.sort((int[]) data, from, to);
+                break;
+            case LONGS:
+                HEAP_SORT.sort((long[]) data, from, to);
+                break;
+            case FLOATS:
+                HEAP_SORT.sort((float[]) data, from, to);
+                break;
+            case DOUBLES:
+                HEAP_SORT.sort((double[]) data, from, to);
+                break;
+            default:
+                if (c == null) {
+                    HEAP_SORT.heapSort((T[]) data, from, to);
+                } else {
+                    HEAP_SORT.heapSort((T[]) data, from, to, c);
+                }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void insertSort(Object data, int kind, int from, int to, Comparator<? super T> c) {
+        switch (kind) {
+            case INTS:
+                insertSort((int[]) data, from, to);
+                break;
+            case LONGS:
+                insertSort((long[]) data, from, to);
+                break;
+            case FLOATS:
+                insertSort((float[]) data, from, to);
+                break;
+            case DOUBLES:
+                insertSort((double[]) data, from, to);
+                break;
+            default:
+                if (c == null) {
+                    insertSort((T[]) data, from, to);
+                } else {
+                    insertSort((T[]) data, from, to, c);
+                }
+        }
+    }
+
+    /**
+     * 2 * floor(log2(n)), the depth after which a range goes to heap sort.
+     */
+    static int depthLimit(int n) {
+        return 2 * (31 - Integer.numberOfLeadingZeros(n));
+    }
+
+    /**
+     * Pushes the partitions [i, l - 1] and [l + 1, j] that are longer than
+     * THRESHOLD, the larger one first so the smaller one is popped next.
+     *
+     * @return the new stack top
+     */
+    private static int push(int[] stack, int top, int i, int l, int j, int depth) {
+        boolean left = (l - i) > THRESHOLD;
+        boolean right = (j - l) > THRESHOLD;
+        if (left && right && (l - i) < (j - l)) {
+            stack[++top] = l + 1;
+            stack[++top] = j;
+            stack[++top] = depth;
+            stack[++top] = i;
+            stack[++top] = l - 1;
+            stack[++top] = depth;
+            if (SortProbe.ENABLED) {
+                SortProbe.depth((top + 1) / 3);
+            }
+            return top;
+        }
+        if (left) {
+            stack[++top] = i;
+            stack[++top] = l - 1;
+            stack[++top] = depth;
+        }
+        if (right) {
+            stack[++top] = l + 1;
+            stack[++top] = j;
+            stack[++top] = depth;
+        }
+        if (SortProbe.ENABLED) {
+            SortProbe.depth((top + 1) / 3);
+        }
+        return top;
+    }
+
+    /**
+     * Partitions data[i, j] around the median of three, or the ninther for
+     * ranges longer than NINTHER_THRESHOLD.
+     *
+     * @return the final index of the pivot
+     */
+    <T> int partition(T[] data, int i, int j) {
+        int pivotIndex = pivot(data, i, j);
+        T pivot = data[pivotIndex];
+
+        swap(data, pivotIndex, j);
+
+        int l = i - 1;
+        int r = j;
+        do {
+            while (compareNatural(data[++l], pivot) < 0) {
+                ;
+            }
+            while ((r > i) && (compareNatural(data[--r], pivot) > 0)) {
+                ;
+            }
+            swap(data, l, r);
+        } while (l < r);
+        swap(data, l, r);
+        swap(data, l, j);
+        return l;
+    }
+
+    <T> int partition(T[] data, int i, int j, Comparator<? super T> c) {
+        return partition(data, i, j, pivot(data, i, j, c), c);
+    }
+
+    /**
+     * Partitions data[i, j] around data[pivotIndex].
+     *
+     * @return the final index of the pivot
+     */
+    <T> int partition(T[] data, int i, int j, int pivotIndex, Comparator<? super T> c) {
+        T pivot = data[pivotIndex];
+
+        swap(data, pivotIndex, j);
+
+        int l = i - 1;
+        int r = j;
+        do {
+            while (c.compare(data[++l], pivot) < 0) {
+                ;
+            }
+            while ((r > i) && (c.compare(data[--r], pivot) > 0)) {
+                ;
+            }
+            swap(data, l, r);
+        } while (l < r);
+        swap(data, l, r);
+        swap(data, l, j);
+        return l;
+    }
+
+    static <T> int pivot(T[] data, int i, int j) {
+        int mid = (i + j) >>> 1;
+        int n = j - i + 1;
+        if (n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            return median3(data,
+                    median3(data, i, i + s, i + 2 * s),
+                    median3(data, mid - s, mid, mid + s),
+                    median3(data, j - 2 * s, j - s, j));
+        }
+        return median3(data, i, mid, j);
+    }
+
+    static <T> int pivot(T[] data, int i, int j, Comparator<? super T> c) {
+        int mid = (i + j) >>> 1;
+        int n = j - i + 1;
+        if (n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            return median3(data,
+                    median3(data, i, i + s, i + 2 * s, c),
+                    median3(data, mid - s, mid, mid + s, c),
+                    median3(data, j - 2 * s, j - s, j, c), c);
+        }
+        return median3(data, i, mid, j, c);
+    }
+
+    private static <T> int median3(T[] data, int a, int b, int c) {
+        return compareNatural(data[a], data[b]) < 0
+                ? (compareNatural(data[b], data[c]) < 0 ? b : compareNatural(data[a], data[c]) < 0 ? c : a)
+                : (compareNatural(data[b], data[c]) > 0 ? b : compareNatural(data[a], data[c]) > 0 ? c : a);
+    }
+
+    private static <T> int median3(T[] data, int a, int b, int c, Comparator<? super T> cmp) {
+        return cmp.compare(data[a], data[b]) < 0
+                ? (cmp.compare(data[b], data[c]) < 0 ? b : cmp.compare(data[a], data[c]) < 0 ? c : a)
+                : (cmp.compare(data[b], data[c]) > 0 ? b : cmp.compare(data[a], data[c]) > 0 ? c : a);
+    }
+
+    /**
+     * @param data
+     * @param from
+     * @param to
+     */
+    private <T> void insertSort(T[] data, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; (j > from) && (compareNatural(data[j], data[j - 1]) < 0); j--) {
+                swap(data, j, j - 1);
+            }
+        }
+    }
+
+    private <T> void insertSort(T[] data, int from, int to, Comparator<? super T> c) {
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; (j > from) && (c.compare(data[j], data[j - 1]) < 0); j--) {
+                swap(data, j, j - 1);
+            }
+        }
+    }
+
+    /**
+     * Partitions data[i, j] like {@link #partition(Object[], int, int)}.
+     *
+     * @return the final index of the pivot
+     */
+    private static int partition(int[] data, int i, int j) {
+        int pivotIndex = pivot(data, i, j);
+        int pivot = data[pivotIndex];
+        data[pivotIndex] = data[j];
+        data[j] = pivot;
+
+        int l = i - 1;
+        int r = j;
+        int t;
+        do {
+            while (data[++l] < pivot) {
+                ;
+            }
+            while ((r > i) && (data[--r] > pivot)) {
+                ;
+            }
+            t = data[l];
+            data[l] = data[r];
+            data[r] = t;
+            if (SortProbe.ENABLED) {
+                SortProbe.move();
+            }
+        } while (l < r);
+        t = data[l];
+        data[l] = data[r];
+        data[r] = t;
+        data[j] = data[l];
+        data[l] = pivot;
+        if (SortProbe.ENABLED) {
+            // the pivot to the end, the last exchange and the pivot back
+            SortProbe.move(3);
+        }
+        return l;
+    }
+
+    private static int pivot(int[] data, int i, int j) {
+        int mid = (i + j) >>> 1;
+        int n = j - i + 1;
+        if (n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            return median3(data,
+                    median3(data, i, i + s, i + 2 * s),
+                    median3(data, mid - s, mid, mid + s),
+                    median3(data, j - 2 * s, j - s, j));
+        }
+        return median3(data, i, mid, j);
+    }
+
+    private static int median3(int[] data, int a, int b, int c) {
+        return data[a] < data[b]
+                ? (data[b] < data[c] ? b : data[a] < data[c] ? c : a)
+                : (data[b] > data[c] ? b : data[a] > data[c] ? c : a);
+    }
+
+    private static void insertSort(int[] data, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int v = data[i];
+            int j = i - 1;
+            for (; (j >= from) && (data[j] > v); j--) {
+                data[j + 1] = data[j];
+            }
+            data[j + 1] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move(i - j);
+            }
+        }
+    }
+
+    /**
+     * Partitions data[i, j] like {@link #partition(Object[], int, int)}.
+     *
+     * @return the final index of the pivot
+     */
+    private static int partition(long[] data, int i, int j) {
+        int pivotIndex = pivot(data, i, j);
+        long pivot = data[pivotIndex];
+        data[pivotIndex] = data[j];
+        data[j] = pivot;
+
+        int l = i - 1;
+        int r = j;
+        long t;
+        do {
+            while (data[++l] < pivot) {
+                ;
+            }
+            while ((r > i) && (data[--r] > pivot)) {
+                ;
+            }
+            t = data[l];
+            data[l] = data[r];
+            data[r] = t;
+            if (SortProbe.ENABLED) {
+                SortProbe.move();
+            }
+        } while (l < r);
+        t = data[l];
+        data[l] = data[r];
+        data[r] = t;
+        data[j] = data[l];
+        data[l] = pivot;
+        if (SortProbe.ENABLED) {
+            // the pivot to the end, the last exchange and the pivot back
+            SortProbe.move(3);
+        }
+        return l;
+    }
+
+    private static int pivot(long[] data, int i, int j) {
+        int mid = (i + j) >>> 1;
+        int n = j - i + 1;
+        if (n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            return median3(data,
+                    median3(data, i, i + s, i + 2 * s),
+                    median3(data, mid - s, mid, mid + s),
+                    median3(data, j - 2 * s, j - s, j));
+        }
+        return median3(data, i, mid, j);
+    }
+
+    private static int median3(long[] data, int a, int b, int c) {
+        return data[a] < data[b]
+                ? (data[b] < data[c] ? b : data[a] < data[c] ? c : a)
+                : (data[b] > data[c] ? b : data[a] > data[c] ? c : a);
+    }
+
+    private static void insertSort(long[] data, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long v = data[i];
+            int j = i - 1;
+            for (; (j >= from) && (data[j] > v); j--) {
+                data[j + 1] = data[j];
+            }
+            data[j + 1] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move(i - j);
+            }
+        }
+    }
+
+    /**
+     * Partitions data[i, j] like {@link #partition(Object[], int, int)}.
+     *
+     * @return the final index of the pivot
+     */
+    private static int partition(float[] data, int i, int j) {
+        int pivotIndex = pivot(data, i, j);
+        float pivot = data[pivotIndex];
+        data[pivotIndex] = data[j];
+        data[j] = pivot;
+
+        int l = i - 1;
+        int r = j;
+        float t;
+        do {
+            while (Float.compare(data[++l], pivot) < 0) {
+                ;
+            }
+            while ((r > i) && (Float.compare(data[--r], pivot) > 0)) {
+                ;
+            }
+            t = data[l];
+            data[l] = data[r];
+            data[r] = t;
+            if (SortProbe.ENABLED) {
+                SortProbe.move();
+            }
+        } while (l < r);
+        t = data[l];
+        data[l] = data[r];
+        data[r] = t;
+        data[j] = data[l];
+        data[l] = pivot;
+        if (SortProbe.ENABLED) {
+            // the pivot to the end, the last exchange and the pivot back
+            SortProbe.move(3);
+        }
+        return l;
+    }
+
+    private static int pivot(float[] data, int i, int j) {
+        int mid = (i + j) >>> 1;
+        int n = j - i + 1;
+        if (n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            return median3(data,
+                    median3(data, i, i + s, i + 2 * s),
+                    median3(data, mid - s, mid, mid + s),
+                    median3(data, j - 2 * s, j - s, j));
+        }
+        return median3(data, i, mid, j);
+    }
+
+    private static int median3(float[] data, int a, int b, int c) {
+        return Float.compare(data[a], data[b]) < 0
+                ? (Float.compare(data[b], data[c]) < 0 ? b : Float.compare(data[a], data[c]) < 0 ? c : a)
+                : (Float.compare(data[b], data[c]) > 0 ? b : Float.compare(data[a], data[c]) > 0 ? c : a);
+    }
+
+    private static void insertSort(float[] data, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            float v = data[i];
+            int j = i - 1;
+            for (; (j >= from) && (Float.compare(data[j], v) > 0); j--) {
+                data[j + 1] = data[j];
+            }
+            data[j + 1] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move(i - j);
+            }
+        }
+    }
+
+    /**
+     * Partitions data[i, j] like {@link #partition(Object[], int, int)}.
+     *
+     * @return the final index of the pivot
+     */
+    private static int partition(double[] data, int i, int j) {
+        int pivotIndex = pivot(data, i, j);
+        double pivot = data[pivotIndex];
+        data[pivotIndex] = data[j];
+        data[j] = pivot;
+
+        int l = i - 1;
+        int r = j;
+        double t;
+        do {
+            while (Double.compare(data[++l], pivot) < 0) {
+                ;
+            }
+            while ((r > i) && (Double.compare(data[--r], pivot) > 0)) {
+                ;
+            }
+            t = data[l];
+            data[l] = data[r];
+            data[r] = t;
+            if (SortProbe.ENABLED) {
+                SortProbe.move();
+            }
+        } while (l < r);
+        t = data[l];
+        data[l] = data[r];
+        data[r] = t;
+        data[j] = data[l];
+        data[l] = pivot;
+        if (SortProbe.ENABLED) {
+            // the pivot to the end, the last exchange and the pivot back
+            SortProbe.move(3);
+        }
+        return l;
+    }
+
+    private static int pivot(double[] data, int i, int j) {
+        int mid = (i + j) >>> 1;
+        int n = j - i + 1;
+        if (n > NINTHER_THRESHOLD) {
+            int s = n >>> 3;
+            return median3(data,
+                    median3(data, i, i + s, i + 2 * s),
+                    median3(data, mid - s, mid, mid + s),
+                    median3(data, j - 2 * s, j - s, j));
+        }
+        return median3(data, i, mid, j);
+    }
+
+    private static int median3(double[] data, int a, int b, int c) {
+        return Double.compare(data[a], data[b]) < 0
+                ? (Double.compare(data[b], data[c]) < 0 ? b : Double.compare(data[a], data[c]) < 0 ? c : a)
+                : (Double.compare(data[b], data[c]) > 0 ? b : Double.compare(data[a], data[c]) > 0 ? c : a);
+    }
+
+    private static void insertSort(double[] data, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            double v = data[i];
+            int j = i - 1;
+            for (; (j >= from) && (Double.compare(data[j], v) > 0); j--) {
+                data[j + 1] = data[j];
+            }
+            data[j + 1] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move(i - j);
+            }
+        }
+    }
+}
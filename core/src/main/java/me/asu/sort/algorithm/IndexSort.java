@@ -0,0 +1,116 @@
+package me.asu.sort.algorithm;
+
+import me.asu.sort.Workspace;
+
+/**
+ * Stable sort of a primitive int[] of indexes by a comparison of what they
+ * point at, for the indirect sorts that would otherwise box every index
+ * into an Integer[] to use a {@link java.util.Comparator}.
+ * <p>
+ * A bottom-up merge sort: runs of RUN indexes are binary insertion sorted,
+ * then merged pairwise with doubling width. Two runs already in order are
+ * not merged, so presorted input takes n comparisons; otherwise the shorter
+ * run is copied out and merged back from its end, which needs at most n / 2
+ * ints of scratch, taken from the {@link Workspace}.
+ * <pre>
+ * int[] order = Permutations.identity(data.length);
+ * IndexSort.sort(order, (i, j) -&gt; c.compare(data[i], data[j]));
+ * </pre>
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public final class IndexSort {
+
+    /**
+     * Compares the things indexes i and j stand for.
+     */
+    @FunctionalInterface
+    public interface IndexComparator {
+        int compare(int i, int j);
+    }
+
+    private static final int RUN = 32;
+
+    private IndexSort() {
+    }
+
+    public static void sort(int[] index, IndexComparator c) {
+        sort(index, 0, index.length, c);
+    }
+
+    public static void sort(int[] index, int from, int to, IndexComparator c) {
+        AbstractSort.rangeCheck(index.length, from, to);
+        int n = to - from;
+        if (n < 2) {
+            return;
+        }
+        for (int lo = from; lo < to; lo += RUN) {
+            insertSort(index, lo, Math.min(lo + RUN, to), c);
+        }
+        if (n <= RUN) {
+            return;
+        }
+        Workspace workspace = Workspace.current();
+        int[] buffer = workspace.acquireInts(n / 2);
+        try {
+            for (int width = RUN; width < n; width <<= 1) {
+                for (int lo = from; lo < to - width; lo += width << 1) {
+                    merge(index, lo, lo + width, Math.min(lo + (width << 1), to), buffer, c);
+                }
+            }
+        } finally {
+            workspace.releaseInts(buffer);
+        }
+    }
+
+    private static void insertSort(int[] index, int lo, int hi, IndexComparator c) {
+        for (int i = lo + 1; i < hi; i++) {
+            int v = index[i];
+            // the first element of the sorted prefix greater than v
+            int left = lo;
+            int right = i;
+            while (left < right) {
+                int m = (left + right) >>> 1;
+                if (c.compare(v, index[m]) < 0) {
+                    right = m;
+                } else {
+                    left = m + 1;
+                }
+            }
+            System.arraycopy(index, left, index, left + 1, i - left);
+            index[left] = v;
+        }
+    }
+
+    /**
+     * Merges the sorted runs index[lo, mid) and index[mid, hi), the left
+     * element first on ties.
+     */
+    private static void merge(int[] index, int lo, int mid, int hi, int[] buffer, IndexComparator c) {
+        if (c.compare(index[mid - 1], index[mid]) <= 0) {
+            return;
+        }
+        if (mid - lo <= hi - mid) {
+            int n = mid - lo;
+            System.arraycopy(index, lo, buffer, 0, n);
+            int i = 0;
+            int j = mid;
+            int k = lo;
+            while (i < n && j < hi) {
+                index[k++] = c.compare(index[j], buffer[i]) < 0 ? index[j++] : buffer[i++];
+            }
+            System.arraycopy(buffer, i, index, k, n - i);
+        } else {
+            int n = hi - mid;
+            System.arraycopy(index, mid, buffer, 0, n);
+            int i = mid - 1;
+            int j = n - 1;
+            int k = hi - 1;
+            while (i >= lo && j >= 0) {
+                index[k--] = c.compare(buffer[j], index[i]) < 0 ? index[i--] : buffer[j--];
+            }
+            System.arraycopy(buffer, 0, index, lo, j + 1);
+        }
+    }
+}
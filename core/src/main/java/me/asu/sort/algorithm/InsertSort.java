@@ -0,0 +1,39 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+
+/**
+ * @author Suk Honzeon
+ * @version 1.0
+ * @since 2004-10-21
+ */
+public class InsertSort extends AbstractSort {
+
+    @Override
+    public String algorithm() {
+        return "insert";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        rangeCheck(data.length, from, to);
+        if (c == null) {
+            for (int i = from + 1; i < to; i++) {
+                for (int j = i; (j > from) && (compareNatural(data[j], data[j - 1]) < 0); j--) {
+                    swap(data, j, j - 1);
+                }
+            }
+            return;
+        }
+        for (int i = from + 1; i < to; i++) {
+            for (int j = i; (j > from) && (c.compare(data[j], data[j - 1]) < 0); j--) {
+                swap(data, j, j - 1);
+            }
+        }
+    }
+
+}
\ No newline at end of file
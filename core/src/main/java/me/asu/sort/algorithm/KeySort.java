@@ -0,0 +1,102 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Sort by extracted keys (decorate-sort-undecorate). Each key is computed
+ * exactly once into an array parallel to the data, the (key, index) pairs are
+ * sorted, and the data is permuted in place into that order at the end by
+ * {@link Permutations}, so an expensive key (a parsed timestamp, a
+ * normalized name) is not derived again on every comparison.
+ * <p>
+ * long and double keys are mapped to unsigned-ordered longs and radix sorted
+ * by {@link RadixSort}, which is stable. Object keys are compared by the
+ * given comparator on a primitive index array sorted by {@link IndexSort},
+ * which is stable too.
+ * <p>
+ * The long and double variants have their own names, so that a lambda key
+ * never makes the call ambiguous.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class KeySort {
+
+    /**
+     * Stable sort by the natural order of the keys.
+     */
+    public static <T, K extends Comparable<? super K>> void sortByKey(T[] data,
+                                                                     Function<? super T, ? extends K> key) {
+        sortByKey(data, key, null);
+    }
+
+    /**
+     * Stable sort by the keys in the order of c, natural order when c is
+     * null.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, K> void sortByKey(T[] data, Function<? super T, ? extends K> key,
+                                        Comparator<? super K> c) {
+        if (data == null || data.length < 2) {
+            return;
+        }
+        Object[] keys = new Object[data.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key.apply(data[i]);
+        }
+        Permutations.apply(ArgSort.argsort(keys, (Comparator<Object>) c), data);
+    }
+
+    /**
+     * Stable sort by a long key.
+     */
+    public static <T> void sortByLongKey(T[] data, ToLongFunction<? super T> key) {
+        if (data == null || data.length < 2) {
+            return;
+        }
+        long[] keys = new long[data.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key.applyAsLong(data[i]) ^ Long.MIN_VALUE;
+        }
+        Permutations.apply(order(keys), data);
+    }
+
+    /**
+     * Stable sort by a double key, ordered as {@link Double#compare}.
+     */
+    public static <T> void sortByDoubleKey(T[] data, ToDoubleFunction<? super T> key) {
+        if (data == null || data.length < 2) {
+            return;
+        }
+        long[] keys = new long[data.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = unsignedKey(key.applyAsDouble(data[i]));
+        }
+        Permutations.apply(order(keys), data);
+    }
+
+    /**
+     * Maps a double to a long whose unsigned order is {@link Double#compare}:
+     * positive values get the sign bit set, negative values are inverted.
+     */
+    static long unsignedKey(double d) {
+        long bits = Double.doubleToLongBits(d);
+        return bits ^ ((bits >> 63) | Long.MIN_VALUE);
+    }
+
+    /**
+     * The indexes of keys in ascending unsigned key order, ties in index
+     * order. keys is sorted as a side effect.
+     */
+    static int[] order(long[] keys) {
+        int[] index = new int[keys.length];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = i;
+        }
+        RadixSort.lsd(keys, index);
+        return index;
+    }
+}
@@ -0,0 +1,106 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+import me.asu.sort.Workspace;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * @author Suk Honzeon
+ * @version 1.0
+ * @since 2004-10-21
+ */
+public class MergeSort extends AbstractSort {
+
+    @Override
+    public String algorithm() {
+        return "merge";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        sort(data, from, to, c, Workspace.current());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c, Workspace workspace) {
+        rangeCheck(data.length, from, to);
+        int n = to - from;
+        if (n < 2) {
+            return;
+        }
+        T[] temp = (T[]) workspace.acquireObjects(n);
+        try {
+            if (c == null) {
+                mergeSort(data, temp, from, from, to - 1);
+            } else {
+                mergeSort(data, temp, from, from, to - 1, c);
+            }
+        } finally {
+            workspace.releaseObjects(temp, n);
+        }
+    }
+
+    private <T> void mergeSort(T[] data, T[] temp, int base, int l, int r) {
+        int mid = (l + r) / 2;
+        if (l == r) {
+            return;
+        }
+        mergeSort(data, temp, base, l, mid);
+        mergeSort(data, temp, base, mid + 1, r);
+        for (int i = l; i <= r; i++) {
+            temp[i - base] = data[i];
+        }
+        int i1 = l;
+        int i2 = mid + 1;
+        for (int cur = l; cur <= r; cur++) {
+            if (i1 == mid + 1) {
+                data[cur] = temp[i2++ - base];
+            } else if (i2 > r) {
+                data[cur] = temp[i1++ - base];
+            } else if (compareNatural(temp[i2 - base], temp[i1 - base]) < 0) {
+                data[cur] = temp[i2++ - base];
+            } else {
+                data[cur] = temp[i1++ - base];
+            }
+        }
+        if (SortProbe.ENABLED) {
+            // out to temp and back
+            SortProbe.move(2 * (r - l + 1));
+        }
+    }
+
+    private <T> void mergeSort(T[] data, T[] temp, int base, int l, int r, Comparator<? super T> c) {
+        int mid = (l + r) / 2;
+        if (l == r) {
+            return;
+        }
+        mergeSort(data, temp, base, l, mid, c);
+        mergeSort(data, temp, base, mid + 1, r, c);
+        for (int i = l; i <= r; i++) {
+            temp[i - base] = data[i];
+        }
+        int i1 = l;
+        int i2 = mid + 1;
+        for (int cur = l; cur <= r; cur++) {
+            if (i1 == mid + 1) {
+                data[cur] = temp[i2++ - base];
+            } else if (i2 > r) {
+                data[cur] = temp[i1++ - base];
+            } else if (c.compare(temp[i2 - base], temp[i1 - base]) < 0) {
+                data[cur] = temp[i2++ - base];
+            } else {
+                data[cur] = temp[i1++ - base];
+            }
+        }
+        if (SortProbe.ENABLED) {
+            // out to temp and back
+            SortProbe.move(2 * (r - l + 1));
+        }
+    }
+
+}
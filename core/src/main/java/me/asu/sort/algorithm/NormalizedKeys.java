@@ -0,0 +1,99 @@
+package me.asu.sort.algorithm;
+
+/**
+ * Order-preserving 8 byte prefixes of sort keys. A prefix is compared as an
+ * unsigned long; when a &lt; b in the key order then prefix(a) &lt;= prefix(b),
+ * so prefixes decide most comparisons and only equal prefixes need the full
+ * keys.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class NormalizedKeys {
+
+    /**
+     * The first 8 bytes big endian, zero padded, for the unsigned
+     * lexicographic order of byte[].
+     */
+    public static long prefix(byte[] key) {
+        long p = 0;
+        for (int i = 0; i < 8; i++) {
+            p = (p << 8) | (i < key.length ? key[i] & 0xff : 0);
+        }
+        return p;
+    }
+
+    /**
+     * The first 4 chars, 16 bits each, zero padded, for
+     * {@link String#compareTo}.
+     */
+    public static long prefix(String key) {
+        return prefix(key, 0);
+    }
+
+    /**
+     * The 4 chars from char from on, for Strings that agree before it.
+     */
+    public static long prefix(String key, int from) {
+        long p = 0;
+        int n = Math.min(4, key.length() - from);
+        for (int i = 0; i < n; i++) {
+            p |= (long) key.charAt(from + i) << (48 - 16 * i);
+        }
+        return p;
+    }
+
+    /**
+     * The first 8 chars, 8 bits each, zero padded, for
+     * {@link String#compareTo} among Strings whose first 8 chars are all
+     * Latin-1, see {@link #isLatin1Prefix(String)}; twice as many chars per
+     * prefix as {@link #prefix(String)}.
+     */
+    public static long latin1Prefix(String key) {
+        return latin1Prefix(key, 0);
+    }
+
+    /**
+     * The 8 Latin-1 chars from char from on, for Strings that agree before
+     * it.
+     */
+    public static long latin1Prefix(String key, int from) {
+        long p = 0;
+        int n = Math.min(8, key.length() - from);
+        for (int i = 0; i < n; i++) {
+            p |= (long) (key.charAt(from + i) & 0xff) << (56 - 8 * i);
+        }
+        return p;
+    }
+
+    /**
+     * True when the first 8 chars of key are all at most U+00FF.
+     */
+    public static boolean isLatin1Prefix(String key) {
+        return isLatin1Prefix(key, 0);
+    }
+
+    /**
+     * True when the 8 chars from char from on are all at most U+00FF.
+     */
+    public static boolean isLatin1Prefix(String key, int from) {
+        int n = Math.min(from + 8, key.length());
+        for (int i = from; i < n; i++) {
+            if (key.charAt(i) > 0xff) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static long prefix(long key) {
+        return key ^ Long.MIN_VALUE;
+    }
+
+    /**
+     * For {@link Double#compare}.
+     */
+    public static long prefix(double key) {
+        return KeySort.unsignedKey(key);
+    }
+}
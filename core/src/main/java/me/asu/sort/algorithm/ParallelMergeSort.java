@@ -0,0 +1,266 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import me.asu.sort.Workspace;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * Fork/join merge sort. Ranges above the granularity are split and sorted as
+ * {@link RecursiveAction}s, large merges are split again by binary search.
+ * Ranges below the granularity are sorted by {@link ImprovedMergeSort} on the
+ * same temp buffer, so a sort needs one n-sized buffer in total, drawn from
+ * a {@link Workspace}. The primitive arrays, whose ties can not be told
+ * apart, go to {@link ParallelQuickSort} on the same pool, in place.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class ParallelMergeSort extends AbstractSort {
+
+    public static final int DEFAULT_GRANULARITY = 1 << 13;
+
+    private final ForkJoinPool pool;
+    private final int granularity;
+    private final ImprovedMergeSort sequential = new ImprovedMergeSort();
+    private final ParallelQuickSort primitives;
+
+    public ParallelMergeSort() {
+        this(ForkJoinPool.commonPool(), DEFAULT_GRANULARITY);
+    }
+
+    public ParallelMergeSort(ForkJoinPool pool) {
+        this(pool, DEFAULT_GRANULARITY);
+    }
+
+    /**
+     * @param pool        the pool the tasks run in, caps the number of cores used
+     * @param granularity ranges up to this size are sorted and merged sequentially
+     */
+    public ParallelMergeSort(ForkJoinPool pool, int granularity) {
+        if (pool == null) {
+            throw new NullPointerException("pool");
+        }
+        if (granularity < 2) {
+            throw new IllegalArgumentException("granularity < 2: " + granularity);
+        }
+        this.pool = pool;
+        this.granularity = granularity;
+        this.primitives = new ParallelQuickSort(pool, granularity, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public String algorithm() {
+        return "parallel_merge";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        sort(data, from, to, c, Workspace.current());
+    }
+
+    /**
+     * The temp buffer comes from workspace, the tasks on other threads use
+     * it while this call waits for them.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c, Workspace workspace) {
+        rangeCheck(data.length, from, to);
+        int n = to - from;
+        if (n <= granularity) {
+            sequential.sort(data, from, to, c, workspace);
+            return;
+        }
+        T[] temp = (T[]) workspace.acquireObjects(n);
+        try {
+            if (SortProbe.ENABLED) {
+                SortProbe.handOff();
+            }
+            pool.invoke(new SortTask<T>(this, data, temp, from, from, to, false, c));
+        } finally {
+            workspace.releaseObjects(temp, n);
+        }
+    }
+
+    public void sort(int[] data, int from, int to) {
+        primitives.sort(data, from, to);
+    }
+
+    public void sort(long[] data, int from, int to) {
+        primitives.sort(data, from, to);
+    }
+
+    public void sort(float[] data, int from, int to) {
+        primitives.sort(data, from, to);
+    }
+
+    public void sort(double[] data, int from, int to) {
+        primitives.sort(data, from, to);
+    }
+
+    private static <T> int compare(T a, T b, Comparator<? super T> c) {
+        return c == null ? compareNatural(a, b) : c.compare(a, b);
+    }
+
+    /**
+     * Sorts data[lo, hi) and leaves the result in temp when intoTemp is set,
+     * otherwise in data; temp[k - base] is the scratch slot of data[k]. The
+     * children sort into the other buffer, so the merge never needs an extra
+     * copy.
+     */
+    private static final class SortTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ParallelMergeSort owner;
+        private final T[] data;
+        private final T[] temp;
+        private final int base;
+        private final int lo;
+        private final int hi;
+        private final boolean intoTemp;
+        private final Comparator<? super T> c;
+
+        SortTask(ParallelMergeSort owner, T[] data, T[] temp, int base, int lo, int hi,
+                 boolean intoTemp, Comparator<? super T> c) {
+            this.owner = owner;
+            this.data = data;
+            this.temp = temp;
+            this.base = base;
+            this.lo = lo;
+            this.hi = hi;
+            this.intoTemp = intoTemp;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= owner.granularity) {
+                owner.sequential.mergeSort(data, temp, base, lo, hi - 1,
+                        c == null ? AbstractSort.<T>naturalOrder() : c);
+                if (intoTemp) {
+                    System.arraycopy(data, lo, temp, lo - base, hi - lo);
+                    if (SortProbe.ENABLED) {
+                        SortProbe.move(hi - lo);
+                    }
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new SortTask<T>(owner, data, temp, base, lo, mid, !intoTemp, c),
+                    new SortTask<T>(owner, data, temp, base, mid, hi, !intoTemp, c));
+            if (intoTemp) {
+                new MergeTask<T>(owner.granularity, data, lo, mid, mid, hi, temp, lo - base, c).compute();
+            } else {
+                new MergeTask<T>(owner.granularity, temp, lo - base, mid - base, mid - base, hi - base, data, lo,
+                        c).compute();
+            }
+        }
+    }
+
+    /**
+     * Stable merge of src[aLo, aHi) and src[bLo, bHi) into dst starting at
+     * dstLo. Large merges split the longer run at its middle and binary search
+     * the matching position in the other run.
+     */
+    private static final class MergeTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int granularity;
+        private final T[] src;
+        private final int aLo, aHi, bLo, bHi;
+        private final T[] dst;
+        private final int dstLo;
+        private final Comparator<? super T> c;
+
+        MergeTask(int granularity, T[] src, int aLo, int aHi, int bLo, int bHi,
+                  T[] dst, int dstLo, Comparator<? super T> c) {
+            this.granularity = granularity;
+            this.src = src;
+            this.aLo = aLo;
+            this.aHi = aHi;
+            this.bLo = bLo;
+            this.bHi = bHi;
+            this.dst = dst;
+            this.dstLo = dstLo;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            int aLen = aHi - aLo;
+            int bLen = bHi - bLo;
+            if (aLen + bLen <= granularity) {
+                merge();
+                return;
+            }
+            int aMid, bMid;
+            if (aLen >= bLen) {
+                aMid = (aLo + aHi) >>> 1;
+                bMid = lowerBound(src, bLo, bHi, src[aMid], c);
+            } else {
+                bMid = (bLo + bHi) >>> 1;
+                aMid = upperBound(src, aLo, aHi, src[bMid], c);
+            }
+            int split = dstLo + (aMid - aLo) + (bMid - bLo);
+            invokeAll(new MergeTask<T>(granularity, src, aLo, aMid, bLo, bMid, dst, dstLo, c),
+                    new MergeTask<T>(granularity, src, aMid, aHi, bMid, bHi, dst, split, c));
+        }
+
+        private void merge() {
+            if (SortProbe.ENABLED) {
+                SortProbe.move((aHi - aLo) + (bHi - bLo));
+            }
+            int i = aLo, j = bLo, k = dstLo;
+            while (i < aHi && j < bHi) {
+                if (compare(src[j], src[i], c) < 0) {
+                    dst[k++] = src[j++];
+                } else {
+                    dst[k++] = src[i++];
+                }
+            }
+            if (i < aHi) {
+                System.arraycopy(src, i, dst, k, aHi - i);
+            } else if (j < bHi) {
+                System.arraycopy(src, j, dst, k, bHi - j);
+            }
+        }
+
+        /**
+         * first index in [lo, hi) whose element is not less than key.
+         */
+        private static <T> int lowerBound(T[] a, int lo, int hi, T key, Comparator<? super T> c) {
+            while (lo < hi) {
+                int m = (lo + hi) >>> 1;
+                if (compare(a[m], key, c) < 0) {
+                    lo = m + 1;
+                } else {
+                    hi = m;
+                }
+            }
+            return lo;
+        }
+
+        /**
+         * first index in [lo, hi) whose element is greater than key.
+         */
+        private static <T> int upperBound(T[] a, int lo, int hi, T key, Comparator<? super T> c) {
+            while (lo < hi) {
+                int m = (lo + hi) >>> 1;
+                if (compare(a[m], key, c) <= 0) {
+                    lo = m + 1;
+                } else {
+                    hi = m;
+                }
+            }
+            return lo;
+        }
+    }
+}
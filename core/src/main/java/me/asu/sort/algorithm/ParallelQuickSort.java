@@ -0,0 +1,328 @@
+package me.asu.sort.algorithm;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * In-place fork/join quick sort on top of {@link ImprovedQuickSort}.
+ * Each task partitions its range with ImprovedQuickSort's partition step,
+ * forks the smaller side while it is above the cutoff and keeps the larger
+ * side, ranges up to the cutoff are sorted sequentially. The primitive
+ * arrays are forked the same way, through the same partition step.
+ * <p>
+ * Object inputs at or above the sample sort threshold are first split into buckets
+ * by a multi-pivot sample sort: one parallel classification pass, then an
+ * in-place American flag permutation, then the buckets are sorted in
+ * parallel. The only n-sized scratch is one byte per element for the bucket
+ * ids.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class ParallelQuickSort extends AbstractSort {
+
+    public static final int DEFAULT_CUTOFF = 1 << 13;
+    public static final int DEFAULT_SAMPLE_SORT_THRESHOLD = 1 << 20;
+
+    private static final int OVERSAMPLING = 16;
+    private static final int MAX_BUCKETS = 256;
+
+    private final ForkJoinPool pool;
+    private final int cutoff;
+    private final int sampleSortThreshold;
+    private final ImprovedQuickSort sequential = new ImprovedQuickSort();
+
+    public ParallelQuickSort() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelQuickSort(ForkJoinPool pool) {
+        this(pool, DEFAULT_CUTOFF, DEFAULT_SAMPLE_SORT_THRESHOLD);
+    }
+
+    /**
+     * @param pool                the pool the tasks run in, caps the number of cores used
+     * @param cutoff              ranges up to this size are sorted sequentially
+     * @param sampleSortThreshold inputs at least this long go through the sample sort
+     *                            front end first, {@link Integer#MAX_VALUE} disables it
+     */
+    public ParallelQuickSort(ForkJoinPool pool, int cutoff, int sampleSortThreshold) {
+        if (pool == null) {
+            throw new NullPointerException("pool");
+        }
+        if (cutoff < 2) {
+            throw new IllegalArgumentException("cutoff < 2: " + cutoff);
+        }
+        this.pool = pool;
+        this.cutoff = cutoff;
+        this.sampleSortThreshold = sampleSortThreshold;
+    }
+
+    @Override
+    public String algorithm() {
+        return "parallel_quick";
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        rangeCheck(data.length, from, to);
+        int n = to - from;
+        if (n < 2) {
+            return;
+        }
+        if (n <= cutoff) {
+            sequentialSort(data, from, to, c);
+        } else if (n >= sampleSortThreshold && buckets() > 1) {
+            sampleSort(data, from, to, c);
+        } else {
+            if (SortProbe.ENABLED) {
+                SortProbe.handOff();
+            }
+            pool.invoke(new QuickSortTask<T>(this, data, ImprovedQuickSort.OBJECTS, from, to,
+                    ImprovedQuickSort.depthLimit(n), c));
+        }
+    }
+
+    public void sort(int[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        sort(data, ImprovedQuickSort.INTS, from, to);
+    }
+
+    public void sort(long[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        sort(data, ImprovedQuickSort.LONGS, from, to);
+    }
+
+    public void sort(float[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        sort(data, ImprovedQuickSort.FLOATS, from, to);
+    }
+
+    public void sort(double[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        sort(data, ImprovedQuickSort.DOUBLES, from, to);
+    }
+
+    private void sort(Object data, int kind, int from, int to) {
+        int n = to - from;
+        if (n <= cutoff) {
+            sequential.quickSort(data, kind, from, to, null);
+        } else {
+            if (SortProbe.ENABLED) {
+                SortProbe.handOff();
+            }
+            pool.invoke(new QuickSortTask<Object>(this, data, kind, from, to, ImprovedQuickSort.depthLimit(n), null));
+        }
+    }
+
+    private int buckets() {
+        return Math.min(MAX_BUCKETS, pool.getParallelism() * 4);
+    }
+
+    private <T> void sequentialSort(T[] data, int from, int to, Comparator<? super T> c) {
+        if (c == null) {
+            sequential.quickSort(data, from, to);
+        } else {
+            sequential.quickSort(data, from, to, c);
+        }
+    }
+
+    private static <T> int compare(T a, T b, Comparator<? super T> c) {
+        return c == null ? compareNatural(a, b) : c.compare(a, b);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void sampleSort(final T[] data, int from, int to, Comparator<? super T> c) {
+        final int n = to - from;
+        final int buckets = buckets();
+
+        // pick the splitters from a sorted random sample
+        T[] sample = (T[]) new Object[buckets * OVERSAMPLING];
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = data[from + rnd.nextInt(n)];
+        }
+        sequentialSort(sample, 0, sample.length, c);
+        T[] splitters = (T[]) new Object[buckets - 1];
+        for (int i = 0; i < splitters.length; i++) {
+            splitters[i] = sample[(i + 1) * OVERSAMPLING];
+        }
+
+        // classify every element in one parallel pass
+        byte[] ids = new byte[n];
+        int chunks = Math.min(n / cutoff + 1, pool.getParallelism() * 4);
+        int[][] counts = new int[chunks][buckets];
+        if (SortProbe.ENABLED) {
+            SortProbe.handOff();
+        }
+        pool.invoke(new ClassifyTask<T>(data, from, ids, splitters, counts, n, 0, chunks, c));
+
+        int[] start = new int[buckets + 1];
+        for (int b = 0; b < buckets; b++) {
+            int sum = 0;
+            for (int k = 0; k < chunks; k++) {
+                sum += counts[k][b];
+            }
+            start[b + 1] = start[b] + sum;
+        }
+
+        // move every element into its bucket in place, ids[i] is the id of data[from + i]
+        int[] next = new int[buckets];
+        System.arraycopy(start, 0, next, 0, buckets);
+        for (int b = 0; b < buckets; b++) {
+            for (int i = next[b]; i < start[b + 1]; i = next[b]) {
+                int id = ids[i] & 0xff;
+                if (id == b) {
+                    next[b]++;
+                } else {
+                    int dst = next[id]++;
+                    swap(data, from + i, from + dst);
+                    ids[i] = ids[dst];
+                    ids[dst] = (byte) id;
+                }
+            }
+        }
+
+        final List<QuickSortTask<T>> tasks = new ArrayList<QuickSortTask<T>>(buckets);
+        for (int b = 0; b < buckets; b++) {
+            if (start[b + 1] - start[b] > 1) {
+                tasks.add(new QuickSortTask<T>(this, data, ImprovedQuickSort.OBJECTS, from + start[b],
+                        from + start[b + 1], ImprovedQuickSort.depthLimit(start[b + 1] - start[b]), c));
+            }
+        }
+        pool.invoke(new RecursiveAction() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected void compute() {
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    /**
+     * Sorts data[from, to) of an array of the given {@link ImprovedQuickSort}
+     * kind, data is a T[] for objects.
+     */
+    private static final class QuickSortTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ParallelQuickSort owner;
+        private final Object data;
+        private final int kind;
+        private final int from;
+        private final int to;
+        private final int depth;
+        private final Comparator<? super T> c;
+
+        QuickSortTask(ParallelQuickSort owner, Object data, int kind, int from, int to, int depth,
+                      Comparator<? super T> c) {
+            this.owner = owner;
+            this.data = data;
+            this.kind = kind;
+            this.from = from;
+            this.to = to;
+            this.depth = depth;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            int lo = from;
+            int hi = to;
+            int d = depth;
+            List<QuickSortTask<T>> forked = null;
+            // past the depth limit the sequential introsort takes over
+            while (hi - lo > owner.cutoff && d > 0) {
+                int p = owner.sequential.partition(data, kind, lo, hi - 1, c);
+                d--;
+                QuickSortTask<T> t;
+                if (p - lo < hi - p - 1) {
+                    t = new QuickSortTask<T>(owner, data, kind, lo, p, d, c);
+                    lo = p + 1;
+                } else {
+                    t = new QuickSortTask<T>(owner, data, kind, p + 1, hi, d, c);
+                    hi = p;
+                }
+                t.fork();
+                if (forked == null) {
+                    forked = new ArrayList<QuickSortTask<T>>();
+                }
+                forked.add(t);
+            }
+            owner.sequential.quickSort(data, kind, lo, hi, c);
+            if (forked != null) {
+                for (int i = forked.size() - 1; i >= 0; i--) {
+                    forked.get(i).join();
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the bucket id of every element of its chunks into ids and counts
+     * the bucket sizes per chunk; the chunks split data[from, from + n).
+     */
+    private static final class ClassifyTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final T[] data;
+        private final int from;
+        private final byte[] ids;
+        private final T[] splitters;
+        private final int[][] counts;
+        private final int n;
+        private final int lo;
+        private final int hi;
+        private final Comparator<? super T> c;
+
+        ClassifyTask(T[] data, int from, byte[] ids, T[] splitters, int[][] counts, int n,
+                     int lo, int hi, Comparator<? super T> c) {
+            this.data = data;
+            this.from = from;
+            this.ids = ids;
+            this.splitters = splitters;
+            this.counts = counts;
+            this.n = n;
+            this.lo = lo;
+            this.hi = hi;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > 1) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new ClassifyTask<T>(data, from, ids, splitters, counts, n, lo, mid, c),
+                        new ClassifyTask<T>(data, from, ids, splitters, counts, n, mid, hi, c));
+                return;
+            }
+            int chunks = counts.length;
+            int begin = (int) ((long) n * lo / chunks);
+            int end = (int) ((long) n * hi / chunks);
+            int[] count = counts[lo];
+            for (int i = begin; i < end; i++) {
+                // number of splitters not greater than data[i]
+                T v = data[from + i];
+                int l = 0;
+                int r = splitters.length;
+                while (l < r) {
+                    int m = (l + r) >>> 1;
+                    if (compare(splitters[m], v, c) <= 0) {
+                        l = m + 1;
+                    } else {
+                        r = m;
+                    }
+                }
+                ids[i] = (byte) l;
+                count[l]++;
+            }
+        }
+    }
+}
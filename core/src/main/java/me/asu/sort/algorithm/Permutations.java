@@ -0,0 +1,318 @@
+package me.asu.sort.algorithm;
+
+import java.lang.reflect.Array;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * Applies a permutation, typically from {@link ArgSort}, to arrays in place.
+ * order[i] names the old index of the element that goes to index i, so after
+ * apply, data[i] is the old data[order[i]]. One order can rearrange any
+ * number of parallel columns, e.g. ids[], scores[] and names[] sorted by
+ * score, without zipping them into wrapper objects.
+ * <p>
+ * The cycles of order are followed with one saved element per cycle; the
+ * visited entries are marked by complementing them in order itself and
+ * restored at the end, so no extra space is needed. order is checked to be
+ * a permutation first, a bad one fails before anything moves.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class Permutations {
+
+    /**
+     * Exchanges two positions of some indexed structure.
+     */
+    public interface Swapper {
+        void swap(int i, int j);
+    }
+
+    /**
+     * Applies order to every array, which may be Object[] or any primitive
+     * array, all of order.length elements.
+     */
+    public static void applyAll(int[] order, Object... arrays) {
+        for (Object a : arrays) {
+            if (a == null) {
+                throw new NullPointerException("array");
+            }
+            if (!a.getClass().isArray()) {
+                throw new IllegalArgumentException("not an array: " + a.getClass().getName());
+            }
+            if (Array.getLength(a) != order.length) {
+                throw new IllegalArgumentException("length " + Array.getLength(a) + " != " + order.length);
+            }
+        }
+        for (Object a : arrays) {
+            if (a instanceof Object[]) {
+                apply(order, (Object[]) a);
+            } else if (a instanceof int[]) {
+                apply(order, (int[]) a);
+            } else if (a instanceof long[]) {
+                apply(order, (long[]) a);
+            } else if (a instanceof double[]) {
+                apply(order, (double[]) a);
+            } else if (a instanceof float[]) {
+                apply(order, (float[]) a);
+            } else if (a instanceof short[]) {
+                final short[] s = (short[]) a;
+                apply(order, (i, j) -> {
+                    short t = s[i];
+                    s[i] = s[j];
+                    s[j] = t;
+                });
+            } else if (a instanceof byte[]) {
+                final byte[] b = (byte[]) a;
+                apply(order, (i, j) -> {
+                    byte t = b[i];
+                    b[i] = b[j];
+                    b[j] = t;
+                });
+            } else if (a instanceof char[]) {
+                final char[] ch = (char[]) a;
+                apply(order, (i, j) -> {
+                    char t = ch[i];
+                    ch[i] = ch[j];
+                    ch[j] = t;
+                });
+            } else {
+                final boolean[] z = (boolean[]) a;
+                apply(order, (i, j) -> {
+                    boolean t = z[i];
+                    z[i] = z[j];
+                    z[j] = t;
+                });
+            }
+        }
+    }
+
+    /**
+     * Rearranges data so that data[i] becomes the old data[order[i]].
+     */
+    public static <T> void apply(int[] order, T[] data) {
+        check(order, data.length);
+        permute(order, data, 0);
+    }
+
+    /**
+     * Rearranges the range data[from, from + order.length) so that
+     * data[from + i] becomes the old data[from + order[i]].
+     */
+    public static <T> void apply(int[] order, T[] data, int from) {
+        if (from < 0 || from > data.length - order.length) {
+            throw new ArrayIndexOutOfBoundsException(from);
+        }
+        check(order, order.length);
+        permute(order, data, from);
+    }
+
+    private static <T> void permute(int[] order, T[] data, int from) {
+        for (int start = 0; start < order.length; start++) {
+            if (order[start] < 0) {
+                continue;
+            }
+            T v = data[from + start];
+            int i = start;
+            while (true) {
+                // one element written per step
+                if (SortProbe.ENABLED) {
+                    SortProbe.move();
+                }
+                int j = next(order, i);
+                if (j == start) {
+                    data[from + i] = v;
+                    break;
+                }
+                data[from + i] = data[from + j];
+                i = j;
+            }
+        }
+        unmark(order);
+    }
+
+    /**
+     * Rearranges data so that data[i] becomes the old data[order[i]].
+     */
+    public static void apply(int[] order, int[] data) {
+        check(order, data.length);
+        for (int start = 0; start < order.length; start++) {
+            if (order[start] < 0) {
+                continue;
+            }
+            int v = data[start];
+            int i = start;
+            while (true) {
+                int from = next(order, i);
+                if (from == start) {
+                    data[i] = v;
+                    break;
+                }
+                data[i] = data[from];
+                i = from;
+            }
+        }
+        unmark(order);
+    }
+
+    /**
+     * Rearranges data so that data[i] becomes the old data[order[i]].
+     */
+    public static void apply(int[] order, long[] data) {
+        check(order, data.length);
+        for (int start = 0; start < order.length; start++) {
+            if (order[start] < 0) {
+                continue;
+            }
+            long v = data[start];
+            int i = start;
+            while (true) {
+                int from = next(order, i);
+                if (from == start) {
+                    data[i] = v;
+                    break;
+                }
+                data[i] = data[from];
+                i = from;
+            }
+        }
+        unmark(order);
+    }
+
+    /**
+     * Rearranges data so that data[i] becomes the old data[order[i]].
+     */
+    public static void apply(int[] order, double[] data) {
+        check(order, data.length);
+        for (int start = 0; start < order.length; start++) {
+            if (order[start] < 0) {
+                continue;
+            }
+            double v = data[start];
+            int i = start;
+            while (true) {
+                int from = next(order, i);
+                if (from == start) {
+                    data[i] = v;
+                    break;
+                }
+                data[i] = data[from];
+                i = from;
+            }
+        }
+        unmark(order);
+    }
+
+    /**
+     * Rearranges data so that data[i] becomes the old data[order[i]].
+     */
+    public static void apply(int[] order, float[] data) {
+        check(order, data.length);
+        for (int start = 0; start < order.length; start++) {
+            if (order[start] < 0) {
+                continue;
+            }
+            float v = data[start];
+            int i = start;
+            while (true) {
+                int from = next(order, i);
+                if (from == start) {
+                    data[i] = v;
+                    break;
+                }
+                data[i] = data[from];
+                i = from;
+            }
+        }
+        unmark(order);
+    }
+
+    /**
+     * Applies order to a structure of order.length positions through its
+     * swap, one swap per moved element.
+     */
+    public static void apply(int[] order, Swapper swapper) {
+        check(order, order.length);
+        for (int start = 0; start < order.length; start++) {
+            if (order[start] < 0) {
+                continue;
+            }
+            int i = start;
+            int from;
+            while ((from = next(order, i)) != start) {
+                swapper.swap(i, from);
+                i = from;
+            }
+        }
+        unmark(order);
+    }
+
+    /**
+     * The inverse permutation: inverse[order[i]] == i, i.e. the new index of
+     * each old element.
+     */
+    public static int[] inverse(int[] order) {
+        check(order, order.length);
+        int[] inverse = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            inverse[order[i]] = i;
+        }
+        return inverse;
+    }
+
+    /**
+     * The identity permutation of n elements.
+     */
+    public static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    /**
+     * Checks that order is a permutation of [0, length).
+     */
+    private static void check(int[] order, int length) {
+        if (order.length != length) {
+            throw new IllegalArgumentException("length " + length + " != " + order.length);
+        }
+        int n = order.length;
+        for (int i = 0; i < n; i++) {
+            if (order[i] < 0 || order[i] >= n) {
+                throw new IllegalArgumentException("not a permutation: " + order[i] + " at " + i);
+            }
+        }
+        // all in range, so a negative entry is one marked below
+        try {
+            for (int i = 0; i < n; i++) {
+                int j = order[i] < 0 ? ~order[i] : order[i];
+                if (order[j] < 0) {
+                    throw new IllegalArgumentException("not a permutation: " + j + " repeats");
+                }
+                order[j] = ~order[j];
+            }
+        } finally {
+            for (int i = 0; i < n; i++) {
+                if (order[i] < 0) {
+                    order[i] = ~order[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads order[i] and marks it visited.
+     */
+    private static int next(int[] order, int i) {
+        int from = order[i];
+        order[i] = ~from;
+        return from;
+    }
+
+    private static void unmark(int[] order) {
+        for (int i = 0; i < order.length; i++) {
+            order[i] = ~order[i];
+        }
+    }
+}
@@ -8,18 +8,22 @@ import java.util.Comparator;
    * @since 2004-10-21
    */
   public class QuickSort extends AbstractSort {
-    public <T> void sort(T[] data) {
-      quickSort(data, 0, data.length - 1);
-    }
-
     @Override
     public String algorithm() {
         return "quick";
     }
 
     @Override
-    public <T> void sort(T[] data, Comparator<? super T> c) {
-      quickSort(data, 0, data.length - 1, c);
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+      rangeCheck(data.length, from, to);
+      if (to - from < 2) {
+          return;
+      }
+      if (c == null) {
+          quickSort(data, from, to - 1);
+      } else {
+          quickSort(data, from, to - 1, c);
+      }
     }
 
     private <T> void quickSort(T[] data, int i, int j) {
@@ -45,13 +49,13 @@ import java.util.Comparator;
      * @param pivot
      * @return int
      */
-    @SuppressWarnings("unchecked")
     private <T> int partition(T[] data, int l, int r, T pivot) {
+      int lo = l + 1;
       do {
-          while (((Comparable) data[++l]).compareTo(pivot) < 0) {
+          while (compareNatural(data[++l], pivot) < 0) {
               ;
           }
-          while ((r != 0) && (((Comparable) data[--r]).compareTo(pivot) > 0)) {
+          while ((r > lo) && (compareNatural(data[--r], pivot) > 0)) {
               ;
           }
         swap(data, l, r);
@@ -69,10 +73,10 @@ import java.util.Comparator;
       int k = partition(data, i - 1, j, data[j], c);
       swap(data, k, j);
         if ((k - i) > 1) {
-            quickSort(data, i, k - 1);
+            quickSort(data, i, k - 1, c);
         }
         if ((j - k) > 1) {
-            quickSort(data, k + 1, j);
+            quickSort(data, k + 1, j, c);
         }
 
     }
@@ -86,11 +90,12 @@ import java.util.Comparator;
      */
     private <T> int partition(T[] data, int l, int r, T pivot,
                               Comparator<? super T> c) {
+      int lo = l + 1;
       do {
           while (c.compare(data[++l], pivot) < 0) {
               ;
           }
-          while ((r != 0) && (c.compare(data[--r], pivot) > 0)) {
+          while ((r > lo) && (c.compare(data[--r], pivot) > 0)) {
               ;
           }
         swap(data, l, r);
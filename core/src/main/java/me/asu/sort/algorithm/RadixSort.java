@@ -0,0 +1,579 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * Radix sorts, no comparisons at all.
+ * <ul>
+ * <li>int[] / long[]: LSD with 11-bit digits, the sign bit is flipped so
+ * negative keys come first, and a digit that is the same for the whole input
+ * costs no scatter pass.</li>
+ * <li>String[] / byte[][]: in-place MSD (American flag) sort on bytes,
+ * Strings are ordered as {@link String#compareTo}, byte arrays as unsigned
+ * lexicographic. In place means not stable: equal Strings or byte arrays
+ * that are distinct objects may swap.</li>
+ * <li>object arrays by an extracted int or long key: stable LSD, each key is
+ * extracted once.</li>
+ * </ul>
+ * sort(T[]) radix sorts Integer, Long, Short, Byte, Character, String and
+ * byte[] elements and falls back to {@link TimSort} for anything else and
+ * for explicit comparators. All of that is stable but the String and byte[]
+ * paths, so {@link #isStable()} is false and a stable request in
+ * {@link Sorts#get(String, boolean)} does not get "radix".
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class RadixSort extends AbstractSort {
+
+    private static final int BITS = 11;
+    private static final int RADIX = 1 << BITS;
+    private static final int MASK = RADIX - 1;
+    private static final int INT_PASSES = 3;
+    private static final int LONG_PASSES = 6;
+
+    /**
+     * Below this LSD does not pay for its counting arrays.
+     */
+    private static final int LSD_THRESHOLD = 256;
+
+    /**
+     * MSD groups below this are finished by insertion sort.
+     */
+    private static final int MSD_THRESHOLD = 32;
+    private static final int MSD_BUCKETS = 257;
+
+    private static final ImprovedQuickSort QUICK_SORT = new ImprovedQuickSort();
+    private static final TimSort TIM_SORT = new TimSort();
+
+    @Override
+    public String algorithm() {
+        return "radix";
+    }
+
+    /**
+     * A comparator can not be radix sorted, with one this is {@link TimSort}.
+     */
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        rangeCheck(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        Object first = data[from];
+        if (c != null) {
+            TIM_SORT.sort(data, from, to, c);
+        } else if (first instanceof String && allOf(data, from, to, String.class)) {
+            msdStrings(data, from, to, 0);
+        } else if (first instanceof byte[] && allOf(data, from, to, byte[].class)) {
+            msdBytes(data, from, to, 0);
+        } else if ((first instanceof Integer || first instanceof Long || first instanceof Short
+                || first instanceof Byte || first instanceof Character) && allOf(data, from, to, first.getClass())) {
+            long[] keys = new long[to - from];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = integralValue(data[from + i]) ^ Long.MIN_VALUE;
+            }
+            lsd(keys, data, from);
+        } else {
+            TIM_SORT.sort(data, from, to);
+        }
+    }
+
+    public void sort(String[] data) {
+        if (data == null || data.length < 2) {
+            return;
+        }
+        msdStrings(data, 0, data.length, 0);
+    }
+
+    /**
+     * Sorts the byte arrays in unsigned lexicographic order.
+     */
+    public void sort(byte[][] data) {
+        if (data == null || data.length < 2) {
+            return;
+        }
+        msdBytes(data, 0, data.length, 0);
+    }
+
+    /**
+     * Stable sort by an int key, the key function is called once per element.
+     */
+    public <T> void sortByIntKey(T[] data, ToIntFunction<? super T> key) {
+        if (data == null || data.length < 2) {
+            return;
+        }
+        long[] keys = new long[data.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key.applyAsInt(data[i]) ^ Long.MIN_VALUE;
+        }
+        lsd(keys, data, 0);
+    }
+
+    /**
+     * Stable sort by a long key, the key function is called once per element.
+     */
+    public <T> void sortByLongKey(T[] data, ToLongFunction<? super T> key) {
+        if (data == null || data.length < 2) {
+            return;
+        }
+        long[] keys = new long[data.length];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key.applyAsLong(data[i]) ^ Long.MIN_VALUE;
+        }
+        lsd(keys, data, 0);
+    }
+
+    public void sort(int[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        int n = to - from;
+        if (n < LSD_THRESHOLD) {
+            QUICK_SORT.sort(data, from, to);
+            return;
+        }
+        int[] count = new int[INT_PASSES * RADIX];
+        for (int i = from; i < to; i++) {
+            int k = data[i] ^ Integer.MIN_VALUE;
+            count[k & MASK]++;
+            count[RADIX + ((k >>> BITS) & MASK)]++;
+            count[2 * RADIX + (k >>> (2 * BITS))]++;
+        }
+
+        int[] buf = new int[n];
+        int[] src = data;
+        int srcOff = from;
+        int[] dst = buf;
+        int dstOff = 0;
+        for (int p = 0; p < INT_PASSES; p++) {
+            int base = p * RADIX;
+            int shift = p * BITS;
+            if (count[base + (((src[srcOff] ^ Integer.MIN_VALUE) >>> shift) & MASK)] == n) {
+                // every key has the same digit here
+                continue;
+            }
+            toOffsets(count, base, dstOff);
+            for (int i = srcOff, end = srcOff + n; i < end; i++) {
+                int v = src[i];
+                dst[count[base + (((v ^ Integer.MIN_VALUE) >>> shift) & MASK)]++] = v;
+            }
+            if (SortProbe.ENABLED) {
+                SortProbe.move(n);
+            }
+            int[] t = src;
+            src = dst;
+            dst = t;
+            int o = srcOff;
+            srcOff = dstOff;
+            dstOff = o;
+        }
+        if (src != data) {
+            System.arraycopy(src, srcOff, data, from, n);
+            if (SortProbe.ENABLED) {
+                SortProbe.move(n);
+            }
+        }
+    }
+
+    public void sort(long[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        int n = to - from;
+        if (n < LSD_THRESHOLD) {
+            QUICK_SORT.sort(data, from, to);
+            return;
+        }
+        int[] count = histogram(data, from, to);
+
+        long[] buf = new long[n];
+        long[] src = data;
+        int srcOff = from;
+        long[] dst = buf;
+        int dstOff = 0;
+        for (int p = 0; p < LONG_PASSES; p++) {
+            int base = p * RADIX;
+            int shift = p * BITS;
+            if (count[base + (int) (((src[srcOff] ^ Long.MIN_VALUE) >>> shift) & MASK)] == n) {
+                continue;
+            }
+            toOffsets(count, base, dstOff);
+            for (int i = srcOff, end = srcOff + n; i < end; i++) {
+                long v = src[i];
+                dst[count[base + (int) (((v ^ Long.MIN_VALUE) >>> shift) & MASK)]++] = v;
+            }
+            if (SortProbe.ENABLED) {
+                SortProbe.move(n);
+            }
+            long[] t = src;
+            src = dst;
+            dst = t;
+            int o = srcOff;
+            srcOff = dstOff;
+            dstOff = o;
+        }
+        if (src != data) {
+            System.arraycopy(src, srcOff, data, from, n);
+            if (SortProbe.ENABLED) {
+                SortProbe.move(n);
+            }
+        }
+    }
+
+    /**
+     * Float ranges are sorted by {@link ImprovedQuickSort}.
+     */
+    public void sort(float[] data, int from, int to) {
+        QUICK_SORT.sort(data, from, to);
+    }
+
+    public void sort(double[] data, int from, int to) {
+        QUICK_SORT.sort(data, from, to);
+    }
+
+    /**
+     * Stable LSD of data[from, from + keys.length) by keys, the keys are
+     * already in unsigned order.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> void lsd(long[] keys, T[] data, int from) {
+        int n = keys.length;
+        if (n < LSD_THRESHOLD) {
+            insertSort(keys, data, from);
+            return;
+        }
+        int[] count = new int[LONG_PASSES * RADIX];
+        for (int i = 0; i < n; i++) {
+            long k = keys[i];
+            for (int p = 0; p < LONG_PASSES; p++) {
+                count[p * RADIX + (int) ((k >>> (p * BITS)) & MASK)]++;
+            }
+        }
+
+        long[] ks = keys;
+        long[] kd = new long[n];
+        Object[] vs = data;
+        Object[] vd = new Object[n];
+        int vsOff = from;
+        int vdOff = 0;
+        for (int p = 0; p < LONG_PASSES; p++) {
+            int base = p * RADIX;
+            int shift = p * BITS;
+            if (count[base + (int) ((ks[0] >>> shift) & MASK)] == n) {
+                continue;
+            }
+            toOffsets(count, base, 0);
+            for (int i = 0; i < n; i++) {
+                long k = ks[i];
+                int pos = count[base + (int) ((k >>> shift) & MASK)]++;
+                kd[pos] = k;
+                vd[vdOff + pos] = vs[vsOff + i];
+            }
+            if (SortProbe.ENABLED) {
+                SortProbe.move(n);
+            }
+            long[] kt = ks;
+            ks = kd;
+            kd = kt;
+            Object[] vt = vs;
+            vs = vd;
+            vd = vt;
+            int ot = vsOff;
+            vsOff = vdOff;
+            vdOff = ot;
+        }
+        if (vs != data) {
+            System.arraycopy(vs, 0, data, from, n);
+            if (SortProbe.ENABLED) {
+                SortProbe.move(n);
+            }
+        }
+    }
+
+    /**
+     * Stable LSD of (keys, index) pairs, the keys are already in unsigned
+     * order. Both arrays end up sorted, index says where each key came from.
+     */
+    static void lsd(long[] keys, int[] index) {
+        int n = keys.length;
+        if (n < LSD_THRESHOLD) {
+            insertSort(keys, index);
+            return;
+        }
+        int[] count = new int[LONG_PASSES * RADIX];
+        for (int i = 0; i < n; i++) {
+            long k = keys[i];
+            for (int p = 0; p < LONG_PASSES; p++) {
+                count[p * RADIX + (int) ((k >>> (p * BITS)) & MASK)]++;
+            }
+        }
+
+        long[] ks = keys;
+        long[] kd = new long[n];
+        int[] is = index;
+        int[] id = new int[n];
+        for (int p = 0; p < LONG_PASSES; p++) {
+            int base = p * RADIX;
+            int shift = p * BITS;
+            if (count[base + (int) ((ks[0] >>> shift) & MASK)] == n) {
+                continue;
+            }
+            toOffsets(count, base, 0);
+            for (int i = 0; i < n; i++) {
+                long k = ks[i];
+                int pos = count[base + (int) ((k >>> shift) & MASK)]++;
+                kd[pos] = k;
+                id[pos] = is[i];
+            }
+            long[] kt = ks;
+            ks = kd;
+            kd = kt;
+            int[] it = is;
+            is = id;
+            id = it;
+        }
+        if (ks != keys) {
+            System.arraycopy(ks, 0, keys, 0, n);
+            System.arraycopy(is, 0, index, 0, n);
+        }
+    }
+
+    private static void insertSort(long[] keys, int[] index) {
+        for (int i = 1; i < keys.length; i++) {
+            long k = keys[i];
+            int v = index[i];
+            int j = i - 1;
+            for (; j >= 0 && Long.compareUnsigned(keys[j], k) > 0; j--) {
+                keys[j + 1] = keys[j];
+                index[j + 1] = index[j];
+            }
+            keys[j + 1] = k;
+            index[j + 1] = v;
+        }
+    }
+
+    /**
+     * Stable insertion sort of (keys[i], data[from + i]) pairs, keys in
+     * unsigned order.
+     */
+    private static <T> void insertSort(long[] keys, T[] data, int from) {
+        for (int i = 1; i < keys.length; i++) {
+            long k = keys[i];
+            T v = data[from + i];
+            int j = i - 1;
+            for (; j >= 0 && compareKeys(keys[j], k) > 0; j--) {
+                keys[j + 1] = keys[j];
+                data[from + j + 1] = data[from + j];
+            }
+            keys[j + 1] = k;
+            data[from + j + 1] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move(i - j);
+            }
+        }
+    }
+
+    private static int[] histogram(long[] data, int from, int to) {
+        int[] count = new int[LONG_PASSES * RADIX];
+        for (int i = from; i < to; i++) {
+            long k = data[i] ^ Long.MIN_VALUE;
+            for (int p = 0; p < LONG_PASSES; p++) {
+                count[p * RADIX + (int) ((k >>> (p * BITS)) & MASK)]++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Turns the counts of one pass into the first output index of each bucket.
+     */
+    private static void toOffsets(int[] count, int base, int offset) {
+        int sum = offset;
+        for (int b = base, end = base + RADIX; b < end; b++) {
+            int c = count[b];
+            count[b] = sum;
+            sum += c;
+        }
+    }
+
+    static <T> boolean allOf(T[] data, Class<?> type) {
+        return allOf(data, 0, data.length, type);
+    }
+
+    static <T> boolean allOf(T[] data, int from, int to, Class<?> type) {
+        for (int i = from; i < to; i++) {
+            if (data[i] == null || data[i].getClass() != type) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long integralValue(Object o) {
+        if (o instanceof Character) {
+            return (Character) o;
+        }
+        return ((Number) o).longValue();
+    }
+
+    /**
+     * Byte d of a String: the high byte of char d / 2 for even d, the low byte
+     * for odd d, plus one; 0 once the String has ended.
+     */
+    private static int digit(String s, int d) {
+        int i = d >> 1;
+        if (i >= s.length()) {
+            return 0;
+        }
+        char ch = s.charAt(i);
+        return ((d & 1) == 0 ? (ch >>> 8) : (ch & 0xff)) + 1;
+    }
+
+    private static int digit(byte[] s, int d) {
+        return d < s.length ? (s[d] & 0xff) + 1 : 0;
+    }
+
+    /**
+     * American flag sort of data[lo, hi), all elements share their first d bytes.
+     */
+    private static void msdStrings(Object[] data, int lo, int hi, int d) {
+        while (hi - lo >= MSD_THRESHOLD) {
+            int[] count = new int[MSD_BUCKETS];
+            for (int i = lo; i < hi; i++) {
+                count[digit((String) data[i], d)]++;
+            }
+            int first = digit((String) data[lo], d);
+            if (count[first] == hi - lo) {
+                if (first == 0) {
+                    // all equal
+                    return;
+                }
+                d++;
+                continue;
+            }
+
+            int[] start = new int[MSD_BUCKETS + 1];
+            start[0] = lo;
+            for (int b = 0; b < MSD_BUCKETS; b++) {
+                start[b + 1] = start[b] + count[b];
+            }
+            int[] next = count;
+            System.arraycopy(start, 0, next, 0, MSD_BUCKETS);
+            for (int b = 0; b < MSD_BUCKETS; b++) {
+                while (next[b] < start[b + 1]) {
+                    int i = next[b];
+                    int db = digit((String) data[i], d);
+                    if (db == b) {
+                        next[b]++;
+                    } else {
+                        exch(data, i, next[db]++);
+                    }
+                }
+            }
+            // bucket 0 holds the strings that ended, they are all equal
+            for (int b = 1; b < MSD_BUCKETS; b++) {
+                if (start[b + 1] - start[b] > 1) {
+                    msdStrings(data, start[b], start[b + 1], d + 1);
+                }
+            }
+            return;
+        }
+        for (int i = lo + 1; i < hi; i++) {
+            for (int j = i; j > lo && compareNatural(data[j], data[j - 1]) < 0; j--) {
+                exch(data, j, j - 1);
+            }
+        }
+    }
+
+    private static void msdBytes(Object[] data, int lo, int hi, int d) {
+        while (hi - lo >= MSD_THRESHOLD) {
+            int[] count = new int[MSD_BUCKETS];
+            for (int i = lo; i < hi; i++) {
+                count[digit((byte[]) data[i], d)]++;
+            }
+            int first = digit((byte[]) data[lo], d);
+            if (count[first] == hi - lo) {
+                if (first == 0) {
+                    return;
+                }
+                d++;
+                continue;
+            }
+
+            int[] start = new int[MSD_BUCKETS + 1];
+            start[0] = lo;
+            for (int b = 0; b < MSD_BUCKETS; b++) {
+                start[b + 1] = start[b] + count[b];
+            }
+            int[] next = count;
+            System.arraycopy(start, 0, next, 0, MSD_BUCKETS);
+            for (int b = 0; b < MSD_BUCKETS; b++) {
+                while (next[b] < start[b + 1]) {
+                    int i = next[b];
+                    int db = digit((byte[]) data[i], d);
+                    if (db == b) {
+                        next[b]++;
+                    } else {
+                        exch(data, i, next[db]++);
+                    }
+                }
+            }
+            for (int b = 1; b < MSD_BUCKETS; b++) {
+                if (start[b + 1] - start[b] > 1) {
+                    msdBytes(data, start[b], start[b + 1], d + 1);
+                }
+            }
+            return;
+        }
+        for (int i = lo + 1; i < hi; i++) {
+            for (int j = i; j > lo && compareBytes((byte[]) data[j], (byte[]) data[j - 1], d) < 0; j--) {
+                exch(data, j, j - 1);
+            }
+        }
+    }
+
+    /**
+     * Keys of two elements in unsigned order, counted by
+     * {@link SortProbe#compare} when enabled.
+     */
+    private static int compareKeys(long a, long b) {
+        if (SortProbe.ENABLED) {
+            SortProbe.compare();
+        }
+        return Long.compareUnsigned(a, b);
+    }
+
+    /**
+     * {@link #compareUnsigned} of two elements, counted like
+     * {@link #compareKeys}.
+     */
+    private static int compareBytes(byte[] a, byte[] b, int d) {
+        if (SortProbe.ENABLED) {
+            SortProbe.compare();
+        }
+        return compareUnsigned(a, b, d);
+    }
+
+    /**
+     * Unsigned lexicographic compare, the first d bytes are known to be equal.
+     */
+    static int compareUnsigned(byte[] a, byte[] b, int d) {
+        int n = Math.min(a.length, b.length);
+        for (int i = d; i < n; i++) {
+            int x = a[i] & 0xff;
+            int y = b[i] & 0xff;
+            if (x != y) {
+                return x - y;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    private static void exch(Object[] data, int i, int j) {
+        if (SortProbe.ENABLED) {
+            SortProbe.move();
+        }
+        Object t = data[i];
+        data[i] = data[j];
+        data[j] = t;
+    }
+}
@@ -0,0 +1,41 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+
+/**
+ * @author Suk Honzeon
+ * @version 1.0
+ * @since 2004-10-21
+ */
+public class SelectionSort extends AbstractSort {
+
+    @Override
+    public String algorithm() {
+        return "selection";
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        rangeCheck(data.length, from, to);
+        if (c == null) {
+            for (int i = from; i < to; i++) {
+                int lowIndex = i;
+                for (int j = to - 1; j > i; j--) {
+                    if (compareNatural(data[j], data[lowIndex]) < 0) {
+                        lowIndex = j;
+                    }
+                }
+                swap(data, i, lowIndex);
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            int lowIndex = i;
+            for (int j = to - 1; j > i; j--) {
+                if (c.compare(data[j], data[lowIndex]) < 0) {
+                    lowIndex = j;
+                }
+            }
+            swap(data, i, lowIndex);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,162 @@
+package me.asu.sort.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Order statistics without sorting everything: k-th element selection,
+ * partial sort and streaming top-K. A null comparator means natural order.
+ * <p>
+ * Selection is introselect: quickselect with the {@link ImprovedQuickSort}
+ * partition, and once 2*log2(n) partitions did not finish the job, median of
+ * medians pivots, which keep it O(n) in the worst case. Top-K keeps a bounded
+ * max-heap of the k best elements seen, O(n log k) time and O(k) space.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class Selector {
+
+    private static final int THRESHOLD = 10;
+    private static final ImprovedQuickSort QUICK_SORT = new ImprovedQuickSort();
+    private static final HeapSort HEAP_SORT = new HeapSort();
+
+    /**
+     * Reorders data so that data[k] is the element that would be there if
+     * data were sorted, no element before it is greater and no element after
+     * it is smaller.
+     *
+     * @return data[k]
+     */
+    public static <T> T selectKth(T[] data, int k, Comparator<? super T> c) {
+        if (k < 0 || k >= data.length) {
+            throw new ArrayIndexOutOfBoundsException(k);
+        }
+        select(data, 0, data.length - 1, k, comparator(c));
+        return data[k];
+    }
+
+    /**
+     * Sorts the k smallest elements into data[0, k), the rest of data is left
+     * in no particular order. O(n + k log k).
+     */
+    public static <T> void partialSort(T[] data, int k, Comparator<? super T> c) {
+        int n = data.length;
+        k = Math.min(k, n);
+        if (k <= 0) {
+            return;
+        }
+        Comparator<? super T> cmp = comparator(c);
+        if (k < n) {
+            select(data, 0, n - 1, k - 1, cmp);
+        }
+        QUICK_SORT.quickSort(data, 0, k, cmp);
+    }
+
+    /**
+     * The k smallest elements of the iterator, sorted. Pass a reversed
+     * comparator for the k largest.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> topK(Iterator<? extends T> it, int k, Comparator<? super T> c) {
+        if (k <= 0) {
+            return new ArrayList<T>();
+        }
+        Comparator<? super T> cmp = comparator(c);
+        // max-heap of the best k so far, the root is the one to beat
+        T[] heap = (T[]) new Object[Math.min(k, 1024)];
+        int size = 0;
+        while (it.hasNext()) {
+            T v = it.next();
+            if (size < k) {
+                if (size == heap.length) {
+                    heap = Arrays.copyOf(heap, (int) Math.min(k, 2L * heap.length));
+                }
+                heap[size] = v;
+                fixUp(heap, size++, cmp);
+            } else if (cmp.compare(v, heap[0]) < 0) {
+                heap[0] = v;
+                HeapSort.fixDown(heap, 0, 0, size, cmp);
+            }
+        }
+        HEAP_SORT.heapSort(heap, 0, size, cmp);
+        return new ArrayList<T>(Arrays.asList(heap).subList(0, size));
+    }
+
+    /**
+     * Places the k-th element of data[lo, hi] at k.
+     */
+    static <T> void select(T[] data, int lo, int hi, int k, Comparator<? super T> c) {
+        int budget = ImprovedQuickSort.depthLimit(hi - lo + 1);
+        while (hi - lo > THRESHOLD) {
+            int p = budget-- > 0
+                    ? QUICK_SORT.partition(data, lo, hi, c)
+                    : QUICK_SORT.partition(data, lo, hi, medianOfMedians(data, lo, hi, c), c);
+            if (k == p) {
+                return;
+            }
+            if (k < p) {
+                hi = p - 1;
+            } else {
+                lo = p + 1;
+            }
+        }
+        insertSort(data, lo, hi, c);
+    }
+
+    /**
+     * Moves the medians of groups of 5 to the front of data[lo, hi] and
+     * selects their median, which has at least 3/10 of the range on either
+     * side.
+     *
+     * @return the index of the median of medians
+     */
+    private static <T> int medianOfMedians(T[] data, int lo, int hi, Comparator<? super T> c) {
+        int m = lo;
+        for (int i = lo; i <= hi; i += 5) {
+            int end = Math.min(i + 4, hi);
+            insertSort(data, i, end, c);
+            swap(data, m++, (i + end) >>> 1);
+        }
+        int mid = (lo + m - 1) >>> 1;
+        select(data, lo, m - 1, mid, c);
+        return mid;
+    }
+
+    private static <T> void fixUp(T[] heap, int k, Comparator<? super T> c) {
+        T v = heap[k];
+        while (k > 0) {
+            int j = (k - 1) >>> 1;
+            if (c.compare(v, heap[j]) <= 0) {
+                break;
+            }
+            heap[k] = heap[j];
+            k = j;
+        }
+        heap[k] = v;
+    }
+
+    private static <T> void insertSort(T[] data, int lo, int hi, Comparator<? super T> c) {
+        for (int i = lo + 1; i <= hi; i++) {
+            T v = data[i];
+            int j = i - 1;
+            for (; (j >= lo) && (c.compare(data[j], v) > 0); j--) {
+                data[j + 1] = data[j];
+            }
+            data[j + 1] = v;
+        }
+    }
+
+    private static <T> void swap(T[] data, int i, int j) {
+        T temp = data[i];
+        data[i] = data[j];
+        data[j] = temp;
+    }
+
+    private static <T> Comparator<? super T> comparator(Comparator<? super T> c) {
+        return c == null ? AbstractSort.<T>naturalOrder() : c;
+    }
+}
@@ -0,0 +1,148 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * @author Suk Honzeon
+ * @version 1.0
+ * @since 2004-10-21
+ */
+public class ShellSort extends AbstractSort {
+
+    @Override
+    public String algorithm() {
+        return "shell";
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        rangeCheck(data.length, from, to);
+        for (int i = (to - from) / 2; i > 2; i /= 2) {
+            for (int j = 0; j < i; j++) {
+                insertSort(data, from + j, to, i, c);
+            }
+        }
+        insertSort(data, from, to, 1, c);
+    }
+
+    public void sort(int[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        for (int i = (to - from) / 2; i > 2; i /= 2) {
+            for (int j = 0; j < i; j++) {
+                insertSort(data, from + j, to, i);
+            }
+        }
+        insertSort(data, from, to, 1);
+    }
+
+    public void sort(long[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        for (int i = (to - from) / 2; i > 2; i /= 2) {
+            for (int j = 0; j < i; j++) {
+                insertSort(data, from + j, to, i);
+            }
+        }
+        insertSort(data, from, to, 1);
+    }
+
+    public void sort(float[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        for (int i = (to - from) / 2; i > 2; i /= 2) {
+            for (int j = 0; j < i; j++) {
+                insertSort(data, from + j, to, i);
+            }
+        }
+        insertSort(data, from, to, 1);
+    }
+
+    public void sort(double[] data, int from, int to) {
+        rangeCheck(data.length, from, to);
+        for (int i = (to - from) / 2; i > 2; i /= 2) {
+            for (int j = 0; j < i; j++) {
+                insertSort(data, from + j, to, i);
+            }
+        }
+        insertSort(data, from, to, 1);
+    }
+
+    /**
+     * @param data
+     * @param start
+     * @param to
+     * @param inc
+     * @param c     null for natural order
+     */
+    private <T> void insertSort(T[] data, int start, int to, int inc, Comparator<? super T> c) {
+        if (c == null) {
+            for (int i = start + inc; i < to; i += inc) {
+                for (int j = i; (j - inc >= start) && (compareNatural(data[j], data[j - inc]) < 0);
+                        j -= inc) {
+                    swap(data, j, j - inc);
+                }
+            }
+            return;
+        }
+        for (int i = start + inc; i < to; i += inc) {
+            for (int j = i; (j - inc >= start) && (c.compare(data[j], data[j - inc]) < 0); j -= inc) {
+                swap(data, j, j - inc);
+            }
+        }
+    }
+
+    private static void insertSort(int[] data, int start, int to, int inc) {
+        for (int i = start + inc; i < to; i += inc) {
+            int v = data[i];
+            int j = i - inc;
+            for (; (j >= start) && (data[j] > v); j -= inc) {
+                data[j + inc] = data[j];
+            }
+            data[j + inc] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move((i - j) / inc);
+            }
+        }
+    }
+
+    private static void insertSort(long[] data, int start, int to, int inc) {
+        for (int i = start + inc; i < to; i += inc) {
+            long v = data[i];
+            int j = i - inc;
+            for (; (j >= start) && (data[j] > v); j -= inc) {
+                data[j + inc] = data[j];
+            }
+            data[j + inc] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move((i - j) / inc);
+            }
+        }
+    }
+
+    private static void insertSort(float[] data, int start, int to, int inc) {
+        for (int i = start + inc; i < to; i += inc) {
+            float v = data[i];
+            int j = i - inc;
+            for (; (j >= start) && (Float.compare(data[j], v) > 0); j -= inc) {
+                data[j + inc] = data[j];
+            }
+            data[j + inc] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move((i - j) / inc);
+            }
+        }
+    }
+
+    private static void insertSort(double[] data, int start, int to, int inc) {
+        for (int i = start + inc; i < to; i += inc) {
+            double v = data[i];
+            int j = i - inc;
+            for (; (j >= start) && (Double.compare(data[j], v) > 0); j -= inc) {
+                data[j + inc] = data[j];
+            }
+            data[j + inc] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move((i - j) / inc);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,206 @@
+package me.asu.sort.algorithm;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
+import me.asu.sort.Sort;
+
+/**
+ * Registry of the sort algorithms by name.
+ * <p>
+ * The built-in algorithms are joined by the ones found by
+ * {@link ServiceLoader}: a jar lists its {@link Sort} implementations, each
+ * with a public no-argument constructor, in
+ * {@code META-INF/services/me.asu.sort.Sort}. A provider whose name is
+ * taken already is skipped. More can be added with {@link #register(Sort)}.
+ * <p>
+ * The registry is an immutable map behind an atomic reference: a lookup is
+ * one volatile read and a hash probe, with no lock, and a registration
+ * swaps in a new map by compare-and-set. Hot paths should still resolve a
+ * sort once, by {@link #require(String)} or through {@link Algorithm}, and
+ * keep the {@link Sort}.
+ * <p>
+ * "auto" is built on its first lookup, from the system properties of
+ * {@link AutoSort}: its calibration only delays the callers of "auto", and
+ * a profile that can not be read only fails them, with an
+ * IllegalStateException, while the other sorts stay available.
+ * <p>
+ * "MergeSort", the name {@link MergeSort} had before it became "merge",
+ * is still looked up as an alias of "merge"; {@link #names()} only lists
+ * "merge".
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class Sorts {
+
+    private static final String AUTO = "auto";
+    private static final Map<String, String> ALIASES = Collections.singletonMap("MergeSort", "merge");
+    private static final AtomicReference<Map<String, Sort>> ALGORITHMS = new AtomicReference<>();
+
+    static {
+        Sort[]   impl = new Sort[]{new InsertSort(), new BubbleSort(),
+                new SelectionSort(), new ShellSort(), new QuickSort(), new ImprovedQuickSort(),
+                new MergeSort(), new ImprovedMergeSort(), new HeapSort(),
+                new ParallelMergeSort(), new ParallelQuickSort(), new DualPivotQuickSort(),
+                new ThreeWayQuickSort(), new TimSort(), new RadixSort(), new StringSort(),
+                new BlockMergeSort()};
+        Map<String, Sort> algorithms = new HashMap<>();
+        for (int i = 0; i < impl.length; i++) {
+            algorithms.put(impl[i].algorithm(), impl[i]);
+        }
+        // providers that look up the built-in sorts see them already
+        ALGORITHMS.set(Collections.unmodifiableMap(new HashMap<>(algorithms)));
+        for (Sort sort : ServiceLoader.load(Sort.class, Sorts.class.getClassLoader())) {
+            if (!AUTO.equals(sort.algorithm()) && !ALIASES.containsKey(sort.algorithm())) {
+                algorithms.putIfAbsent(sort.algorithm(), sort);
+            }
+        }
+        ALGORITHMS.set(Collections.unmodifiableMap(algorithms));
+    }
+
+    /**
+     * The auto sort and its stable variant, made when "auto" is first
+     * looked up. A failure is kept and thrown again by every lookup.
+     */
+    private static final class AutoHolder {
+
+        static final AutoSort AUTO_SORT;
+        static final Sort STABLE_AUTO;
+        static final RuntimeException FAILURE;
+
+        static {
+            AutoSort auto = null;
+            RuntimeException failure = null;
+            try {
+                auto = AutoSort.fromSystemProperties();
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+            AUTO_SORT = auto;
+            STABLE_AUTO = auto == null ? null : auto.stableCopy();
+            FAILURE = failure;
+        }
+
+        static Sort get(boolean stable) {
+            if (FAILURE != null) {
+                throw new IllegalStateException(FAILURE.getMessage(), FAILURE);
+            }
+            return stable ? STABLE_AUTO : AUTO_SORT;
+        }
+    }
+
+    /**
+     * The sort of that name, null if there is none.
+     *
+     * @throws IllegalStateException for "auto" when its profile can not be
+     *                               read
+     */
+    public static Sort get(String algorithm) {
+        if (AUTO.equals(algorithm)) {
+            return AutoHolder.get(false);
+        }
+        String name = ALIASES.get(algorithm);
+        return ALGORITHMS.get().get(name == null ? algorithm : name);
+    }
+
+    /**
+     * Like {@link #get(String)}, but when stable is set only a sort that
+     * keeps equal elements in order is returned, null otherwise. "auto" then
+     * is the stable variant of the auto sort, which picks among the stable
+     * engines.
+     */
+    public static Sort get(String algorithm, boolean stable) {
+        if (AUTO.equals(algorithm)) {
+            return AutoHolder.get(stable);
+        }
+        Sort sort = get(algorithm);
+        if (!stable || sort == null || sort.isStable()) {
+            return sort;
+        }
+        return null;
+    }
+
+    /**
+     * Like {@link #get(String)}, but fails with an IllegalArgumentException
+     * when there is no sort of that name.
+     */
+    public static Sort require(String algorithm) {
+        Sort sort = get(algorithm);
+        if (sort == null) {
+            throw new IllegalArgumentException("There's no " + algorithm);
+        }
+        return sort;
+    }
+
+    /**
+     * Like {@link #get(String, boolean)}, but fails with an
+     * IllegalArgumentException instead of returning null.
+     */
+    public static Sort require(String algorithm, boolean stable) {
+        Sort sort = get(algorithm, stable);
+        if (sort == null) {
+            throw new IllegalArgumentException(get(algorithm) == null
+                    ? "There's no " + algorithm
+                    : algorithm + " is not stable");
+        }
+        return sort;
+    }
+
+    /**
+     * Adds sort under its {@link Sort#algorithm()} name. Safe to call from
+     * any thread, lookups running meanwhile see the registry before or after
+     * the change, never a half made one.
+     *
+     * @throws IllegalArgumentException if the name is taken
+     */
+    public static void register(Sort sort) {
+        if (sort == null) {
+            throw new NullPointerException("sort");
+        }
+        String name = sort.algorithm();
+        if (name == null) {
+            throw new NullPointerException("algorithm");
+        }
+        while (true) {
+            Map<String, Sort> current = ALGORITHMS.get();
+            if (current.containsKey(name) || AUTO.equals(name) || ALIASES.containsKey(name)) {
+                throw new IllegalArgumentException("Already registered: " + name);
+            }
+            Map<String, Sort> next = new HashMap<>(current);
+            next.put(name, sort);
+            if (ALGORITHMS.compareAndSet(current, Collections.unmodifiableMap(next))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Names of all registered algorithms, sorted.
+     */
+    public static Set<String> names() {
+        Set<String> names = new TreeSet<String>(ALGORITHMS.get().keySet());
+        names.add(AUTO);
+        return Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Names of the algorithms {@link #get(String, boolean)} returns when
+     * asked for a stable one, sorted.
+     */
+    public static Set<String> stableNames() {
+        Set<String> names = new TreeSet<String>();
+        // the auto sort always has a stable variant
+        names.add(AUTO);
+        for (String name : ALGORITHMS.get().keySet()) {
+            if (get(name, true) != null) {
+                names.add(name);
+            }
+        }
+        return Collections.unmodifiableSet(names);
+    }
+}
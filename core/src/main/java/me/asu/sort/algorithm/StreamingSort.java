@@ -0,0 +1,362 @@
+package me.asu.sort.algorithm;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps a sorted view of an unbounded stream without re-sorting it on every
+ * tick. Three flavours:
+ * <ul>
+ * <li>{@link #topK(int, Comparator)}: the k smallest elements ever offered,
+ * e.g. a leaderboard with a reversed comparator. A {@link HeapSort.MaxHeap}
+ * of k elements whose root is the one to beat.</li>
+ * <li>{@link #lastN(int, Comparator)}: the last n elements offered.</li>
+ * <li>{@link #timeWindow(long, LongSupplier, Comparator)}: the elements of
+ * the last windowMillis.</li>
+ * </ul>
+ * The windows keep their elements in a heap whose root is the smallest, plus
+ * an arrival ring to find the oldest for eviction; both are reused, so once
+ * the window reached its steady size, offering does not allocate. A sorted
+ * snapshot of the first m elements takes O(m log m): topK sorts a copy of
+ * its k elements, the windows walk the heap from the root.
+ * <p>
+ * Not thread safe. Time windows assume that timestamps do not go backwards
+ * in arrival order.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class StreamingSort<T> {
+
+    private static final HeapSort HEAP_SORT = new HeapSort();
+
+    private final Comparator<? super T> c;
+    /** topK bound, or 0 for a window. */
+    private final int k;
+    private final int maxCount;
+    private final long windowMillis;
+    private final LongSupplier clock;
+
+    private final HeapSort.MaxHeap<T> top;
+    private final WindowHeap<T> window;
+
+    /** Arrival ring of a window, entries are reused. */
+    private Entry<T>[] ring;
+    private int head;
+    private int count;
+
+    /** Snapshot scratch: heap indexes ordered by their elements. */
+    private int[] frontier = new int[16];
+
+    private StreamingSort(Comparator<? super T> c, int k, int maxCount, long windowMillis, LongSupplier clock) {
+        this.c = c == null ? AbstractSort.<T>naturalOrder() : c;
+        this.k = k;
+        this.maxCount = maxCount;
+        this.windowMillis = windowMillis;
+        this.clock = clock;
+        if (k > 0) {
+            this.top = new HeapSort.MaxHeap<T>(Math.min(k, 1024), this.c);
+            this.window = null;
+        } else {
+            this.top = null;
+            this.window = new WindowHeap<T>(this.c);
+            this.ring = newRing(16, 0);
+        }
+    }
+
+    /**
+     * The k smallest elements by c (natural order when null) ever offered.
+     */
+    public static <T> StreamingSort<T> topK(int k, Comparator<? super T> c) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k < 1: " + k);
+        }
+        return new StreamingSort<T>(c, k, 0, 0, null);
+    }
+
+    /**
+     * The last n elements offered, ordered by c.
+     */
+    public static <T> StreamingSort<T> lastN(int n, Comparator<? super T> c) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n < 1: " + n);
+        }
+        return new StreamingSort<T>(c, 0, n, 0, null);
+    }
+
+    /**
+     * The elements offered in the last windowMillis by the wall clock,
+     * ordered by c.
+     */
+    public static <T> StreamingSort<T> timeWindow(long windowMillis, Comparator<? super T> c) {
+        return timeWindow(windowMillis, System::currentTimeMillis, c);
+    }
+
+    /**
+     * The elements offered in the last windowMillis by clock, ordered by c.
+     */
+    public static <T> StreamingSort<T> timeWindow(long windowMillis, LongSupplier clock, Comparator<? super T> c) {
+        if (windowMillis < 1) {
+            throw new IllegalArgumentException("windowMillis < 1: " + windowMillis);
+        }
+        return new StreamingSort<T>(c, 0, Integer.MAX_VALUE, windowMillis, clock);
+    }
+
+    public void offer(T e) {
+        offer(e, clock == null ? 0 : clock.getAsLong());
+    }
+
+    /**
+     * Offers e with an explicit timestamp, for event time windows.
+     */
+    public void offer(T e, long timestamp) {
+        if (top != null) {
+            if (top.size() < k) {
+                top.add(e);
+            } else if (c.compare(e, top.peek()) < 0) {
+                top.replaceTop(e);
+            }
+            return;
+        }
+        evict(timestamp);
+        if (count == maxCount) {
+            evictOldest();
+        }
+        if (count == ring.length) {
+            growRing();
+        }
+        Entry<T> entry = ring[(head + count) % ring.length];
+        entry.value = e;
+        entry.time = timestamp;
+        count++;
+        window.add(entry);
+    }
+
+    public void offerAll(T[] batch) {
+        offerAll(batch, 0, batch.length);
+    }
+
+    /**
+     * Offers batch[from, to), a time window stamps them all with one clock
+     * reading.
+     */
+    public void offerAll(T[] batch, int from, int to) {
+        AbstractSort.rangeCheck(batch.length, from, to);
+        long now = clock == null ? 0 : clock.getAsLong();
+        for (int i = from; i < to; i++) {
+            offer(batch[i], now);
+        }
+    }
+
+    /**
+     * Number of elements in the view, a time window is evicted to now first.
+     */
+    public int size() {
+        if (top != null) {
+            return top.size();
+        }
+        if (clock != null) {
+            evict(clock.getAsLong());
+        }
+        return count;
+    }
+
+    public void clear() {
+        if (top != null) {
+            top.clear();
+            return;
+        }
+        window.clear();
+        for (int i = 0; i < count; i++) {
+            ring[(head + i) % ring.length].value = null;
+        }
+        head = 0;
+        count = 0;
+    }
+
+    /**
+     * The whole view, sorted.
+     */
+    public List<T> snapshot() {
+        return snapshot(Integer.MAX_VALUE);
+    }
+
+    /**
+     * The first m elements of the view, sorted.
+     */
+    @SuppressWarnings("unchecked")
+    public List<T> snapshot(int m) {
+        Object[] out = new Object[Math.min(m, size())];
+        int n = snapshot((T[]) out);
+        return new ArrayList<T>(Arrays.asList((T[]) out).subList(0, n));
+    }
+
+    /**
+     * Writes the first out.length elements of the view into out, sorted.
+     * Allocates nothing, except for a topK whose k elements do not all fit
+     * into out.
+     *
+     * @return the number of elements written
+     */
+    public int snapshot(T[] out) {
+        if (top != null) {
+            int n = Math.min(out.length, top.size());
+            if (n == top.size()) {
+                System.arraycopy(top.queue, 1, out, 0, n);
+                HEAP_SORT.heapSort(out, 0, n, c);
+                return n;
+            }
+            // only part of the k fits, sort a copy of all k and keep the head
+            @SuppressWarnings("unchecked")
+            T[] all = (T[]) Arrays.copyOfRange(top.queue, 1, top.size() + 1);
+            HEAP_SORT.heapSort(all, 0, all.length, c);
+            System.arraycopy(all, 0, out, 0, n);
+            return n;
+        }
+        if (clock != null) {
+            evict(clock.getAsLong());
+        }
+        return walk(out);
+    }
+
+    /**
+     * Pops the window heap lazily: a min-heap of heap indexes starts at the
+     * root, each index taken adds its two children.
+     */
+    private int walk(T[] out) {
+        int n = Math.min(out.length, count);
+        if (n == 0) {
+            return 0;
+        }
+        if (frontier.length < n + 2) {
+            frontier = new int[Math.max(n + 2, frontier.length << 1)];
+        }
+        int size = 0;
+        frontier[size++] = 1;
+        for (int i = 0; i < n; i++) {
+            int h = frontier[0];
+            out[i] = window.entry(h).value;
+            frontier[0] = frontier[--size];
+            siftDown(size);
+            int child = h << 1;
+            if (child <= window.size()) {
+                frontier[size] = child;
+                siftUp(size++);
+            }
+            if (child + 1 <= window.size()) {
+                frontier[size] = child + 1;
+                siftUp(size++);
+            }
+        }
+        return n;
+    }
+
+    private boolean less(int a, int b) {
+        return c.compare(window.entry(a).value, window.entry(b).value) < 0;
+    }
+
+    private void siftUp(int i) {
+        int v = frontier[i];
+        while (i > 0) {
+            int p = (i - 1) >>> 1;
+            if (!less(v, frontier[p])) {
+                break;
+            }
+            frontier[i] = frontier[p];
+            i = p;
+        }
+        frontier[i] = v;
+    }
+
+    private void siftDown(int size) {
+        if (size == 0) {
+            return;
+        }
+        int i = 0;
+        int v = frontier[0];
+        int j;
+        while ((j = (i << 1) + 1) < size) {
+            if (j + 1 < size && less(frontier[j + 1], frontier[j])) {
+                j++;
+            }
+            if (!less(frontier[j], v)) {
+                break;
+            }
+            frontier[i] = frontier[j];
+            i = j;
+        }
+        frontier[i] = v;
+    }
+
+    private void evict(long now) {
+        if (windowMillis == 0) {
+            return;
+        }
+        long limit = now - windowMillis;
+        while (count > 0 && ring[head].time <= limit) {
+            evictOldest();
+        }
+    }
+
+    private void evictOldest() {
+        Entry<T> oldest = ring[head];
+        window.removeAt(oldest.index);
+        oldest.value = null;
+        head = (head + 1) % ring.length;
+        count--;
+    }
+
+    /**
+     * Doubles the ring, the live entries move to the front in arrival order.
+     */
+    private void growRing() {
+        Entry<T>[] grown = newRing(ring.length << 1, count);
+        for (int i = 0; i < count; i++) {
+            grown[i] = ring[(head + i) % ring.length];
+        }
+        ring = grown;
+        head = 0;
+    }
+
+    /**
+     * A ring of length with fresh entries from index from on.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Entry<T>[] newRing(int length, int from) {
+        Entry<T>[] ring = (Entry<T>[]) new Entry<?>[length];
+        for (int i = from; i < length; i++) {
+            ring[i] = new Entry<T>();
+        }
+        return ring;
+    }
+
+    private static final class Entry<T> {
+        T value;
+        long time;
+        /** Position in the window heap. */
+        int index;
+    }
+
+    /**
+     * Min-heap of window entries that keeps each entry's index current.
+     */
+    private static final class WindowHeap<T> extends HeapSort.MaxHeap<Entry<T>> {
+
+        WindowHeap(final Comparator<? super T> c) {
+            super((a, b) -> c.compare(b.value, a.value));
+        }
+
+        @SuppressWarnings("unchecked")
+        Entry<T> entry(int k) {
+            return (Entry<T>) queue[k];
+        }
+
+        @Override
+        protected void moved(Entry<T> e, int k) {
+            e.index = k;
+        }
+    }
+}
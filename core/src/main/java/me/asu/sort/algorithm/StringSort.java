@@ -0,0 +1,144 @@
+package me.asu.sort.algorithm;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.Comparator;
+
+/**
+ * Sorts Strings by cached normalized prefixes. Every String is read once to
+ * build an 8 byte order-preserving prefix (see {@link NormalizedKeys}) of
+ * the chars after the prefix that all Strings share: 8 chars when those of
+ * all Strings are Latin-1, which covers ASCII keys, 4 chars otherwise. The
+ * prefixes are radix sorted together with the element indexes, and only
+ * the groups whose prefixes tie are sorted again by full comparison. When
+ * most keys differ early, most elements are never compared at all and the
+ * sort does not chase a pointer into each String per comparison.
+ * <p>
+ * Given a {@link Collator} as the comparator, the prefixes come from the
+ * {@link CollationKey}s instead, computed once per element, and the ties
+ * are broken by the collation keys.
+ * <p>
+ * Other element types and other comparators go to {@link TimSort}; the sort
+ * is stable either way.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class StringSort extends AbstractSort {
+
+    private static final TimSort TIM_SORT = new TimSort();
+
+    @Override
+    public String algorithm() {
+        return "string";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        rangeCheck(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        if (c == null && RadixSort.allOf(data, from, to, String.class)) {
+            sortStrings(data, from, to);
+        } else if (c instanceof Collator && RadixSort.allOf(data, from, to, String.class)) {
+            sortCollated(data, from, to, (Collator) c);
+        } else {
+            TIM_SORT.sort(data, from, to, c);
+        }
+    }
+
+    public void sort(String[] data) {
+        sort(data, (Comparator<String>) null);
+    }
+
+    /**
+     * Sorts in the order of collator.
+     */
+    public void sort(String[] data, Collator collator) {
+        sort(data, (Comparator<Object>) collator);
+    }
+
+    private static <T> void sortStrings(T[] data, int from, int to) {
+        int n = to - from;
+        String first = (String) data[from];
+        int common = first.length();
+        for (int i = from + 1; i < to && common > 0; i++) {
+            String s = (String) data[i];
+            int max = Math.min(common, s.length());
+            int j = 0;
+            while (j < max && s.charAt(j) == first.charAt(j)) {
+                j++;
+            }
+            common = j;
+        }
+        boolean latin1 = true;
+        for (int i = from; i < to && latin1; i++) {
+            latin1 = NormalizedKeys.isLatin1Prefix((String) data[i], common);
+        }
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            String s = (String) data[from + i];
+            keys[i] = latin1 ? NormalizedKeys.latin1Prefix(s, common) : NormalizedKeys.prefix(s, common);
+        }
+        Permutations.apply(KeySort.order(keys), data, from);
+
+        Comparator<? super T> natural = AbstractSort.naturalOrder();
+        int start = 0;
+        for (int i = 1; i <= n; i++) {
+            if (i == n || keys[i] != keys[start]) {
+                if (i - start > 1) {
+                    TIM_SORT.timSort(data, from + start, from + i, natural);
+                }
+                start = i;
+            }
+        }
+    }
+
+    private static <T> void sortCollated(T[] data, int from, int to, Collator collator) {
+        int n = to - from;
+        CollationKey[] collationKeys = new CollationKey[n];
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            collationKeys[i] = collator.getCollationKey((String) data[from + i]);
+            keys[i] = NormalizedKeys.prefix(collationKeys[i].toByteArray());
+        }
+        int[] order = KeySort.order(keys);
+        Permutations.apply(order, data, from);
+        Permutations.apply(order, collationKeys);
+
+        int start = 0;
+        for (int i = 1; i <= n; i++) {
+            if (i == n || keys[i] != keys[start]) {
+                if (i - start > 1) {
+                    sortTies(data, from, collationKeys, start, i);
+                }
+                start = i;
+            }
+        }
+    }
+
+    /**
+     * Sorts data[from + lo, from + hi) and collationKeys[lo, hi) together by
+     * the keys.
+     */
+    private static <T> void sortTies(T[] data, int from, final CollationKey[] collationKeys, int lo, int hi) {
+        int[] index = new int[hi - lo];
+        for (int i = 0; i < index.length; i++) {
+            index[i] = lo + i;
+        }
+        IndexSort.sort(index, (a, b) -> collationKeys[a].compareTo(collationKeys[b]));
+        Object[] values = new Object[index.length];
+        CollationKey[] sorted = new CollationKey[index.length];
+        for (int i = 0; i < index.length; i++) {
+            values[i] = data[from + index[i]];
+            sorted[i] = collationKeys[index[i]];
+        }
+        System.arraycopy(values, 0, data, from + lo, values.length);
+        System.arraycopy(sorted, 0, collationKeys, lo, sorted.length);
+    }
+}
@@ -0,0 +1,111 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * Quick sort with Bentley-McIlroy three-way partitioning. Keys equal to the
+ * pivot are parked at both ends during the scan and swapped into the middle
+ * afterwards, so they are never looked at again. With few distinct keys the
+ * work drops from O(n log n) towards O(n * H). The pivot is chosen like
+ * {@link ImprovedQuickSort} and recursion past 2*log2(n) falls back to heap
+ * sort.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class ThreeWayQuickSort extends AbstractSort {
+
+    private static final int THRESHOLD = 10;
+    private static final HeapSort HEAP_SORT = new HeapSort();
+
+    @Override
+    public String algorithm() {
+        return "three_way_quick";
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        rangeCheck(data.length, from, to);
+        if (to - from < 2) {
+            return;
+        }
+        threeWayQuickSort(data, from, to - 1, ImprovedQuickSort.depthLimit(to - from),
+                c == null ? naturalOrder() : c);
+    }
+
+    /**
+     * Sorts data[lo, hi], recursing into the smaller side and looping on the
+     * larger one.
+     */
+    private <T> void threeWayQuickSort(T[] data, int lo, int hi, int depth, Comparator<? super T> c) {
+        while (hi - lo > THRESHOLD) {
+            if (depth-- == 0) {
+                HEAP_SORT.heapSort(data, lo, hi + 1, c);
+                return;
+            }
+            swap(data, lo, ImprovedQuickSort.pivot(data, lo, hi, c));
+            T v = data[lo];
+
+            // data[lo, p] and data[q, hi] hold keys equal to v
+            int i = lo, j = hi + 1;
+            int p = lo, q = hi + 1;
+            while (true) {
+                while (c.compare(data[++i], v) < 0) {
+                    if (i == hi) {
+                        break;
+                    }
+                }
+                while (c.compare(v, data[--j]) < 0) {
+                    if (j == lo) {
+                        break;
+                    }
+                }
+                if (i == j && c.compare(data[i], v) == 0) {
+                    swap(data, ++p, i);
+                }
+                if (i >= j) {
+                    break;
+                }
+                swap(data, i, j);
+                if (c.compare(data[i], v) == 0) {
+                    swap(data, ++p, i);
+                }
+                if (c.compare(data[j], v) == 0) {
+                    swap(data, --q, j);
+                }
+            }
+
+            i = j + 1;
+            for (int k = lo; k <= p; k++) {
+                swap(data, k, j--);
+            }
+            for (int k = hi; k >= q; k--) {
+                swap(data, k, i++);
+            }
+
+            // now data[lo, j] < v, data[j + 1, i - 1] == v, data[i, hi] > v
+            if (j - lo < hi - i) {
+                threeWayQuickSort(data, lo, j, depth, c);
+                lo = i;
+            } else {
+                threeWayQuickSort(data, i, hi, depth, c);
+                hi = j;
+            }
+        }
+        insertSort(data, lo, hi, c);
+    }
+
+    private <T> void insertSort(T[] data, int lo, int hi, Comparator<? super T> c) {
+        for (int i = lo + 1; i <= hi; i++) {
+            T v = data[i];
+            int j = i - 1;
+            for (; (j >= lo) && (c.compare(data[j], v) > 0); j--) {
+                data[j + 1] = data[j];
+            }
+            data[j + 1] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move(i - j);
+            }
+        }
+    }
+}
@@ -0,0 +1,437 @@
+package me.asu.sort.algorithm;
+
+import java.util.Comparator;
+import me.asu.sort.Workspace;
+import me.asu.sort.metrics.SortProbe;
+
+/**
+ * Adaptive, stable natural-run merge sort in the spirit of TimSort.
+ * <p>
+ * The input is cut into its natural runs: non-descending ones are kept,
+ * strictly descending ones are reversed (equal keys never join a
+ * descending run, so this is stable). A run shorter than the minimum run
+ * length, about MAX_MIN_RUN / 2 to MAX_MIN_RUN and chosen so that n / minRun
+ * is close to a power of two, is extended by binary insertion sort.
+ * <p>
+ * The runs are merged by the powersort policy of Munro and Wild: every
+ * boundary between two neighbouring runs gets a power, the depth at which
+ * the midpoints of the two runs part in a perfectly balanced merge tree
+ * over [0, n), and pending runs are merged while the boundary below them
+ * has a higher power than the new one. The merge tree is then within a few
+ * percent of the optimal one for the run lengths, and the pending stack
+ * never holds more than about log2(n) runs.
+ * <p>
+ * A merge first drops the head of the left run and the tail of the right
+ * run that are already in place, then copies the shorter of the rest into
+ * a buffer and merges from that end. Once one side wins GALLOP times in a
+ * row the merge switches to exponential search for how far that side
+ * keeps winning and moves the whole stretch at once. Sorted input costs
+ * n - 1 comparisons and no buffer; the buffer never exceeds n / 2 and is
+ * drawn from a {@link Workspace}.
+ * <p>
+ * A comparator that is not a total order can not make the sort fail, it
+ * leaves the elements in some order.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class TimSort extends AbstractSort {
+
+    /**
+     * The minimum run length is at most this, and ranges up to it are
+     * sorted by binary insertion sort alone.
+     */
+    private static final int MAX_MIN_RUN = 32;
+
+    /**
+     * Wins in a row after which a merge searches instead of comparing one
+     * element at a time.
+     */
+    private static final int GALLOP = 7;
+
+    private static final int INITIAL_BUFFER_LENGTH = 256;
+
+    /**
+     * Pending runs; the powers on the stack strictly increase and are at
+     * most 32.
+     */
+    private static final int MAX_PENDING = 34;
+
+    @Override
+    public String algorithm() {
+        return "tim";
+    }
+
+    @Override
+    public boolean isStable() {
+        return true;
+    }
+
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        sort(data, from, to, c, Workspace.current());
+    }
+
+    @Override
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c, Workspace workspace) {
+        rangeCheck(data.length, from, to);
+        timSort(data, from, to, c == null ? AbstractSort.<T>naturalOrder() : c, workspace);
+    }
+
+    /**
+     * Sorts data[lo, hi).
+     */
+    <T> void timSort(T[] data, int lo, int hi, Comparator<? super T> c) {
+        timSort(data, lo, hi, c, Workspace.current());
+    }
+
+    <T> void timSort(T[] data, int lo, int hi, Comparator<? super T> c, Workspace workspace) {
+        int n = hi - lo;
+        if (n < 2) {
+            return;
+        }
+        if (n <= MAX_MIN_RUN) {
+            binarySort(data, lo, hi, runEnd(data, lo, hi, c), c);
+            return;
+        }
+        Merger<T> merger = new Merger<T>(data, c, n, workspace);
+        try {
+            mergeRuns(merger, data, lo, hi, c);
+        } finally {
+            merger.release();
+        }
+    }
+
+    private static <T> void mergeRuns(Merger<T> merger, T[] data, int lo, int hi, Comparator<? super T> c) {
+        int n = hi - lo;
+        int minRun = minRunLength(n);
+        int[] pendingBase = new int[MAX_PENDING];
+        int[] pendingPower = new int[MAX_PENDING];
+        int pending = 0;
+
+        // the run being built is data[base, end)
+        int base = lo;
+        int end = nextRun(data, base, hi, minRun, c);
+        while (end < hi) {
+            int nextEnd = nextRun(data, end, hi, minRun, c);
+            int power = nodePower(n, base - lo, end - lo, nextEnd - lo);
+            while (pending > 0 && pendingPower[pending - 1] > power) {
+                pending--;
+                merger.merge(pendingBase[pending], base, end);
+                base = pendingBase[pending];
+            }
+            pendingBase[pending] = base;
+            pendingPower[pending] = power;
+            pending++;
+            base = end;
+            end = nextEnd;
+        }
+        while (pending > 0) {
+            pending--;
+            merger.merge(pendingBase[pending], base, end);
+            base = pendingBase[pending];
+        }
+    }
+
+    /**
+     * The end of the run starting at lo, extended to minRun elements (or to
+     * hi) by binary insertion.
+     */
+    private static <T> int nextRun(T[] data, int lo, int hi, int minRun, Comparator<? super T> c) {
+        int end = runEnd(data, lo, hi, c);
+        if (end - lo < minRun) {
+            int forced = Math.min(hi, lo + minRun);
+            binarySort(data, lo, forced, end, c);
+            end = forced;
+        }
+        return end;
+    }
+
+    /**
+     * The end of the natural run starting at lo, which is left ascending: a
+     * strictly descending run is reversed in place.
+     */
+    static <T> int runEnd(T[] data, int lo, int hi, Comparator<? super T> c) {
+        int i = lo + 1;
+        if (i >= hi) {
+            return hi;
+        }
+        if (c.compare(data[i], data[lo]) >= 0) {
+            while (i + 1 < hi && c.compare(data[i + 1], data[i]) >= 0) {
+                i++;
+            }
+            return i + 1;
+        }
+        while (i + 1 < hi && c.compare(data[i + 1], data[i]) < 0) {
+            i++;
+        }
+        if (SortProbe.ENABLED) {
+            SortProbe.move((i + 1 - lo) >>> 1);
+        }
+        for (int l = lo, r = i; l < r; l++, r--) {
+            T t = data[l];
+            data[l] = data[r];
+            data[r] = t;
+        }
+        return i + 1;
+    }
+
+    /**
+     * n halved until it is at most MAX_MIN_RUN, rounding up, so that the
+     * runs cut to this length number a power of two or a little less.
+     */
+    static int minRunLength(int n) {
+        int minRun = n;
+        while (minRun > MAX_MIN_RUN) {
+            minRun = (minRun >>> 1) + (minRun & 1);
+        }
+        return minRun;
+    }
+
+    /**
+     * The powersort power of the boundary between the runs [start1, start2)
+     * and [start2, end2), offsets in [0, n): the first bit in which the
+     * binary fractions midpoint1 / n and midpoint2 / n differ.
+     */
+    static int nodePower(int n, int start1, int start2, int end2) {
+        // the midpoints as fractions of 2n
+        long twiceN = 2L * n;
+        long a = (long) start1 + start2;
+        long b = (long) start2 + end2;
+        int power = 0;
+        while (true) {
+            power++;
+            a <<= 1;
+            b <<= 1;
+            boolean aHigh = a >= twiceN;
+            boolean bHigh = b >= twiceN;
+            if (aHigh != bHigh) {
+                return power;
+            }
+            if (aHigh) {
+                a -= twiceN;
+                b -= twiceN;
+            }
+        }
+    }
+
+    /**
+     * Binary insertion sort of data[lo, hi), data[lo, sorted) is already
+     * sorted. An element goes after the equal ones before it.
+     */
+    static <T> void binarySort(T[] data, int lo, int hi, int sorted, Comparator<? super T> c) {
+        for (int i = Math.max(sorted, lo + 1); i < hi; i++) {
+            T v = data[i];
+            int at = search(v, data, lo, i, 1, c);
+            System.arraycopy(data, at, data, at + 1, i - at);
+            data[at] = v;
+            if (SortProbe.ENABLED) {
+                SortProbe.move(i - at + 1);
+            }
+        }
+    }
+
+    /**
+     * The first index i in [lo, hi) with c.compare(a[i], key) &gt;= limit,
+     * or hi, by binary search: limit 1 finds the first element greater than
+     * key, limit 0 the first one not less than key. a[lo, hi) is sorted.
+     */
+    static <T> int search(T key, T[] a, int lo, int hi, int limit, Comparator<? super T> c) {
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (c.compare(a[m], key) < limit) {
+                lo = m + 1;
+            } else {
+                hi = m;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * As {@link #search}, probing lo, lo + 1, lo + 3, lo + 7, ... before the
+     * binary search, for an answer expected near lo.
+     */
+    static <T> int searchForward(T key, T[] a, int lo, int hi, int limit, Comparator<? super T> c) {
+        // a[lo, known) is below the answer, the probe is the next index to try
+        int known = lo;
+        int probe = lo;
+        int step = 1;
+        while (probe < hi && c.compare(a[probe], key) < limit) {
+            known = probe + 1;
+            step = step < (1 << 30) ? step << 1 : step;
+            probe = hi - known > step ? known + step - 1 : hi;
+        }
+        return search(key, a, known, Math.min(probe, hi), limit, c);
+    }
+
+    /**
+     * As {@link #search}, probing hi - 1, hi - 2, hi - 4, ... before the
+     * binary search, for an answer expected near hi.
+     */
+    static <T> int searchBackward(T key, T[] a, int lo, int hi, int limit, Comparator<? super T> c) {
+        // a[known, hi) is at or above the answer
+        int known = hi;
+        int probe = hi - 1;
+        int step = 1;
+        while (probe >= lo && c.compare(a[probe], key) >= limit) {
+            known = probe;
+            step = step < (1 << 30) ? step << 1 : step;
+            probe = known - lo > step ? known - step : lo - 1;
+        }
+        return search(key, a, Math.max(probe + 1, lo), known, limit, c);
+    }
+
+    /**
+     * Merges neighbouring runs of one sort call, and owns its buffer.
+     */
+    private static final class Merger<T> {
+
+        private final T[] a;
+        private final Comparator<? super T> c;
+        private final int maxBuffer;
+        private final Workspace workspace;
+        private T[] buffer;
+        private int used;
+
+        Merger(T[] a, Comparator<? super T> c, int n, Workspace workspace) {
+            this.a = a;
+            this.c = c;
+            this.maxBuffer = n >>> 1;
+            this.workspace = workspace;
+        }
+
+        void release() {
+            if (buffer != null) {
+                workspace.releaseObjects(buffer, used);
+                buffer = null;
+                used = 0;
+            }
+        }
+
+        /**
+         * Merges the sorted runs a[lo, mid) and a[mid, hi).
+         */
+        void merge(int lo, int mid, int hi) {
+            // the head of the left run not above the first right element,
+            // and the tail of the right run not below the last left element,
+            // stay where they are
+            lo = searchForward(a[mid], a, lo, mid, 1, c);
+            if (lo == mid) {
+                return;
+            }
+            hi = searchBackward(a[mid - 1], a, mid, hi, 0, c);
+            if (mid - lo <= hi - mid) {
+                mergeForward(lo, mid, hi);
+            } else {
+                mergeBackward(lo, mid, hi);
+            }
+        }
+
+        /**
+         * The left run goes to the buffer, the merge fills a from lo up.
+         */
+        private void mergeForward(int lo, int mid, int hi) {
+            int n = mid - lo;
+            T[] t = buffer(n);
+            System.arraycopy(a, lo, t, 0, n);
+            int i = 0;
+            int j = mid;
+            int k = lo;
+            int leftWins = 0;
+            int rightWins = 0;
+            while (i < n && j < hi) {
+                if (c.compare(a[j], t[i]) < 0) {
+                    a[k++] = a[j++];
+                    leftWins = 0;
+                    if (++rightWins >= GALLOP && j < hi) {
+                        // the right elements below t[i]
+                        int e = searchForward(t[i], a, j, hi, 0, c);
+                        System.arraycopy(a, j, a, k, e - j);
+                        k += e - j;
+                        rightWins = e - j >= GALLOP ? rightWins : 0;
+                        j = e;
+                    }
+                } else {
+                    a[k++] = t[i++];
+                    rightWins = 0;
+                    if (++leftWins >= GALLOP && i < n) {
+                        // the left elements not above a[j]
+                        int e = searchForward(a[j], t, i, n, 1, c);
+                        System.arraycopy(t, i, a, k, e - i);
+                        k += e - i;
+                        leftWins = e - i >= GALLOP ? leftWins : 0;
+                        i = e;
+                    }
+                }
+            }
+            if (SortProbe.ENABLED) {
+                // the left run out, and every element written back
+                SortProbe.move(n + (k - lo) + (n - i));
+            }
+            // whatever is left of the right run is in place already
+            System.arraycopy(t, i, a, k, n - i);
+        }
+
+        /**
+         * The right run goes to the buffer, the merge fills a from hi down.
+         */
+        private void mergeBackward(int lo, int mid, int hi) {
+            int n = hi - mid;
+            T[] t = buffer(n);
+            System.arraycopy(a, mid, t, 0, n);
+            int i = mid - 1;
+            int j = n - 1;
+            int k = hi - 1;
+            int leftWins = 0;
+            int rightWins = 0;
+            while (i >= lo && j >= 0) {
+                if (c.compare(t[j], a[i]) < 0) {
+                    a[k--] = a[i--];
+                    rightWins = 0;
+                    if (++leftWins >= GALLOP && i >= lo) {
+                        // the left elements above t[j]
+                        int s = searchBackward(t[j], a, lo, i + 1, 1, c);
+                        int m = i + 1 - s;
+                        k -= m;
+                        System.arraycopy(a, s, a, k + 1, m);
+                        leftWins = m >= GALLOP ? leftWins : 0;
+                        i = s - 1;
+                    }
+                } else {
+                    a[k--] = t[j--];
+                    leftWins = 0;
+                    if (++rightWins >= GALLOP && j >= 0) {
+                        // the right elements not below a[i]
+                        int s = searchBackward(a[i], t, 0, j + 1, 0, c);
+                        int m = j + 1 - s;
+                        k -= m;
+                        System.arraycopy(t, s, a, k + 1, m);
+                        rightWins = m >= GALLOP ? rightWins : 0;
+                        j = s - 1;
+                    }
+                }
+            }
+            if (SortProbe.ENABLED) {
+                // the right run out, and every element written back
+                SortProbe.move(n + (hi - 1 - k) + (j + 1));
+            }
+            // whatever is left of the left run is in place already
+            System.arraycopy(t, 0, a, lo, j + 1);
+        }
+
+        /**
+         * A buffer of at least length elements; it grows by doubling up to
+         * half of the sorted range.
+         */
+        @SuppressWarnings("unchecked")
+        private T[] buffer(int length) {
+            if (buffer == null || buffer.length < length) {
+                int grown = Math.max(INITIAL_BUFFER_LENGTH, Integer.highestOneBit(length) << 1);
+                release();
+                buffer = (T[]) workspace.acquireObjects(Math.max(length, Math.min(grown, maxBuffer)));
+            }
+            used = Math.max(used, length);
+            return buffer;
+        }
+    }
+}
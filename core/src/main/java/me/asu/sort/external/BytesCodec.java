@@ -0,0 +1,27 @@
+package me.asu.sort.external;
+
+import java.nio.ByteBuffer;
+
+/**
+ * byte[] records, length prefixed.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class BytesCodec implements RecordCodec<byte[]> {
+
+    public int sizeOf(byte[] record) {
+        return 4 + record.length;
+    }
+
+    public void write(byte[] record, ByteBuffer dst) {
+        dst.putInt(record.length);
+        dst.put(record);
+    }
+
+    public byte[] read(ByteBuffer src) {
+        byte[] record = new byte[src.getInt()];
+        src.get(record);
+        return record;
+    }
+}
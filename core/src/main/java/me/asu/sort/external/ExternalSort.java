@@ -0,0 +1,355 @@
+package me.asu.sort.external;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import me.asu.sort.Sort;
+import me.asu.sort.algorithm.Sorts;
+
+/**
+ * External (out-of-core) merge sort for inputs larger than the heap.
+ * <p>
+ * The input is read in chunks that fit the memory budget, each chunk is
+ * sorted with an in-memory {@link Sort} from {@link Sorts} and spilled to a
+ * temp file as a sorted run. The runs are then merged fanIn at a time with a
+ * {@link LoserTree}, in as many passes as it takes, the last pass writes the
+ * output.
+ * <p>
+ * The budget covers the records of a chunk (by {@link RecordFormat#sizeOf}),
+ * the chunk array and the sort scratch plus the reader and writer open
+ * meanwhile, and during the merges the streams of all open runs and the
+ * writer, each by its {@link RecordFormat#streamFootprint}. The streams take
+ * at most half of the budget, the fan-in is lowered when they would not
+ * fit. A record that is larger than the budget on its own fails the sort
+ * instead of overrunning it. With a stable in-memory algorithm (the default,
+ * "tim") the whole sort is stable.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class ExternalSort<T> {
+
+    public static final int DEFAULT_FAN_IN = 64;
+    public static final String DEFAULT_ALGORITHM = "tim";
+
+    /**
+     * Per record: the chunk array slot, the slot in the exact-size copy that
+     * is sorted and the sort scratch.
+     */
+    private static final int REFERENCE_OVERHEAD = 24;
+    private static final int INITIAL_CHUNK_LENGTH = 1024;
+    private static final int MIN_BUFFER_SIZE = 4096;
+    private static final int MAX_BUFFER_SIZE = 1 << 20;
+
+    private final RecordFormat<T> format;
+    private final Comparator<? super T> comparator;
+    private final long memoryBudget;
+
+    private int fanIn = DEFAULT_FAN_IN;
+    private String algorithm = DEFAULT_ALGORITHM;
+    private Sort sort = Sorts.require(DEFAULT_ALGORITHM);
+    private File tempDir;
+
+    /**
+     * @param format       how records are read and written
+     * @param comparator   the record order
+     * @param memoryBudget heap bytes the sort may use
+     */
+    public ExternalSort(RecordFormat<T> format, Comparator<? super T> comparator, long memoryBudget) {
+        if (format == null) {
+            throw new NullPointerException("format");
+        }
+        if (comparator == null) {
+            throw new NullPointerException("comparator");
+        }
+        // at least two runs and a writer in half of the budget
+        if (memoryBudget < 2L * 3 * format.streamFootprint(MIN_BUFFER_SIZE)) {
+            throw new IllegalArgumentException("memoryBudget too small: " + memoryBudget);
+        }
+        this.format = format;
+        this.comparator = comparator;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * Sorts a newline delimited text file in natural String order.
+     */
+    public static void sortLines(File input, File output, Charset charset, long memoryBudget)
+            throws IOException {
+        new ExternalSort<String>(new LineFormat(charset), Comparator.<String>naturalOrder(), memoryBudget)
+                .sort(input, output);
+    }
+
+    /**
+     * Sorts a file of fixed-width binary records in unsigned byte order.
+     */
+    public static void sortFixedWidth(File input, File output, int recordLength, long memoryBudget)
+            throws IOException {
+        new ExternalSort<byte[]>(new FixedWidthFormat(recordLength), FixedWidthFormat::compareUnsigned,
+                memoryBudget).sort(input, output);
+    }
+
+    public int getFanIn() {
+        return fanIn;
+    }
+
+    /**
+     * Number of runs merged at once, at least 2.
+     */
+    public void setFanIn(int fanIn) {
+        if (fanIn < 2) {
+            throw new IllegalArgumentException("fanIn < 2: " + fanIn);
+        }
+        this.fanIn = fanIn;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Name of the in-memory algorithm in {@link Sorts} used for the chunks.
+     */
+    public void setAlgorithm(String algorithm) {
+        this.sort = Sorts.require(algorithm);
+        this.algorithm = algorithm;
+    }
+
+    public File getTempDir() {
+        return tempDir;
+    }
+
+    /**
+     * Where the runs are spilled, null for the system temp directory.
+     */
+    public void setTempDir(File tempDir) {
+        this.tempDir = tempDir;
+    }
+
+    public void sort(File input, File output) throws IOException {
+        InputStream in = new FileInputStream(input);
+        try {
+            OutputStream out = new FileOutputStream(output);
+            try {
+                sort(in, out);
+            } finally {
+                out.close();
+            }
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Sorts the records of in to out, neither stream is closed.
+     */
+    public void sort(InputStream in, OutputStream out) throws IOException {
+        int mergeFanIn = effectiveFanIn();
+        int bufferSize = bufferSize(mergeFanIn);
+        // the input reader and the spill or output writer
+        long chunkBudget = memoryBudget - 2L * format.streamFootprint(bufferSize);
+        List<File> runs = new ArrayList<File>();
+        try {
+            RecordReader<T> reader = format.newReader(in, bufferSize);
+            Object[] chunk = new Object[INITIAL_CHUNK_LENGTH];
+            // a record that did not fit into the previous chunk
+            T carry = null;
+            boolean eof = false;
+            while (!eof) {
+                int count = 0;
+                long used = (long) chunk.length * REFERENCE_OVERHEAD;
+                if (carry != null) {
+                    chunk[count++] = carry;
+                    used += format.sizeOf(carry) + REFERENCE_OVERHEAD;
+                    carry = null;
+                }
+                while (true) {
+                    T record = reader.read();
+                    if (record == null) {
+                        eof = true;
+                        break;
+                    }
+                    long size = format.sizeOf(record) + REFERENCE_OVERHEAD;
+                    if (size + (long) INITIAL_CHUNK_LENGTH * REFERENCE_OVERHEAD > chunkBudget) {
+                        throw new IOException("record of " + size + " bytes exceeds the memory budget");
+                    }
+                    if (count == chunk.length) {
+                        long grow = (long) (chunk.length >> 1) * REFERENCE_OVERHEAD;
+                        if (used + grow + size > chunkBudget) {
+                            carry = record;
+                            break;
+                        }
+                        used += grow;
+                        chunk = Arrays.copyOf(chunk, chunk.length + (chunk.length >> 1));
+                    }
+                    if (used + size > chunkBudget) {
+                        if (count > 0) {
+                            carry = record;
+                            break;
+                        }
+                        // a grown chunk array leaves no room, start small again
+                        chunk = new Object[INITIAL_CHUNK_LENGTH];
+                        used = (long) chunk.length * REFERENCE_OVERHEAD;
+                    }
+                    chunk[count++] = record;
+                    used += size;
+                }
+                sortChunk(chunk, count);
+                if (eof && runs.isEmpty()) {
+                    // the whole input fits, no runs needed
+                    writeChunk(chunk, count, out, bufferSize);
+                    return;
+                }
+                if (count > 0) {
+                    runs.add(spill(chunk, count, bufferSize));
+                }
+                Arrays.fill(chunk, 0, count, null);
+            }
+        } catch (IOException | RuntimeException e) {
+            for (File f : runs) {
+                f.delete();
+            }
+            throw e;
+        }
+        merge(runs, out, mergeFanIn, bufferSize);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sortChunk(Object[] chunk, int count) {
+        T[] records = (T[]) (count == chunk.length ? chunk : Arrays.copyOf(chunk, count));
+        sort.sort(records, comparator);
+        if (records != chunk) {
+            System.arraycopy(records, 0, chunk, 0, count);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void writeChunk(Object[] chunk, int count, OutputStream out, int bufferSize) throws IOException {
+        RecordWriter<T> writer = format.newWriter(out, bufferSize);
+        for (int i = 0; i < count; i++) {
+            writer.write((T) chunk[i]);
+        }
+        writer.flush();
+    }
+
+    private File spill(Object[] chunk, int count, int bufferSize) throws IOException {
+        File run = newRunFile();
+        try {
+            OutputStream out = new FileOutputStream(run);
+            try {
+                writeChunk(chunk, count, out, bufferSize);
+            } finally {
+                out.close();
+            }
+        } catch (IOException | RuntimeException e) {
+            run.delete();
+            throw e;
+        }
+        return run;
+    }
+
+    /**
+     * Merges runs until at most fanIn are left, then merges those into out.
+     * All run files are deleted, also on failure: those still to be merged
+     * and those written by a pass that fails midway.
+     */
+    private void merge(List<File> runs, OutputStream out, int fanIn, int bufferSize) throws IOException {
+        Set<File> live = new HashSet<File>(runs);
+        try {
+            while (runs.size() > fanIn) {
+                List<File> next = new ArrayList<File>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<File> group = runs.subList(i, Math.min(i + fanIn, runs.size()));
+                    if (group.size() == 1) {
+                        next.add(group.get(0));
+                        continue;
+                    }
+                    File merged = newRunFile();
+                    live.add(merged);
+                    next.add(merged);
+                    // the format's writer does the buffering
+                    OutputStream os = new FileOutputStream(merged);
+                    try {
+                        mergeGroup(group, os, bufferSize);
+                    } finally {
+                        os.close();
+                    }
+                    for (File f : group) {
+                        f.delete();
+                        live.remove(f);
+                    }
+                }
+                runs.clear();
+                runs.addAll(next);
+            }
+            mergeGroup(runs, out, bufferSize);
+        } finally {
+            for (File f : live) {
+                f.delete();
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mergeGroup(List<File> group, OutputStream out, int bufferSize) throws IOException {
+        RecordReader<T>[] readers = (RecordReader<T>[]) new RecordReader<?>[group.size()];
+        try {
+            for (int i = 0; i < readers.length; i++) {
+                readers[i] = format.newReader(new FileInputStream(group.get(i)), bufferSize);
+            }
+            LoserTree<T> tree = new LoserTree<T>(readers, comparator);
+            RecordWriter<T> writer = format.newWriter(out, bufferSize);
+            T record;
+            while ((record = tree.next()) != null) {
+                writer.write(record);
+            }
+            writer.flush();
+        } finally {
+            for (RecordReader<T> r : readers) {
+                if (r != null) {
+                    r.close();
+                }
+            }
+        }
+    }
+
+    private File newRunFile() throws IOException {
+        File run = tempDir == null
+                ? Files.createTempFile("asu-sort-", ".run").toFile()
+                : Files.createTempFile(tempDir.toPath(), "asu-sort-", ".run").toFile();
+        run.deleteOnExit();
+        return run;
+    }
+
+    /**
+     * The configured fan-in, lowered until the streams of the runs and the
+     * writer take at most half of the budget with the smallest buffers.
+     */
+    private int effectiveFanIn() {
+        long maxReaders = memoryBudget / (2L * format.streamFootprint(MIN_BUFFER_SIZE)) - 1;
+        return (int) Math.max(2, Math.min(fanIn, maxReaders));
+    }
+
+    /**
+     * The largest buffer size, within bounds, for which the fanIn + 1
+     * streams of a merge take at most half of the budget.
+     */
+    private int bufferSize(int fanIn) {
+        long share = memoryBudget / (2L * (fanIn + 1));
+        long size = Math.min(MAX_BUFFER_SIZE, share);
+        // what the format holds beyond the buffer size itself
+        size -= format.streamFootprint((int) size) - size;
+        return (int) Math.max(MIN_BUFFER_SIZE, size);
+    }
+}
@@ -0,0 +1,94 @@
+package me.asu.sort.external;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Binary records of a fixed length, read as byte[].
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class FixedWidthFormat implements RecordFormat<byte[]> {
+
+    private final int recordLength;
+
+    public FixedWidthFormat(int recordLength) {
+        if (recordLength <= 0) {
+            throw new IllegalArgumentException("recordLength <= 0: " + recordLength);
+        }
+        this.recordLength = recordLength;
+    }
+
+    public int getRecordLength() {
+        return recordLength;
+    }
+
+    public RecordReader<byte[]> newReader(InputStream in, int bufferSize) {
+        final InputStream input = new BufferedInputStream(in, bufferSize);
+        return new RecordReader<byte[]>() {
+            public byte[] read() throws IOException {
+                byte[] record = new byte[recordLength];
+                int n = 0;
+                while (n < recordLength) {
+                    int r = input.read(record, n, recordLength - n);
+                    if (r < 0) {
+                        if (n == 0) {
+                            return null;
+                        }
+                        throw new EOFException("truncated record: " + n + " of " + recordLength + " bytes");
+                    }
+                    n += r;
+                }
+                return record;
+            }
+
+            public void close() throws IOException {
+                input.close();
+            }
+        };
+    }
+
+    public RecordWriter<byte[]> newWriter(OutputStream out, int bufferSize) {
+        final OutputStream output = new BufferedOutputStream(out, bufferSize);
+        return new RecordWriter<byte[]>() {
+            public void write(byte[] record) throws IOException {
+                if (record.length != recordLength) {
+                    throw new IllegalArgumentException("record length " + record.length + " != " + recordLength);
+                }
+                output.write(record);
+            }
+
+            public void flush() throws IOException {
+                output.flush();
+            }
+
+            public void close() throws IOException {
+                output.close();
+            }
+        };
+    }
+
+    public long sizeOf(byte[] record) {
+        return 16 + ((record.length + 7) & ~7);
+    }
+
+    /**
+     * Unsigned lexicographic order of the whole record.
+     */
+    public static int compareUnsigned(byte[] a, byte[] b) {
+        int n = Math.min(a.length, b.length);
+        for (int i = 0; i < n; i++) {
+            int x = a[i] & 0xff;
+            int y = b[i] & 0xff;
+            if (x != y) {
+                return x - y;
+            }
+        }
+        return a.length - b.length;
+    }
+}
@@ -0,0 +1,85 @@
+package me.asu.sort.external;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.Charset;
+
+/**
+ * Newline delimited text records. "\n", "\r" and "\r\n" all end a line, the
+ * sorted output always uses "\n".
+ * <p>
+ * A stream buffers bufferSize bytes of chars, bufferSize / 2 of them, and
+ * the byte buffer of its charset decoder or encoder on top.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class LineFormat implements RecordFormat<String> {
+
+    /**
+     * The byte buffer of the decoder of an InputStreamReader and the encoder
+     * of an OutputStreamWriter.
+     */
+    private static final int CODER_BYTES = 8192;
+
+    private final Charset charset;
+
+    public LineFormat(Charset charset) {
+        if (charset == null) {
+            throw new NullPointerException("charset");
+        }
+        this.charset = charset;
+    }
+
+    public RecordReader<String> newReader(InputStream in, int bufferSize) {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(in, charset), chars(bufferSize));
+        return new RecordReader<String>() {
+            public String read() throws IOException {
+                return reader.readLine();
+            }
+
+            public void close() throws IOException {
+                reader.close();
+            }
+        };
+    }
+
+    public RecordWriter<String> newWriter(OutputStream out, int bufferSize) {
+        final BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(out, charset), chars(bufferSize));
+        return new RecordWriter<String>() {
+            public void write(String record) throws IOException {
+                writer.write(record);
+                writer.write('\n');
+            }
+
+            public void flush() throws IOException {
+                writer.flush();
+            }
+
+            public void close() throws IOException {
+                writer.close();
+            }
+        };
+    }
+
+    @Override
+    public long streamFootprint(int bufferSize) {
+        return 2L * chars(bufferSize) + CODER_BYTES;
+    }
+
+    private static int chars(int bufferSize) {
+        return Math.max(1, bufferSize / 2);
+    }
+
+    /**
+     * Object header, fields and the backing array, counting two bytes per char.
+     */
+    public long sizeOf(String record) {
+        return 56 + 2L * record.length();
+    }
+}
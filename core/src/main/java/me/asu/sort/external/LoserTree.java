@@ -0,0 +1,99 @@
+package me.asu.sort.external;
+
+import java.io.IOException;
+import java.util.Comparator;
+
+/**
+ * K-way merge of sorted record sources with a tree of losers: every record
+ * costs log2(k) comparisons, and equal records leave in source order, so the
+ * merge is stable.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+final class LoserTree<T> {
+
+    private final RecordReader<T>[] sources;
+    private final Object[] heads;
+    private final Comparator<? super T> c;
+    private final int k;
+
+    /**
+     * tree[1, k) hold the loser of each match, tree[0] the overall winner;
+     * the leaves k .. 2k - 1 are the sources.
+     */
+    private final int[] tree;
+
+    LoserTree(RecordReader<T>[] sources, Comparator<? super T> c) throws IOException {
+        this.sources = sources;
+        this.c = c;
+        this.k = sources.length;
+        this.heads = new Object[k];
+        this.tree = new int[Math.max(k, 1)];
+        for (int i = 0; i < k; i++) {
+            heads[i] = sources[i].read();
+        }
+        if (k > 0) {
+            tree[0] = k == 1 ? 0 : build(1);
+        }
+    }
+
+    /**
+     * @return the smallest record of all sources, or null when all are drained
+     */
+    @SuppressWarnings("unchecked")
+    T next() throws IOException {
+        if (k == 0) {
+            return null;
+        }
+        int w = tree[0];
+        T v = (T) heads[w];
+        if (v == null) {
+            return null;
+        }
+        heads[w] = sources[w].read();
+        int node = (w + k) >> 1;
+        while (node >= 1) {
+            if (less(tree[node], w)) {
+                int t = tree[node];
+                tree[node] = w;
+                w = t;
+            }
+            node >>= 1;
+        }
+        tree[0] = w;
+        return v;
+    }
+
+    private int build(int node) {
+        if (node >= k) {
+            return node - k;
+        }
+        int l = build(node << 1);
+        int r = build((node << 1) + 1);
+        if (less(r, l)) {
+            tree[node] = l;
+            return r;
+        }
+        tree[node] = r;
+        return l;
+    }
+
+    /**
+     * Drained sources compare greater than everything, ties go to the lower
+     * source index.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean less(int a, int b) {
+        Object x = heads[a];
+        Object y = heads[b];
+        if (x == null) {
+            return false;
+        }
+        if (y == null) {
+            return true;
+        }
+        int cmp = c.compare((T) x, (T) y);
+        return cmp < 0 || (cmp == 0 && a < b);
+    }
+}
@@ -0,0 +1,401 @@
+package me.asu.sort.external;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Zero-copy sort of fixed-width binary records that live in a memory-mapped
+ * file or an off-heap {@link ByteBuffer}. Records are ordered by the unsigned
+ * bytes of the key range [keyOffset, keyOffset + keyLength) and are never
+ * turned into objects.
+ * <ul>
+ * <li>{@link #sort()} moves the records in place with a multikey (three-way
+ * radix) quick sort on the key bytes, heap sort takes over a range that
+ * recurses too deep. No heap is used besides the recursion.</li>
+ * <li>{@link #sortedIndex()} leaves the records alone and returns the record
+ * numbers in key order: the first 8 key bytes of every record are read once,
+ * sequentially, into a long[] and LSD radix sorted together with the record
+ * numbers, only records whose prefixes tie are compared on the raw bytes.</li>
+ * </ul>
+ * Files larger than 2 GB are mapped as several segments, each holding a whole
+ * number of records. An instance is not thread safe.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class MappedRecordSort implements Closeable {
+
+    private static final int INSERTION_THRESHOLD = 16;
+    private static final int MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+
+    private static final int BITS = 11;
+    private static final int RADIX = 1 << BITS;
+    private static final int MASK = RADIX - 1;
+    private static final int PASSES = 6;
+
+    private final ByteBuffer[] segments;
+    private final int recordLength;
+    private final int keyOffset;
+    private final int keyLength;
+    private final int recordsPerSegment;
+    private final long records;
+    private final RandomAccessFile file;
+
+    /**
+     * Maps the whole file read-write, its length must be a multiple of
+     * recordLength.
+     */
+    public MappedRecordSort(File file, int recordLength, int keyOffset, int keyLength) throws IOException {
+        this(file, recordLength, keyOffset, keyLength, MAX_SEGMENT_BYTES);
+    }
+
+    MappedRecordSort(File file, int recordLength, int keyOffset, int keyLength, int maxSegmentBytes)
+            throws IOException {
+        checkLayout(recordLength, keyOffset, keyLength, maxSegmentBytes);
+        this.recordLength = recordLength;
+        this.keyOffset = keyOffset;
+        this.keyLength = keyLength;
+        this.recordsPerSegment = maxSegmentBytes / recordLength;
+        this.file = new RandomAccessFile(file, "rw");
+        try {
+            FileChannel channel = this.file.getChannel();
+            long size = channel.size();
+            if (size % recordLength != 0) {
+                throw new IOException("file length " + size + " is not a multiple of " + recordLength);
+            }
+            this.records = size / recordLength;
+            long segmentBytes = (long) recordsPerSegment * recordLength;
+            int count = (int) ((size + segmentBytes - 1) / segmentBytes);
+            this.segments = new ByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long pos = i * segmentBytes;
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, pos, Math.min(segmentBytes, size - pos));
+            }
+        } catch (IOException | RuntimeException e) {
+            this.file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Sorts the records held in buffer[0, limit), e.g. a direct buffer. The
+     * buffer's position and limit are not changed.
+     */
+    public MappedRecordSort(ByteBuffer buffer, int recordLength, int keyOffset, int keyLength) {
+        checkLayout(recordLength, keyOffset, keyLength, MAX_SEGMENT_BYTES);
+        if (buffer.limit() % recordLength != 0) {
+            throw new IllegalArgumentException("buffer limit " + buffer.limit()
+                    + " is not a multiple of " + recordLength);
+        }
+        this.recordLength = recordLength;
+        this.keyOffset = keyOffset;
+        this.keyLength = keyLength;
+        this.recordsPerSegment = MAX_SEGMENT_BYTES / recordLength;
+        this.records = buffer.limit() / recordLength;
+        this.segments = new ByteBuffer[]{buffer.duplicate().order(ByteOrder.BIG_ENDIAN)};
+        this.file = null;
+    }
+
+    private static void checkLayout(int recordLength, int keyOffset, int keyLength, int maxSegmentBytes) {
+        if (recordLength <= 0 || keyOffset < 0 || keyLength <= 0 || keyOffset + keyLength > recordLength) {
+            throw new IllegalArgumentException("bad key [" + keyOffset + ", " + (keyOffset + keyLength)
+                    + ") for record length " + recordLength);
+        }
+        if (maxSegmentBytes < recordLength) {
+            throw new IllegalArgumentException("record length " + recordLength + " > segment size");
+        }
+    }
+
+    public long size() {
+        return records;
+    }
+
+    /**
+     * Sorts the records in place.
+     */
+    public void sort() {
+        if (records < 2) {
+            return;
+        }
+        int depthLimit = 2 * (63 - Long.numberOfLeadingZeros(records)) + 2;
+        multikeySort(0, records, 0, depthLimit);
+    }
+
+    /**
+     * @return the record numbers in key order, equal keys keep file order
+     */
+    public int[] sortedIndex() {
+        if (records > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException(records + " records do not fit an int[] index");
+        }
+        int n = (int) records;
+        long[] keys = new long[n];
+        int[] index = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = prefix(i);
+            index[i] = i;
+        }
+        lsd(keys, index);
+        if (keyLength > 8) {
+            // sort the records that tie on their 8 byte prefix by the rest of the key
+            int[] tmp = null;
+            int start = 0;
+            for (int i = 1; i <= n; i++) {
+                if (i == n || keys[i] != keys[start]) {
+                    if (i - start > INSERTION_THRESHOLD && tmp == null) {
+                        tmp = new int[n];
+                    }
+                    indexMergeSort(index, tmp, start, i, 8);
+                    start = i;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Copies record number record into dst[off, off + recordLength).
+     */
+    public void readRecord(long record, byte[] dst, int off) {
+        ByteBuffer seg = segments[(int) (record / recordsPerSegment)];
+        int pos = (int) (record % recordsPerSegment) * recordLength;
+        for (int i = 0; i < recordLength; i++) {
+            dst[off + i] = seg.get(pos + i);
+        }
+    }
+
+    /**
+     * Flushes a mapped file and releases it, the mapping itself goes away
+     * with the buffers.
+     */
+    public void close() throws IOException {
+        if (file != null) {
+            for (ByteBuffer seg : segments) {
+                ((MappedByteBuffer) seg).force();
+            }
+            file.close();
+        }
+    }
+
+    private int keyByte(long record, int d) {
+        ByteBuffer seg = segments[(int) (record / recordsPerSegment)];
+        return seg.get((int) (record % recordsPerSegment) * recordLength + keyOffset + d) & 0xff;
+    }
+
+    /**
+     * First 8 key bytes big-endian, zero padded for shorter keys.
+     */
+    private long prefix(long record) {
+        ByteBuffer seg = segments[(int) (record / recordsPerSegment)];
+        int pos = (int) (record % recordsPerSegment) * recordLength + keyOffset;
+        if (keyLength >= 8) {
+            return seg.getLong(pos);
+        }
+        long p = 0;
+        for (int i = 0; i < 8; i++) {
+            p = (p << 8) | (i < keyLength ? seg.get(pos + i) & 0xff : 0);
+        }
+        return p;
+    }
+
+    /**
+     * Compares the keys of two records from key byte d on.
+     */
+    private int compare(long a, long b, int d) {
+        for (; d < keyLength; d++) {
+            int x = keyByte(a, d);
+            int y = keyByte(b, d);
+            if (x != y) {
+                return x - y;
+            }
+        }
+        return 0;
+    }
+
+    private void swap(long a, long b) {
+        if (a == b) {
+            return;
+        }
+        ByteBuffer sa = segments[(int) (a / recordsPerSegment)];
+        ByteBuffer sb = segments[(int) (b / recordsPerSegment)];
+        int pa = (int) (a % recordsPerSegment) * recordLength;
+        int pb = (int) (b % recordsPerSegment) * recordLength;
+        int i = 0;
+        for (; i + 8 <= recordLength; i += 8) {
+            long t = sa.getLong(pa + i);
+            sa.putLong(pa + i, sb.getLong(pb + i));
+            sb.putLong(pb + i, t);
+        }
+        for (; i < recordLength; i++) {
+            byte t = sa.get(pa + i);
+            sa.put(pa + i, sb.get(pb + i));
+            sb.put(pb + i, t);
+        }
+    }
+
+    /**
+     * Multikey quick sort of records [lo, hi) whose keys share their first d
+     * bytes: three-way partition on byte d, recurse into the smaller and
+     * greater parts, continue with the equal part on byte d + 1.
+     */
+    private void multikeySort(long lo, long hi, int d, int depth) {
+        while (hi - lo > INSERTION_THRESHOLD && d < keyLength) {
+            if (depth == 0) {
+                heapSort(lo, hi, d);
+                return;
+            }
+            long mid = lo + ((hi - lo) >>> 1);
+            int v = median3(keyByte(lo, d), keyByte(mid, d), keyByte(hi - 1, d));
+
+            long lt = lo;
+            long gt = hi - 1;
+            long i = lo;
+            while (i <= gt) {
+                int b = keyByte(i, d);
+                if (b < v) {
+                    swap(lt++, i++);
+                } else if (b > v) {
+                    swap(i, gt--);
+                } else {
+                    i++;
+                }
+            }
+            multikeySort(lo, lt, d, depth - 1);
+            multikeySort(gt + 1, hi, d, depth - 1);
+            lo = lt;
+            hi = gt + 1;
+            d++;
+        }
+        if (d < keyLength) {
+            for (long i = lo + 1; i < hi; i++) {
+                for (long j = i; j > lo && compare(j, j - 1, d) < 0; j--) {
+                    swap(j, j - 1);
+                }
+            }
+        }
+    }
+
+    private static int median3(int a, int b, int c) {
+        return a < b ? (b < c ? b : a < c ? c : a) : (b > c ? b : a > c ? c : a);
+    }
+
+    private void heapSort(long lo, long hi, int d) {
+        long n = hi - lo;
+        for (long k = (n >>> 1) - 1; k >= 0; k--) {
+            fixDown(lo, k, n, d);
+        }
+        for (long size = n - 1; size > 0; size--) {
+            swap(lo, lo + size);
+            fixDown(lo, 0, size, d);
+        }
+    }
+
+    private void fixDown(long base, long k, long size, int d) {
+        long j;
+        while ((j = (k << 1) + 1) < size) {
+            if (j + 1 < size && compare(base + j, base + j + 1, d) < 0) {
+                j++;
+            }
+            if (compare(base + k, base + j, d) >= 0) {
+                break;
+            }
+            swap(base + k, base + j);
+            k = j;
+        }
+    }
+
+    /**
+     * Stable merge sort of index[from, to) by the key bytes from d on, tmp is
+     * only touched for ranges above INSERTION_THRESHOLD.
+     */
+    private void indexMergeSort(int[] index, int[] tmp, int from, int to, int d) {
+        if (to - from <= INSERTION_THRESHOLD) {
+            indexInsertSort(index, from, to, d);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        indexMergeSort(index, tmp, from, mid, d);
+        indexMergeSort(index, tmp, mid, to, d);
+        if (compare(index[mid - 1], index[mid], d) <= 0) {
+            return;
+        }
+        System.arraycopy(index, from, tmp, from, to - from);
+        int i = from;
+        int j = mid;
+        for (int k = from; k < to; k++) {
+            if (j >= to || (i < mid && compare(tmp[i], tmp[j], d) <= 0)) {
+                index[k] = tmp[i++];
+            } else {
+                index[k] = tmp[j++];
+            }
+        }
+    }
+
+    private void indexInsertSort(int[] index, int from, int to, int d) {
+        for (int i = from + 1; i < to; i++) {
+            int v = index[i];
+            int j = i - 1;
+            for (; j >= from && compare(index[j], v, d) > 0; j--) {
+                index[j + 1] = index[j];
+            }
+            index[j + 1] = v;
+        }
+    }
+
+    /**
+     * Stable LSD radix sort of (keys, index) pairs, a digit that is the same
+     * for all keys is skipped.
+     */
+    private static void lsd(long[] keys, int[] index) {
+        int n = keys.length;
+        if (n < 2) {
+            return;
+        }
+        int[] count = new int[PASSES * RADIX];
+        for (int i = 0; i < n; i++) {
+            long k = keys[i];
+            for (int p = 0; p < PASSES; p++) {
+                count[p * RADIX + (int) ((k >>> (p * BITS)) & MASK)]++;
+            }
+        }
+        long[] ks = keys;
+        long[] kd = new long[n];
+        int[] vs = index;
+        int[] vd = new int[n];
+        for (int p = 0; p < PASSES; p++) {
+            int base = p * RADIX;
+            int shift = p * BITS;
+            if (count[base + (int) ((ks[0] >>> shift) & MASK)] == n) {
+                continue;
+            }
+            int sum = 0;
+            for (int b = base; b < base + RADIX; b++) {
+                int c = count[b];
+                count[b] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                long k = ks[i];
+                int pos = count[base + (int) ((k >>> shift) & MASK)]++;
+                kd[pos] = k;
+                vd[pos] = vs[i];
+            }
+            long[] kt = ks;
+            ks = kd;
+            kd = kt;
+            int[] vt = vs;
+            vs = vd;
+            vd = vt;
+        }
+        if (ks != keys) {
+            System.arraycopy(ks, 0, keys, 0, n);
+            System.arraycopy(vs, 0, index, 0, n);
+        }
+    }
+}
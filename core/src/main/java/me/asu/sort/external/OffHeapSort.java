@@ -0,0 +1,401 @@
+package me.asu.sort.external;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.ToLongFunction;
+import me.asu.sort.algorithm.IndexSort;
+import me.asu.sort.algorithm.NormalizedKeys;
+import me.asu.sort.algorithm.Permutations;
+
+/**
+ * Sorts records that are kept in direct memory instead of on the heap, for
+ * data sets whose objects would not fit the heap or would keep the
+ * collector busy.
+ * <p>
+ * {@link #add} serializes a record by its {@link RecordCodec} into a direct
+ * data buffer and appends a 16 byte entry to a direct entry buffer: the
+ * normalized 8 byte key prefix (see {@link NormalizedKeys}) and the
+ * position of the record. {@link #sort()} only moves the entries, with an
+ * in-place MSD radix sort (American flag) on the prefix bytes. The records
+ * are read back only to break ties of equal prefixes with the comparator,
+ * so prefixes that are mostly distinct mean almost no decoding. Equal
+ * records keep the order they were added in. {@link #iterator()} and
+ * {@link #writeTo} then stream the records out in order, decoding one at a
+ * time.
+ * <p>
+ * Heap use does not grow with the number of records, except for tie groups
+ * of up to {@value #TIE_BUFFER_LENGTH} records that are decoded together;
+ * larger tie groups are heap sorted in place. A comparator of null means the
+ * prefix is the whole key.
+ * <p>
+ * The direct buffers are released by {@link #close()} dropping them; their
+ * memory goes back when the collector clears them. Not thread safe.
+ * <pre>
+ * OffHeapSort&lt;String&gt; sort = new OffHeapSort&lt;String&gt;(new StringCodec(),
+ *         NormalizedKeys::prefix, Comparator.naturalOrder());
+ * for (String s : source) sort.add(s);
+ * sort.sort();
+ * sort.writeTo(writer);
+ * </pre>
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class OffHeapSort<T> implements Closeable {
+
+    public static final int DEFAULT_CHUNK_BYTES = 64 << 20;
+
+    private static final int ENTRY_BYTES = 16;
+    /** 2^20 entries, 16 MB, per entry buffer. */
+    private static final int ENTRY_SHIFT = 20;
+    private static final int ENTRY_MASK = (1 << ENTRY_SHIFT) - 1;
+
+    private static final int INSERTION_THRESHOLD = 32;
+    private static final int TIE_BUFFER_LENGTH = 1024;
+
+    private final RecordCodec<T> codec;
+    private final ToLongFunction<? super T> prefix;
+    private final Comparator<? super T> comparator;
+
+    private int chunkBytes = DEFAULT_CHUNK_BYTES;
+
+    private ByteBuffer[] entries = new ByteBuffer[4];
+    private long count;
+
+    /** Data buffers, one duplicate per buffer for reading. */
+    private ByteBuffer[] chunks = new ByteBuffer[4];
+    private ByteBuffer[] views = new ByteBuffer[4];
+    private int chunkCount;
+
+    private boolean sorted;
+
+    /**
+     * @param codec      the binary form of a record
+     * @param prefix     the normalized key prefix, in line with comparator
+     * @param comparator the record order, null when prefix is the whole key
+     */
+    public OffHeapSort(RecordCodec<T> codec, ToLongFunction<? super T> prefix, Comparator<? super T> comparator) {
+        if (codec == null) {
+            throw new NullPointerException("codec");
+        }
+        if (prefix == null) {
+            throw new NullPointerException("prefix");
+        }
+        this.codec = codec;
+        this.prefix = prefix;
+        this.comparator = comparator;
+    }
+
+    public int getChunkBytes() {
+        return chunkBytes;
+    }
+
+    /**
+     * Size of the direct data buffers, a larger record gets a buffer of its
+     * own.
+     */
+    public void setChunkBytes(int chunkBytes) {
+        if (chunkBytes < 1024) {
+            throw new IllegalArgumentException("chunkBytes < 1024: " + chunkBytes);
+        }
+        this.chunkBytes = chunkBytes;
+    }
+
+    public long size() {
+        return count;
+    }
+
+    /**
+     * Direct memory held, data and entries.
+     */
+    public long offHeapBytes() {
+        long entryBytes = 0;
+        for (ByteBuffer e : entries) {
+            entryBytes += e == null ? 0 : e.capacity();
+        }
+        long data = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            data += chunks[i].capacity();
+        }
+        return entryBytes + data;
+    }
+
+    public void add(T record) {
+        int size = codec.sizeOf(record);
+        ByteBuffer chunk = chunkCount == 0 ? null : chunks[chunkCount - 1];
+        if (chunk == null || chunk.remaining() < size) {
+            chunk = newChunk(Math.max(size, chunkBytes));
+        }
+        int offset = chunk.position();
+        codec.write(record, chunk);
+
+        long i = count;
+        int e = (int) (i >>> ENTRY_SHIFT);
+        if (e == entries.length) {
+            entries = Arrays.copyOf(entries, e << 1);
+        }
+        if (entries[e] == null) {
+            entries[e] = ByteBuffer.allocateDirect(ENTRY_BYTES << ENTRY_SHIFT);
+        }
+        set(i, prefix.applyAsLong(record), ((long) (chunkCount - 1) << 32) | offset);
+        count++;
+        sorted = false;
+    }
+
+    public void addAll(Iterator<? extends T> records) {
+        while (records.hasNext()) {
+            add(records.next());
+        }
+    }
+
+    public void sort() {
+        if (!sorted && count > 1) {
+            radixSort(0, count, 56);
+        }
+        sorted = true;
+    }
+
+    /**
+     * The records in order, sorting first if needed.
+     */
+    public Iterator<T> iterator() {
+        sort();
+        return new Iterator<T>() {
+            private long next;
+
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            public T next() {
+                if (next >= count) {
+                    throw new NoSuchElementException();
+                }
+                return read(pointer(next++));
+            }
+        };
+    }
+
+    /**
+     * Writes the records in order, sorting first if needed, and flushes.
+     */
+    public void writeTo(RecordWriter<T> out) throws IOException {
+        sort();
+        for (long i = 0; i < count; i++) {
+            out.write(read(pointer(i)));
+        }
+        out.flush();
+    }
+
+    /**
+     * Drops all records and buffers.
+     */
+    public void close() {
+        entries = new ByteBuffer[4];
+        chunks = new ByteBuffer[4];
+        views = new ByteBuffer[4];
+        chunkCount = 0;
+        count = 0;
+    }
+
+    private ByteBuffer newChunk(int capacity) {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount << 1);
+            views = Arrays.copyOf(views, chunkCount << 1);
+        }
+        ByteBuffer chunk = ByteBuffer.allocateDirect(capacity);
+        chunks[chunkCount] = chunk;
+        views[chunkCount] = chunk.duplicate();
+        chunkCount++;
+        return chunk;
+    }
+
+    private T read(long pointer) {
+        ByteBuffer view = views[(int) (pointer >>> 32)];
+        view.position((int) pointer);
+        return codec.read(view);
+    }
+
+    private long prefix(long i) {
+        return entries[(int) (i >>> ENTRY_SHIFT)].getLong(((int) i & ENTRY_MASK) * ENTRY_BYTES);
+    }
+
+    private long pointer(long i) {
+        return entries[(int) (i >>> ENTRY_SHIFT)].getLong(((int) i & ENTRY_MASK) * ENTRY_BYTES + 8);
+    }
+
+    private void set(long i, long prefix, long pointer) {
+        ByteBuffer e = entries[(int) (i >>> ENTRY_SHIFT)];
+        int pos = ((int) i & ENTRY_MASK) * ENTRY_BYTES;
+        e.putLong(pos, prefix);
+        e.putLong(pos + 8, pointer);
+    }
+
+    private void swap(long a, long b) {
+        long p = prefix(a);
+        long q = pointer(a);
+        set(a, prefix(b), pointer(b));
+        set(b, p, q);
+    }
+
+    private void radixSort(long lo, long hi, int shift) {
+        radixSort(lo, hi, shift, false);
+    }
+
+    /**
+     * American flag sort of entries [lo, hi) whose keys agree above bit
+     * shift + 8: counts the byte at shift, moves every entry into its bucket
+     * by cycles of swaps, recurses into the buckets with the next byte. The
+     * key is the prefix, or the pointer when byPointer is set; pointers are
+     * unique, so those are done after the last byte.
+     */
+    private void radixSort(long lo, long hi, int shift, boolean byPointer) {
+        if (hi - lo <= INSERTION_THRESHOLD) {
+            insertSort(lo, hi);
+            return;
+        }
+        long[] next = new long[257];
+        for (long i = lo; i < hi; i++) {
+            next[digit(key(i, byPointer), shift) + 1]++;
+        }
+        if (next[digit(key(lo, byPointer), shift) + 1] == hi - lo) {
+            // one bucket, e.g. the high byte of ASCII chars
+            if (shift > 0) {
+                radixSort(lo, hi, shift - 8, byPointer);
+            } else if (!byPointer) {
+                sortTies(lo, hi);
+            }
+            return;
+        }
+        next[0] = lo;
+        for (int b = 1; b <= 256; b++) {
+            next[b] += next[b - 1];
+        }
+        long[] end = Arrays.copyOfRange(next, 1, 257);
+        for (int b = 0; b < 256; b++) {
+            while (next[b] < end[b]) {
+                long i = next[b];
+                int d = digit(key(i, byPointer), shift);
+                if (d == b) {
+                    next[b]++;
+                } else {
+                    swap(i, next[d]++);
+                }
+            }
+        }
+        long start = lo;
+        for (int b = 0; b < 256; b++) {
+            long stop = end[b];
+            if (stop - start > 1) {
+                if (shift > 0) {
+                    radixSort(start, stop, shift - 8, byPointer);
+                } else if (!byPointer) {
+                    sortTies(start, stop);
+                }
+            }
+            start = stop;
+        }
+    }
+
+    private long key(long i, boolean byPointer) {
+        return byPointer ? pointer(i) : prefix(i);
+    }
+
+    private static int digit(long key, int shift) {
+        return (int) (key >>> shift) & 0xff;
+    }
+
+    /**
+     * Sorts entries [lo, hi) whose prefixes are all equal.
+     */
+    private void sortTies(long lo, long hi) {
+        if (hi - lo <= INSERTION_THRESHOLD) {
+            insertSort(lo, hi);
+            return;
+        }
+        if (comparator == null) {
+            // back into adding order, in place
+            radixSort(lo, hi, 56, true);
+            return;
+        }
+        if (hi - lo > TIE_BUFFER_LENGTH) {
+            heapSort(lo, hi);
+            return;
+        }
+        int n = (int) (hi - lo);
+        // decode the group once, sort (record, pointer) pairs on the heap
+        final Object[] records = new Object[n];
+        final long[] pointers = new long[n];
+        int[] order = Permutations.identity(n);
+        for (int i = 0; i < n; i++) {
+            pointers[i] = pointer(lo + i);
+            records[i] = read(pointers[i]);
+        }
+        IndexSort.sort(order, (a, b) -> {
+            @SuppressWarnings("unchecked")
+            int r = comparator.compare((T) records[a], (T) records[b]);
+            return r != 0 ? r : Long.compare(pointers[a], pointers[b]);
+        });
+        long p = prefix(lo);
+        for (int i = 0; i < n; i++) {
+            set(lo + i, p, pointers[order[i]]);
+        }
+    }
+
+    /**
+     * Compares entries by prefix, record and adding order.
+     */
+    private int compare(long a, long b) {
+        int r = Long.compareUnsigned(prefix(a), prefix(b));
+        if (r != 0) {
+            return r;
+        }
+        long pa = pointer(a);
+        long pb = pointer(b);
+        if (comparator != null) {
+            r = comparator.compare(read(pa), read(pb));
+            if (r != 0) {
+                return r;
+            }
+        }
+        return Long.compare(pa, pb);
+    }
+
+    private void insertSort(long lo, long hi) {
+        for (long i = lo + 1; i < hi; i++) {
+            for (long j = i; j > lo && compare(j, j - 1) < 0; j--) {
+                swap(j, j - 1);
+            }
+        }
+    }
+
+    private void heapSort(long lo, long hi) {
+        long n = hi - lo;
+        for (long k = (n >>> 1) - 1; k >= 0; k--) {
+            fixDown(lo, k, n);
+        }
+        for (long size = n - 1; size > 0; size--) {
+            swap(lo, lo + size);
+            fixDown(lo, 0, size);
+        }
+    }
+
+    private void fixDown(long base, long k, long size) {
+        long j;
+        while ((j = (k << 1) + 1) < size) {
+            if (j + 1 < size && compare(base + j, base + j + 1) < 0) {
+                j++;
+            }
+            if (compare(base + k, base + j) >= 0) {
+                break;
+            }
+            swap(base + k, base + j);
+            k = j;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package me.asu.sort.external;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Binary form of a record inside a buffer, for the sorts that keep their
+ * records off the heap and read them back one at a time.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public interface RecordCodec<T> {
+
+    /**
+     * Upper bound of the bytes {@link #write} takes for record.
+     */
+    int sizeOf(T record);
+
+    /**
+     * Writes record at the position of dst and advances it.
+     */
+    void write(T record, ByteBuffer dst);
+
+    /**
+     * Reads one record at the position of src and advances it.
+     */
+    T read(ByteBuffer src);
+}
@@ -0,0 +1,38 @@
+package me.asu.sort.external;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * How records are read from and written to a byte stream, and how much heap
+ * one record takes. The external sort keeps its runs in the same format as
+ * the input.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public interface RecordFormat<T> {
+
+    /**
+     * @param bufferSize the heap bytes the reader may buffer, as reported by
+     *                   {@link #streamFootprint(int)}
+     */
+    RecordReader<T> newReader(InputStream in, int bufferSize) throws IOException;
+
+    RecordWriter<T> newWriter(OutputStream out, int bufferSize) throws IOException;
+
+    /**
+     * Heap bytes a reader or writer made with bufferSize holds, all of its
+     * buffers counted. The default is a format that buffers bufferSize
+     * bytes and nothing else.
+     */
+    default long streamFootprint(int bufferSize) {
+        return bufferSize;
+    }
+
+    /**
+     * Estimated heap bytes of one record, used to stay inside the memory budget.
+     */
+    long sizeOf(T record);
+}
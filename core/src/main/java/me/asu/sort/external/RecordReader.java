@@ -0,0 +1,16 @@
+package me.asu.sort.external;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public interface RecordReader<T> extends Closeable {
+
+    /**
+     * @return the next record, or null at the end of the stream
+     */
+    T read() throws IOException;
+}
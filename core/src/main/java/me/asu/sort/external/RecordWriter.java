@@ -0,0 +1,18 @@
+package me.asu.sort.external;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public interface RecordWriter<T> extends Closeable {
+
+    void write(T record) throws IOException;
+
+    /**
+     * Flushes the buffered records without closing the underlying stream.
+     */
+    void flush() throws IOException;
+}
@@ -0,0 +1,51 @@
+package me.asu.sort.external;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * String records, encoded and length prefixed.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class StringCodec implements RecordCodec<String> {
+
+    private final Charset charset;
+    private final int maxBytesPerChar;
+
+    public StringCodec() {
+        this(StandardCharsets.UTF_8);
+    }
+
+    public StringCodec(Charset charset) {
+        if (charset == null) {
+            throw new NullPointerException("charset");
+        }
+        this.charset = charset;
+        this.maxBytesPerChar = (int) Math.ceil(charset.newEncoder().maxBytesPerChar());
+    }
+
+    public int sizeOf(String record) {
+        return 4 + maxBytesPerChar * record.length();
+    }
+
+    public void write(String record, ByteBuffer dst) {
+        byte[] b = record.getBytes(charset);
+        dst.putInt(b.length);
+        dst.put(b);
+    }
+
+    public String read(ByteBuffer src) {
+        int length = src.getInt();
+        if (src.hasArray()) {
+            int pos = src.position();
+            src.position(pos + length);
+            return new String(src.array(), src.arrayOffset() + pos, length, charset);
+        }
+        byte[] b = new byte[length];
+        src.get(b);
+        return new String(b, charset);
+    }
+}
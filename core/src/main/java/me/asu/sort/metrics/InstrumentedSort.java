@@ -0,0 +1,188 @@
+package me.asu.sort.metrics;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.LongAdder;
+import me.asu.sort.Sort;
+import me.asu.sort.Workspace;
+
+/**
+ * Decorates a {@link Sort} and reports every call to a {@link MetricsSink}:
+ * size and wall time always, and moves, scratch bytes and partition depth
+ * when {@link SortProbe#ENABLED}. Undecorated sorts are not affected.
+ * <p>
+ * Comparisons are counted for the object sorts given a comparator, by
+ * wrapping it. A natural order call is passed on as it is, comparator null,
+ * so that the delegate takes the same path as undecorated (the radix and
+ * string key paths of radix, string and auto are only taken then); its
+ * comparisons are counted by the {@link SortProbe} hooks when enabled. The
+ * primitive sorts compare inline and report their comparisons as -1.
+ * <p>
+ * Moves count the swaps and the elements copied into merge buffers, runs
+ * and radix passes and back, for the object and the primitive sorts alike.
+ * <p>
+ * A count that is not known is -1, never 0: all probe counts without
+ * {@link SortProbe#ENABLED}, and the probe counts of parallel_quick and
+ * parallel_merge (and auto when it picks one of them) once they hand work
+ * to their pool, whose threads the probe does not see.
+ * <pre>
+ * Sort sort = new InstrumentedSort(Sorts.get("tim"), new JmxMetricsSink());
+ * </pre>
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class InstrumentedSort implements Sort {
+
+    private final Sort delegate;
+    private final MetricsSink sink;
+
+    public InstrumentedSort(Sort delegate, MetricsSink sink) {
+        if (delegate == null || sink == null) {
+            throw new NullPointerException();
+        }
+        this.delegate = delegate;
+        this.sink = sink;
+    }
+
+    public Sort getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public <T> void sort(T[] data) {
+        sort(data, null, null);
+    }
+
+    @Override
+    public <T> void sort(T[] data, Comparator<? super T> c) {
+        sort(data, c, null);
+    }
+
+    @Override
+    public <T> void sort(T[] data, Comparator<? super T> c, Workspace workspace) {
+        if (data != null) {
+            sort(data, 0, data.length, c, workspace);
+        }
+    }
+
+    @Override
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c) {
+        sort(data, from, to, c, null);
+    }
+
+    /**
+     * workspace null means the delegate's own, see
+     * {@link Sort#sort(Object[], int, int, Comparator)}.
+     */
+    @Override
+    public <T> void sort(T[] data, int from, int to, Comparator<? super T> c, Workspace workspace) {
+        final LongAdder comparisons = c == null ? null : new LongAdder();
+        Comparator<? super T> counting = c == null ? null : (T a, T b) -> {
+            comparisons.increment();
+            return c.compare(a, b);
+        };
+        SortProbe.Recorder recorder = SortProbe.ENABLED ? new SortProbe.Recorder() : null;
+        SortProbe.Recorder outer = recorder == null ? null : SortProbe.begin(recorder);
+        long start = System.nanoTime();
+        try {
+            if (workspace == null) {
+                delegate.sort(data, from, to, counting);
+            } else {
+                delegate.sort(data, from, to, counting, workspace);
+            }
+        } finally {
+            long nanos = System.nanoTime() - start;
+            if (recorder != null) {
+                SortProbe.end(outer);
+            }
+            long counted = comparisons == null ? 0 : comparisons.sum();
+            if (seen(recorder)) {
+                counted += recorder.comparisons;
+            } else if (comparisons == null) {
+                counted = -1;
+            }
+            report(to - from, counted, recorder, nanos);
+        }
+    }
+
+    @Override
+    public void sort(int[] data, int from, int to) {
+        SortProbe.Recorder recorder = SortProbe.ENABLED ? new SortProbe.Recorder() : null;
+        SortProbe.Recorder outer = recorder == null ? null : SortProbe.begin(recorder);
+        long start = System.nanoTime();
+        try {
+            delegate.sort(data, from, to);
+        } finally {
+            finish(to - from, recorder, outer, start);
+        }
+    }
+
+    @Override
+    public void sort(long[] data, int from, int to) {
+        SortProbe.Recorder recorder = SortProbe.ENABLED ? new SortProbe.Recorder() : null;
+        SortProbe.Recorder outer = recorder == null ? null : SortProbe.begin(recorder);
+        long start = System.nanoTime();
+        try {
+            delegate.sort(data, from, to);
+        } finally {
+            finish(to - from, recorder, outer, start);
+        }
+    }
+
+    @Override
+    public void sort(float[] data, int from, int to) {
+        SortProbe.Recorder recorder = SortProbe.ENABLED ? new SortProbe.Recorder() : null;
+        SortProbe.Recorder outer = recorder == null ? null : SortProbe.begin(recorder);
+        long start = System.nanoTime();
+        try {
+            delegate.sort(data, from, to);
+        } finally {
+            finish(to - from, recorder, outer, start);
+        }
+    }
+
+    @Override
+    public void sort(double[] data, int from, int to) {
+        SortProbe.Recorder recorder = SortProbe.ENABLED ? new SortProbe.Recorder() : null;
+        SortProbe.Recorder outer = recorder == null ? null : SortProbe.begin(recorder);
+        long start = System.nanoTime();
+        try {
+            delegate.sort(data, from, to);
+        } finally {
+            finish(to - from, recorder, outer, start);
+        }
+    }
+
+    @Override
+    public String algorithm() {
+        return delegate.algorithm();
+    }
+
+    @Override
+    public boolean isStable() {
+        return delegate.isStable();
+    }
+
+    private void finish(int size, SortProbe.Recorder recorder, SortProbe.Recorder outer, long start) {
+        long nanos = System.nanoTime() - start;
+        if (recorder != null) {
+            SortProbe.end(outer);
+        }
+        report(size, -1, recorder, nanos);
+    }
+
+    private void report(int size, long comparisons, SortProbe.Recorder recorder, long nanos) {
+        boolean seen = seen(recorder);
+        sink.record(new SortMetrics(delegate.algorithm(), size, comparisons,
+                seen ? recorder.moves : -1,
+                seen ? recorder.scratchBytes : -1,
+                seen ? recorder.maxDepth : -1, nanos));
+    }
+
+    /**
+     * Whether the probe saw all of the call's work.
+     */
+    private static boolean seen(SortProbe.Recorder recorder) {
+        return recorder != null && !recorder.handedOff;
+    }
+}
@@ -0,0 +1,83 @@
+package me.asu.sort.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Aggregates the metrics per algorithm into {@link SortStats} MBeans,
+ * registered on first use as {@code me.asu.sort:type=SortStats,name=<algorithm>}
+ * with the platform MBean server. Use one sink per server: a name that is
+ * already taken is left to its owner.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class JmxMetricsSink implements MetricsSink {
+
+    public static final String DOMAIN = "me.asu.sort";
+
+    private final MBeanServer server;
+    private final ConcurrentMap<String, SortStats> stats = new ConcurrentHashMap<String, SortStats>();
+
+    public JmxMetricsSink() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public JmxMetricsSink(MBeanServer server) {
+        this.server = server;
+    }
+
+    @Override
+    public void record(SortMetrics metrics) {
+        stats(metrics.getAlgorithm()).add(metrics);
+    }
+
+    /**
+     * The totals of algorithm, registering their MBean when new.
+     */
+    public SortStats stats(String algorithm) {
+        SortStats s = stats.get(algorithm);
+        if (s != null) {
+            return s;
+        }
+        SortStats created = new SortStats(algorithm);
+        s = stats.putIfAbsent(algorithm, created);
+        if (s != null) {
+            return s;
+        }
+        try {
+            ObjectName name = objectName(algorithm);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(created, name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register the MBean of " + algorithm, e);
+        }
+        return created;
+    }
+
+    /**
+     * Unregisters all MBeans of this sink.
+     */
+    public void close() {
+        for (String algorithm : stats.keySet()) {
+            try {
+                ObjectName name = objectName(algorithm);
+                if (server.isRegistered(name)) {
+                    server.unregisterMBean(name);
+                }
+            } catch (JMException e) {
+                // already gone
+            }
+        }
+        stats.clear();
+    }
+
+    public static ObjectName objectName(String algorithm) throws JMException {
+        return new ObjectName(DOMAIN + ":type=SortStats,name=" + ObjectName.quote(algorithm));
+    }
+}
@@ -0,0 +1,14 @@
+package me.asu.sort.metrics;
+
+/**
+ * Receives the metrics of every {@link InstrumentedSort} call, on the
+ * sorting thread; an implementation shared by several threads must be
+ * thread safe.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public interface MetricsSink {
+
+    void record(SortMetrics metrics);
+}
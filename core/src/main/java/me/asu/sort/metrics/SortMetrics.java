@@ -0,0 +1,72 @@
+package me.asu.sort.metrics;
+
+/**
+ * What one sort call did. A count that was not collected is -1: moves,
+ * scratch bytes, depth and natural order comparisons need
+ * {@link SortProbe#ENABLED} and a call that stays on one thread, and the
+ * primitive sorts compare inline, uncounted.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class SortMetrics {
+
+    private final String algorithm;
+    private final int size;
+    private final long comparisons;
+    private final long moves;
+    private final long scratchBytes;
+    private final int maxDepth;
+    private final long nanos;
+
+    public SortMetrics(String algorithm, int size, long comparisons, long moves, long scratchBytes,
+                       int maxDepth, long nanos) {
+        this.algorithm = algorithm;
+        this.size = size;
+        this.comparisons = comparisons;
+        this.moves = moves;
+        this.scratchBytes = scratchBytes;
+        this.maxDepth = maxDepth;
+        this.nanos = nanos;
+    }
+
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Number of elements sorted.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public long getComparisons() {
+        return comparisons;
+    }
+
+    public long getMoves() {
+        return moves;
+    }
+
+    public long getScratchBytes() {
+        return scratchBytes;
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Wall time of the call.
+     */
+    public long getNanos() {
+        return nanos;
+    }
+
+    @Override
+    public String toString() {
+        return algorithm + "[size=" + size + ", comparisons=" + comparisons + ", moves=" + moves
+                + ", scratchBytes=" + scratchBytes + ", maxDepth=" + maxDepth + ", nanos=" + nanos + "]";
+    }
+}
@@ -0,0 +1,120 @@
+package me.asu.sort.metrics;
+
+/**
+ * Hooks in the hot paths of the sorts: natural order comparisons, element
+ * moves, scratch allocation and partition stack depth. A hook site reads
+ * <pre>
+ * if (SortProbe.ENABLED) {
+ *     SortProbe.move();
+ * }
+ * </pre>
+ * ENABLED is a constant, set once from the system property
+ * {@code me.asu.sort.metrics}; when it is false (the default) the JIT drops
+ * the whole block, so the sorts pay nothing. When it is true a hook records
+ * into the calling thread's {@link InstrumentedSort} call, if there is one.
+ * Work done by other threads (the parallel sorts' workers) is not seen, so
+ * a sort that hands work off calls {@link #handOff()} and the counts of the
+ * call are reported as unknown.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public final class SortProbe {
+
+    public static final boolean ENABLED = Boolean.getBoolean("me.asu.sort.metrics");
+
+    private static final ThreadLocal<Recorder> CURRENT = new ThreadLocal<Recorder>();
+
+    private SortProbe() {
+    }
+
+    /**
+     * Two elements compared without a comparator: in natural order, or by
+     * their radix keys. Calls of a comparator are counted by
+     * {@link InstrumentedSort} itself.
+     */
+    public static void compare() {
+        Recorder r = CURRENT.get();
+        if (r != null) {
+            r.comparisons++;
+        }
+    }
+
+    /**
+     * One element moved: a swap, or an element copied into a merge buffer
+     * or back.
+     */
+    public static void move() {
+        Recorder r = CURRENT.get();
+        if (r != null) {
+            r.moves++;
+        }
+    }
+
+    /**
+     * count elements moved at once, e.g. by System.arraycopy.
+     */
+    public static void move(long count) {
+        Recorder r = CURRENT.get();
+        if (r != null) {
+            r.moves += count;
+        }
+    }
+
+    /**
+     * bytes of scratch space were allocated.
+     */
+    public static void scratch(long bytes) {
+        Recorder r = CURRENT.get();
+        if (r != null) {
+            r.scratchBytes += bytes;
+        }
+    }
+
+    /**
+     * The partition stack or recursion reached depth.
+     */
+    public static void depth(int depth) {
+        Recorder r = CURRENT.get();
+        if (r != null && depth > r.maxDepth) {
+            r.maxDepth = depth;
+        }
+    }
+
+    /**
+     * Part of the work goes to other threads, whose hooks are not seen.
+     */
+    public static void handOff() {
+        Recorder r = CURRENT.get();
+        if (r != null) {
+            r.handedOff = true;
+        }
+    }
+
+    /**
+     * Starts recording on this thread.
+     *
+     * @return the recorder of an enclosing call, to pass to {@link #end}
+     */
+    static Recorder begin(Recorder recorder) {
+        Recorder outer = CURRENT.get();
+        CURRENT.set(recorder);
+        return outer;
+    }
+
+    static void end(Recorder outer) {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+
+    static final class Recorder {
+        long comparisons;
+        long moves;
+        long scratchBytes;
+        int maxDepth;
+        boolean handedOff;
+    }
+}
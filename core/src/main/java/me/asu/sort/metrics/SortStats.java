@@ -0,0 +1,108 @@
+package me.asu.sort.metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe totals of one algorithm.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class SortStats implements SortStatsMBean {
+
+    private final String algorithm;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder elements = new LongAdder();
+    private final LongAdder comparisons = new LongAdder();
+    private final LongAdder moves = new LongAdder();
+    private final LongAdder scratchBytes = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicInteger maxDepth = new AtomicInteger();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public SortStats(String algorithm) {
+        this.algorithm = algorithm;
+    }
+
+    public void add(SortMetrics m) {
+        calls.increment();
+        elements.add(m.getSize());
+        if (m.getComparisons() >= 0) {
+            comparisons.add(m.getComparisons());
+        }
+        if (m.getMoves() >= 0) {
+            moves.add(m.getMoves());
+        }
+        if (m.getScratchBytes() >= 0) {
+            scratchBytes.add(m.getScratchBytes());
+        }
+        totalNanos.add(m.getNanos());
+        maxDepth.accumulateAndGet(m.getMaxDepth(), Math::max);
+        maxNanos.accumulateAndGet(m.getNanos(), Math::max);
+    }
+
+    @Override
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    @Override
+    public long getElements() {
+        return elements.sum();
+    }
+
+    @Override
+    public long getComparisons() {
+        return comparisons.sum();
+    }
+
+    @Override
+    public long getMoves() {
+        return moves.sum();
+    }
+
+    @Override
+    public long getScratchBytes() {
+        return scratchBytes.sum();
+    }
+
+    @Override
+    public int getMaxDepth() {
+        return maxDepth.get();
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    @Override
+    public double getNanosPerElement() {
+        long n = elements.sum();
+        return n == 0 ? 0 : (double) totalNanos.sum() / n;
+    }
+
+    @Override
+    public void reset() {
+        calls.reset();
+        elements.reset();
+        comparisons.reset();
+        moves.reset();
+        scratchBytes.reset();
+        totalNanos.reset();
+        maxDepth.set(0);
+        maxNanos.set(0);
+    }
+}
@@ -0,0 +1,33 @@
+package me.asu.sort.metrics;
+
+/**
+ * Totals of one algorithm since the last reset, see {@link JmxMetricsSink}.
+ * Counts that were not collected (-1 in {@link SortMetrics}) are left out.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public interface SortStatsMBean {
+
+    String getAlgorithm();
+
+    long getCalls();
+
+    long getElements();
+
+    long getComparisons();
+
+    long getMoves();
+
+    long getScratchBytes();
+
+    int getMaxDepth();
+
+    long getTotalNanos();
+
+    long getMaxNanos();
+
+    double getNanosPerElement();
+
+    void reset();
+}
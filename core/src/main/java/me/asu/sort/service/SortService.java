@@ -0,0 +1,364 @@
+package me.asu.sort.service;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import me.asu.sort.Sort;
+import me.asu.sort.algorithm.Sorts;
+import me.asu.sort.metrics.LatencyHistogram;
+
+/**
+ * Runs many independent sort jobs on a work-stealing pool.
+ * <p>
+ * Jobs wait in a bounded queue: {@link #submit} blocks while it is full,
+ * {@link #trySubmit} fails the future at once, so producers can not run
+ * ahead of the pool. A job is never rejected by an exception: when the
+ * queue is full or the service is closed its future fails with a
+ * {@link RejectedExecutionException}, for submit and trySubmit alike.
+ * <p>
+ * The queue is drained by at most parallelism tasks in the pool. A task
+ * sorts job after job until it has sorted batchElements elements, then
+ * hands its thread back to the pool and queues itself again, so thousands
+ * of tiny arrays cost a few pool tasks instead of one each, while a big one
+ * still gets a task of its own. A new task is only started when the queued
+ * elements exceed what the running tasks take in one batch.
+ * <p>
+ * The futures complete with the sorted array itself, or exceptionally with
+ * what the sort threw. The latency from submit to completion of every job
+ * goes into a {@link LatencyHistogram}.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class SortService implements Closeable {
+
+    public static final int DEFAULT_QUEUE_CAPACITY = 1 << 12;
+    public static final int DEFAULT_BATCH_ELEMENTS = 1 << 14;
+
+    private final Sort sort;
+    private final ForkJoinPool pool;
+    private final boolean ownPool;
+    private final int parallelism;
+    private final BlockingQueue<Job<?>> queue;
+    private final AtomicInteger drainers = new AtomicInteger();
+    private final AtomicLong queuedElements = new AtomicLong();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private volatile int batchElements = DEFAULT_BATCH_ELEMENTS;
+    private volatile boolean closed;
+
+    /**
+     * The auto sort on a pool of its own, one thread per core, shut down by
+     * {@link #close()}.
+     */
+    public SortService() {
+        this(Sorts.get("auto"));
+    }
+
+    public SortService(Sort sort) {
+        this(sort, new ForkJoinPool(Runtime.getRuntime().availableProcessors(),
+                ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true), true, DEFAULT_QUEUE_CAPACITY);
+    }
+
+    /**
+     * @param sort          the sort of every job
+     * @param pool          the pool the jobs run in, left running by close
+     * @param queueCapacity the jobs that can wait before submit blocks
+     */
+    public SortService(Sort sort, ForkJoinPool pool, int queueCapacity) {
+        this(sort, pool, false, queueCapacity);
+    }
+
+    private SortService(Sort sort, ForkJoinPool pool, boolean ownPool, int queueCapacity) {
+        if (sort == null) {
+            throw new NullPointerException("sort");
+        }
+        if (pool == null) {
+            throw new NullPointerException("pool");
+        }
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("queueCapacity < 1: " + queueCapacity);
+        }
+        this.sort = sort;
+        this.pool = pool;
+        this.ownPool = ownPool;
+        this.parallelism = pool.getParallelism();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    public int getBatchElements() {
+        return batchElements;
+    }
+
+    /**
+     * The elements one task sorts before it gives its thread back.
+     */
+    public void setBatchElements(int batchElements) {
+        if (batchElements < 1) {
+            throw new IllegalArgumentException("batchElements < 1: " + batchElements);
+        }
+        this.batchElements = batchElements;
+    }
+
+    /**
+     * Queues the job, waiting for room in the queue.
+     */
+    public <T> CompletableFuture<T[]> submit(T[] data) throws InterruptedException {
+        return submit(data, null);
+    }
+
+    public <T> CompletableFuture<T[]> submit(T[] data, Comparator<? super T> c) throws InterruptedException {
+        return enqueue(objectJob(data, c));
+    }
+
+    public CompletableFuture<int[]> submit(int[] data) throws InterruptedException {
+        return enqueue(job(data));
+    }
+
+    public CompletableFuture<long[]> submit(long[] data) throws InterruptedException {
+        return enqueue(job(data));
+    }
+
+    public CompletableFuture<double[]> submit(double[] data) throws InterruptedException {
+        return enqueue(job(data));
+    }
+
+    /**
+     * Queues every array, waiting for room as needed; the futures are in the
+     * order of the arrays.
+     */
+    public <T> List<CompletableFuture<T[]>> submitAll(Collection<? extends T[]> batch, Comparator<? super T> c)
+            throws InterruptedException {
+        List<CompletableFuture<T[]>> futures = new ArrayList<>(batch.size());
+        for (T[] data : batch) {
+            futures.add(submit(data, c));
+        }
+        return futures;
+    }
+
+    /**
+     * Queues the job if there is room, otherwise the future fails with a
+     * {@link RejectedExecutionException}.
+     */
+    public <T> CompletableFuture<T[]> trySubmit(T[] data) {
+        return trySubmit(data, null);
+    }
+
+    public <T> CompletableFuture<T[]> trySubmit(T[] data, Comparator<? super T> c) {
+        return offer(objectJob(data, c));
+    }
+
+    public CompletableFuture<int[]> trySubmit(int[] data) {
+        return offer(job(data));
+    }
+
+    public CompletableFuture<long[]> trySubmit(long[] data) {
+        return offer(job(data));
+    }
+
+    public CompletableFuture<double[]> trySubmit(double[] data) {
+        return offer(job(data));
+    }
+
+    /**
+     * The jobs waiting for a thread.
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public int getQueueCapacity() {
+        return queue.size() + queue.remainingCapacity();
+    }
+
+    public long getCompleted() {
+        return completed.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    /**
+     * The latency in ns from submit to completion that p percent of the
+     * jobs did not exceed, e.g. 50, 99 or 99.9.
+     */
+    public long latencyPercentile(double p) {
+        return latency.percentile(p);
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Stops taking jobs; the queued ones still run, later ones are
+     * rejected. A pool the service made is shut down after them, waiting
+     * for them may run some on the calling thread.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (ownPool) {
+            while (!queue.isEmpty() || drainers.get() > 0) {
+                try {
+                    pool.awaitQuiescence(10, TimeUnit.MILLISECONDS);
+                } catch (RuntimeException ignore) {
+                    break;
+                }
+            }
+            pool.shutdown();
+        }
+    }
+
+    private <T> Job<T[]> objectJob(T[] data, Comparator<? super T> c) {
+        return new Job<>(data, data.length, () -> sort.sort(data, c));
+    }
+
+    private Job<int[]> job(int[] data) {
+        return new Job<>(data, data.length, () -> sort.sort(data));
+    }
+
+    private Job<long[]> job(long[] data) {
+        return new Job<>(data, data.length, () -> sort.sort(data));
+    }
+
+    private Job<double[]> job(double[] data) {
+        return new Job<>(data, data.length, () -> sort.sort(data));
+    }
+
+    private <A> CompletableFuture<A> enqueue(Job<A> job) throws InterruptedException {
+        if (closed) {
+            return reject(job, "closed");
+        }
+        queue.put(job);
+        return queued(job);
+    }
+
+    private <A> CompletableFuture<A> offer(Job<A> job) {
+        if (closed) {
+            return reject(job, "closed");
+        }
+        if (!queue.offer(job)) {
+            return reject(job, "queue full");
+        }
+        return queued(job);
+    }
+
+    /**
+     * Starts the draining of a job just queued. A producer may have waited
+     * in put while close ran, so closed is read again: a job no drainer has
+     * taken yet is taken back and rejected rather than left for a pool that
+     * is being shut down.
+     */
+    private <A> CompletableFuture<A> queued(Job<A> job) {
+        if (closed && queue.remove(job)) {
+            return reject(job, "closed");
+        }
+        queuedElements.addAndGet(job.size);
+        startDrainer();
+        return job.future;
+    }
+
+    private <A> CompletableFuture<A> reject(Job<A> job, String reason) {
+        rejected.increment();
+        job.future.completeExceptionally(new RejectedExecutionException(reason));
+        return job.future;
+    }
+
+    /**
+     * Starts one more draining task if none runs, or if the queued elements
+     * are more than the running ones take in a batch each.
+     */
+    private void startDrainer() {
+        while (true) {
+            int running = drainers.get();
+            if (running >= parallelism || queue.isEmpty()
+                    || (running > 0 && queuedElements.get() <= (long) running * batchElements)) {
+                return;
+            }
+            if (drainers.compareAndSet(running, running + 1)) {
+                execute(new Drainer());
+                return;
+            }
+        }
+    }
+
+    private void execute(Drainer drainer) {
+        try {
+            pool.execute(drainer);
+        } catch (RejectedExecutionException e) {
+            // the pool is shut down, finish the work here
+            drainer.run();
+        }
+    }
+
+    private final class Drainer implements Runnable {
+
+        @Override
+        public void run() {
+            long budget = batchElements;
+            Job<?> job;
+            while (budget > 0 && (job = queue.poll()) != null) {
+                queuedElements.addAndGet(-job.size);
+                job.run();
+                budget -= Math.max(1, job.size);
+            }
+            if (!queue.isEmpty()) {
+                // batch done, queue up behind the other work of the pool
+                execute(this);
+                return;
+            }
+            drainers.decrementAndGet();
+            // a job queued after the last poll may have seen this drainer
+            // still running and started none
+            startDrainer();
+        }
+    }
+
+    private final class Job<A> {
+
+        final A data;
+        final int size;
+        final Runnable body;
+        final long enqueued = System.nanoTime();
+        final CompletableFuture<A> future = new CompletableFuture<>();
+
+        Job(A data, int size, Runnable body) {
+            this.data = data;
+            this.size = size;
+            this.body = body;
+        }
+
+        void run() {
+            try {
+                body.run();
+            } catch (Throwable e) {
+                failed.increment();
+                latency.record(System.nanoTime() - enqueued);
+                future.completeExceptionally(e);
+                return;
+            }
+            completed.increment();
+            latency.record(System.nanoTime() - enqueued);
+            future.complete(data);
+        }
+    }
+}
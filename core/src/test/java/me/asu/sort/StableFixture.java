@@ -0,0 +1,93 @@
+package me.asu.sort;
+
+import static org.junit.Assert.assertSame;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.function.Consumer;
+
+/**
+ * Tie-heavy input for checking sorts against the stable {@link Arrays#sort}.
+ * Items are (key, seq) pairs ordered by key only; a stable sort puts the
+ * very same objects in the very same order as Arrays.sort, so the result is
+ * compared by identity, which also catches lost or duplicated elements.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public final class StableFixture {
+
+    /**
+     * Sizes around the usual insertion sort cutoffs and a few large ones.
+     */
+    private static final int[] SIZES = {0, 1, 2, 31, 32, 33, 1000, 4097, 100003};
+
+    private StableFixture() {
+    }
+
+    public static final class Item {
+        public final long key;
+        public final int seq;
+
+        public Item(long key, int seq) {
+            this.key = key;
+            this.seq = seq;
+        }
+
+        @Override
+        public String toString() {
+            return key + "#" + seq;
+        }
+    }
+
+    public static final Comparator<Item> BY_KEY = (a, b) -> Long.compare(a.key, b.key);
+
+    /**
+     * The common sizes together with the edges of the sort under test.
+     */
+    public static int[] sizes(int... edges) {
+        int[] sizes = Arrays.copyOf(SIZES, SIZES.length + edges.length);
+        System.arraycopy(edges, 0, sizes, SIZES.length, edges.length);
+        Arrays.sort(sizes);
+        return sizes;
+    }
+
+    /**
+     * Items with the given keys, numbered in order.
+     */
+    public static Item[] items(int[] keys) {
+        Item[] data = new Item[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            data[i] = new Item(keys[i], i);
+        }
+        return data;
+    }
+
+    /**
+     * n items with keys drawn from [0, keys).
+     */
+    public static Item[] items(Random random, int n, int keys) {
+        Item[] data = new Item[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = new Item(random.nextInt(keys), i);
+        }
+        return data;
+    }
+
+    /**
+     * Sorts data with sort and checks it against Arrays.sort by key.
+     */
+    public static void assertSortsStably(Item[] data, Consumer<Item[]> sort) {
+        Item[] expected = data.clone();
+        Arrays.sort(expected, BY_KEY);
+        sort.accept(data);
+        assertSameOrder(expected, data);
+    }
+
+    public static void assertSameOrder(Object[] expected, Object[] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            assertSame("at " + i, expected[i], actual[i]);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package me.asu.sort.algorithm;
+
+import static me.asu.sort.StableFixture.BY_KEY;
+import static me.asu.sort.StableFixture.assertSameOrder;
+import static me.asu.sort.StableFixture.assertSortsStably;
+import static me.asu.sort.StableFixture.items;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import me.asu.sort.StableFixture;
+import me.asu.sort.StableFixture.Item;
+import me.asu.sort.Workspace;
+import org.junit.Test;
+
+/**
+ * Checks {@link BlockMergeSort} on tie-heavy input, presorted and reversed
+ * input, and the primitive overloads, including -0.0 and NaN.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class BlockMergeSortTest {
+
+    private static final int[] SIZES = StableFixture.sizes(100, 20000);
+
+    private final BlockMergeSort sort = new BlockMergeSort();
+    private final Random random = new Random(23);
+
+    @Test
+    public void sortsStablyLikeArraysSort() {
+        for (int n : SIZES) {
+            for (int keys : new int[]{1, 7, n + 1}) {
+                assertSortsStably(items(random, n, keys), data -> sort.sort(data, BY_KEY));
+            }
+        }
+    }
+
+    @Test
+    public void sortsPresortedAndReversedInput() {
+        for (int n : SIZES) {
+            Item[] presorted = items(random, n, 100);
+            Arrays.sort(presorted, BY_KEY);
+            assertSortsStably(presorted, data -> sort.sort(data, BY_KEY));
+
+            Item[] reversed = items(random, n, 100);
+            Arrays.sort(reversed, BY_KEY.reversed());
+            assertSortsStably(reversed, data -> sort.sort(data, BY_KEY));
+        }
+    }
+
+    @Test
+    public void sortsOnlyTheRange() {
+        for (int n : SIZES) {
+            Item[] data = items(random, n, 50);
+            int from = n / 3;
+            int to = n - n / 4;
+            Item[] expected = data.clone();
+            Arrays.sort(expected, from, to, BY_KEY);
+            sort.sort(data, from, to, BY_KEY, new Workspace());
+            assertSameOrder(expected, data);
+        }
+    }
+
+    @Test
+    public void sortsInNaturalOrder() {
+        for (int n : SIZES) {
+            Integer[] data = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                data[i] = random.nextInt(1000) - 500;
+            }
+            Integer[] expected = data.clone();
+            Arrays.sort(expected);
+            sort.sort(data);
+            assertArrayEquals(expected, data);
+        }
+    }
+
+    @Test
+    public void sortsPrimitives() {
+        for (int n : SIZES) {
+            int[] ints = new int[n];
+            long[] longs = new long[n];
+            double[] doubles = new double[n];
+            for (int i = 0; i < n; i++) {
+                ints[i] = random.nextInt();
+                longs[i] = random.nextLong();
+                int r = random.nextInt(8);
+                doubles[i] = r == 0 ? Double.NaN : r == 1 ? -0.0 : r == 2 ? 0.0 : random.nextGaussian();
+            }
+            int[] expectedInts = ints.clone();
+            long[] expectedLongs = longs.clone();
+            double[] expectedDoubles = doubles.clone();
+            Arrays.sort(expectedInts);
+            Arrays.sort(expectedLongs);
+            Arrays.sort(expectedDoubles);
+            sort.sort(ints);
+            sort.sort(longs);
+            sort.sort(doubles);
+            assertArrayEquals(expectedInts, ints);
+            assertArrayEquals(expectedLongs, longs);
+            // exact, -0.0 before 0.0 and NaN last
+            assertTrue(Arrays.equals(expectedDoubles, doubles));
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package me.asu.sort.algorithm;
+
+import static me.asu.sort.StableFixture.assertSameOrder;
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import me.asu.sort.StableFixture;
+import me.asu.sort.algorithm.CompositeSort.Column;
+import me.asu.sort.algorithm.CompositeSort.Nulls;
+import me.asu.sort.algorithm.CompositeSort.Order;
+import org.junit.Test;
+
+/**
+ * Checks {@link CompositeSort} against Arrays.sort with the equivalent
+ * chained comparator, for column lists that take the radix path all the way,
+ * switch to comparisons midway, or start with an object column. Columns have
+ * few values, so every level has ties to break and stability is checked by
+ * identity.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class CompositeSortTest {
+
+    private static final int[] SIZES = StableFixture.sizes();
+
+    private final Random random = new Random(17);
+
+    static final class Row {
+        final int i;
+        final long l;
+        final double d;
+        final byte[] shortBytes;
+        final byte[] longBytes;
+        final String s;
+
+        Row(int i, long l, double d, byte[] shortBytes, byte[] longBytes, String s) {
+            this.i = i;
+            this.l = l;
+            this.d = d;
+            this.shortBytes = shortBytes;
+            this.longBytes = longBytes;
+            this.s = s;
+        }
+
+        @Override
+        public String toString() {
+            return i + "," + l + "," + d + "," + Arrays.toString(shortBytes) + "," + s;
+        }
+    }
+
+    private static final Comparator<byte[]> UNSIGNED = (a, b) -> {
+        int n = Math.min(a.length, b.length);
+        for (int k = 0; k < n; k++) {
+            int r = (a[k] & 0xff) - (b[k] & 0xff);
+            if (r != 0) {
+                return r;
+            }
+        }
+        return a.length - b.length;
+    };
+
+    private byte[] bytes(int maxLength) {
+        byte[] b = new byte[random.nextInt(maxLength + 1)];
+        for (int k = 0; k < b.length; k++) {
+            b[k] = (byte) (random.nextBoolean() ? 0x80 : random.nextInt(2));
+        }
+        return b;
+    }
+
+    private Row[] rows(int n) {
+        Row[] rows = new Row[n];
+        for (int k = 0; k < n; k++) {
+            int r = random.nextInt(6);
+            double d = r == 0 ? Double.NaN : r == 1 ? -0.0 : r == 2 ? 0.0 : random.nextInt(3) - 1;
+            rows[k] = new Row(random.nextInt(3) - 1, random.nextBoolean() ? Long.MIN_VALUE : random.nextInt(3), d,
+                    bytes(3), random.nextInt(8) == 0 ? null : bytes(9),
+                    random.nextInt(8) == 0 ? null : String.valueOf((char) ('a' + random.nextInt(3))));
+        }
+        return rows;
+    }
+
+    private void check(CompositeSort<Row> sort, Comparator<Row> expectedOrder) {
+        for (int n : SIZES) {
+            Row[] data = rows(n);
+            Row[] expected = data.clone();
+            Arrays.sort(expected, expectedOrder);
+            Row[] viaComparator = data.clone();
+            Arrays.sort(viaComparator, sort.comparator());
+            sort.sort(data);
+            assertSameOrder(expected, data);
+            assertSameOrder(expected, viaComparator);
+        }
+    }
+
+    @Test
+    public void radixSortsPrimitiveColumns() {
+        check(new CompositeSort<Row>(
+                        Column.ofInt(r -> r.i, Order.ASC),
+                        Column.ofLong(r -> r.l, Order.DESC),
+                        Column.ofDouble(r -> r.d, Order.ASC),
+                        Column.ofBytes(r -> r.shortBytes, Order.DESC, Nulls.FIRST)),
+                Comparator.<Row>comparingInt(r -> r.i)
+                        .thenComparing(Comparator.<Row>comparingLong(r -> r.l).reversed())
+                        .thenComparing((a, b) -> Double.compare(a.d, b.d))
+                        .thenComparing(r -> r.shortBytes, UNSIGNED.reversed()));
+    }
+
+    @Test
+    public void comparesOnceAnObjectColumnIsReached() {
+        check(new CompositeSort<Row>(
+                        Column.ofDouble(r -> r.d, Order.DESC),
+                        Column.ofBytes(r -> r.longBytes, Order.ASC, Nulls.LAST),
+                        Column.of(r -> r.s, Order.DESC, Nulls.FIRST),
+                        Column.ofInt(r -> r.i, Order.ASC)),
+                Comparator.<Row>comparingDouble(r -> r.d).reversed()
+                        .thenComparing(r -> r.longBytes, Comparator.nullsLast(UNSIGNED))
+                        .thenComparing(r -> r.s, Comparator.nullsFirst(Comparator.<String>reverseOrder()))
+                        .thenComparingInt(r -> r.i));
+    }
+
+    @Test
+    public void startsWithAnObjectColumn() {
+        check(new CompositeSort<Row>(
+                        Column.of(r -> r.s, Comparator.<String>naturalOrder(), Order.ASC, Nulls.LAST),
+                        Column.ofLong(r -> r.l, Order.ASC)),
+                Comparator.<Row, String>comparing(r -> r.s, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+                        .thenComparingLong(r -> r.l));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNoColumns() {
+        new CompositeSort<Row>(Arrays.<Column<Row>>asList());
+    }
+
+    @Test
+    public void ignoresTrivialInput() {
+        CompositeSort<Row> sort = new CompositeSort<Row>(Column.ofInt(r -> r.i, Order.ASC));
+        sort.sort(null);
+        Row[] one = rows(1);
+        Row only = one[0];
+        sort.sort(one);
+        assertEquals(only, one[0]);
+    }
+}
@@ -0,0 +1,177 @@
+package me.asu.sort.algorithm;
+
+import static me.asu.sort.StableFixture.BY_KEY;
+import static me.asu.sort.StableFixture.assertSameOrder;
+import static me.asu.sort.StableFixture.items;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Arrays;
+import java.util.Random;
+import me.asu.sort.StableFixture;
+import me.asu.sort.StableFixture.Item;
+import org.junit.Test;
+
+/**
+ * Checks {@link Permutations} against a plain gather through a copy, that
+ * order is restored after every apply, and that a bad order fails before
+ * anything moves. The argsorts feed it parallel columns.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class PermutationsTest {
+
+    private static final int[] SIZES = StableFixture.sizes();
+
+    private final Random random = new Random(16);
+
+    private int[] randomOrder(int n) {
+        int[] order = Permutations.identity(n);
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int t = order[i];
+            order[i] = order[j];
+            order[j] = t;
+        }
+        return order;
+    }
+
+    private int[] randomInts(int n) {
+        int[] data = new int[n];
+        for (int i = 0; i < n; i++) {
+            data[i] = random.nextInt(n + 1);
+        }
+        return data;
+    }
+
+    @Test
+    public void appliesToEveryArrayType() {
+        for (int n : SIZES) {
+            int[] order = randomOrder(n);
+            int[] saved = order.clone();
+            int[] ints = randomInts(n);
+            long[] longs = new long[n];
+            double[] doubles = new double[n];
+            float[] floats = new float[n];
+            short[] shorts = new short[n];
+            boolean[] booleans = new boolean[n];
+            String[] strings = new String[n];
+            for (int i = 0; i < n; i++) {
+                longs[i] = ints[i] * 3L;
+                doubles[i] = ints[i] / 2.0;
+                floats[i] = ints[i] / 4.0f;
+                shorts[i] = (short) ints[i];
+                booleans[i] = ints[i] % 2 == 0;
+                strings[i] = Integer.toString(ints[i]);
+            }
+            int[] expected = new int[n];
+            for (int i = 0; i < n; i++) {
+                expected[i] = ints[order[i]];
+            }
+
+            Permutations.applyAll(order, ints, longs, doubles, floats, shorts, booleans, strings);
+            assertArrayEquals(saved, order);
+            assertArrayEquals(expected, ints);
+            for (int i = 0; i < n; i++) {
+                assertTrue("at " + i, longs[i] == expected[i] * 3L && doubles[i] == expected[i] / 2.0
+                        && floats[i] == expected[i] / 4.0f && shorts[i] == (short) expected[i]
+                        && booleans[i] == (expected[i] % 2 == 0)
+                        && strings[i].equals(Integer.toString(expected[i])));
+            }
+        }
+    }
+
+    @Test
+    public void appliesThroughASwapper() {
+        for (int n : SIZES) {
+            int[] order = randomOrder(n);
+            int[] data = randomInts(n);
+            int[] expected = data.clone();
+            Permutations.apply(order, expected);
+            Permutations.apply(order, (i, j) -> {
+                int t = data[i];
+                data[i] = data[j];
+                data[j] = t;
+            });
+            assertArrayEquals(expected, data);
+        }
+    }
+
+    @Test
+    public void appliesToARange() {
+        for (int n : SIZES) {
+            Item[] data = items(random, n, n + 1);
+            int from = n / 3;
+            int[] order = randomOrder(n - from - n / 4);
+            Item[] expected = data.clone();
+            for (int i = 0; i < order.length; i++) {
+                expected[from + i] = data[from + order[i]];
+            }
+            Permutations.apply(order, data, from);
+            assertSameOrder(expected, data);
+        }
+    }
+
+    @Test
+    public void invertsTheOrder() {
+        for (int n : SIZES) {
+            int[] order = randomOrder(n);
+            Integer[] data = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                data[i] = i;
+            }
+            Integer[] original = data.clone();
+            Permutations.apply(order, data);
+            Permutations.apply(Permutations.inverse(order), data);
+            assertArrayEquals(original, data);
+        }
+    }
+
+    @Test
+    public void rejectsABadOrderBeforeMoving() {
+        int[][] bad = {{0, 0, 2}, {0, 1, 3}, {2, 0, 2}, {-1, 0, 1}};
+        for (int[] order : bad) {
+            int[] saved = order.clone();
+            int[] data = {10, 11, 12};
+            try {
+                Permutations.apply(order, data);
+                fail(Arrays.toString(saved));
+            } catch (IllegalArgumentException expected) {
+                // not a permutation
+            }
+            assertArrayEquals(saved, order);
+            assertArrayEquals(new int[]{10, 11, 12}, data);
+        }
+        try {
+            Permutations.applyAll(new int[]{1, 0}, new int[2], new long[3]);
+            fail();
+        } catch (IllegalArgumentException expected) {
+            // length mismatch
+        }
+    }
+
+    @Test
+    public void sortsParallelColumnsByAnArgsort() {
+        for (int n : SIZES) {
+            Item[] items = items(random, n, 10);
+            long[] keys = new long[n];
+            int[] seqs = new int[n];
+            for (int i = 0; i < n; i++) {
+                keys[i] = items[i].key;
+                seqs[i] = items[i].seq;
+            }
+            int[] order = ArgSort.argsort(keys);
+            assertArrayEquals(order, ArgSort.argsort(items, BY_KEY));
+            Permutations.applyAll(order, keys, seqs, items);
+
+            Item[] expected = items.clone();
+            Arrays.sort(expected, BY_KEY);
+            assertSameOrder(expected, items);
+            for (int i = 0; i < n; i++) {
+                assertTrue("at " + i, keys[i] == items[i].key && seqs[i] == items[i].seq);
+            }
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package me.asu.sort.algorithm;
+
+import static me.asu.sort.StableFixture.assertSameOrder;
+import static me.asu.sort.StableFixture.assertSortsStably;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import me.asu.sort.StableFixture;
+import me.asu.sort.StableFixture.Item;
+import org.junit.Test;
+
+/**
+ * Checks {@link RadixSort} on values of several bit widths with the extremes
+ * mixed in, around the 256-element byte bucket edge. The key and boxed
+ * integral sorts must be stable; the String and byte[] paths are not and
+ * are checked for the order only.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class RadixSortTest {
+
+    private static final int[] SIZES = StableFixture.sizes(255, 256, 257);
+
+    private final RadixSort sort = new RadixSort();
+    private final Random random = new Random(7);
+
+    private static final Comparator<byte[]> UNSIGNED = (a, b) -> {
+        int n = Math.min(a.length, b.length);
+        for (int i = 0; i < n; i++) {
+            int d = (a[i] & 0xff) - (b[i] & 0xff);
+            if (d != 0) {
+                return d;
+            }
+        }
+        return a.length - b.length;
+    };
+
+    /**
+     * Mostly values of the given bit width around zero, with the extremes
+     * mixed in.
+     */
+    private long value(int bits) {
+        switch (random.nextInt(16)) {
+            case 0:
+                return Long.MIN_VALUE;
+            case 1:
+                return Long.MAX_VALUE;
+            case 2:
+                return 0;
+            default:
+                return random.nextLong() >> (64 - bits);
+        }
+    }
+
+    @Test
+    public void isNotStable() {
+        assertFalse(sort.isStable());
+    }
+
+    @Test
+    public void sortsInts() {
+        for (int n : SIZES) {
+            for (int bits : new int[]{4, 20, 32}) {
+                int[] data = new int[n];
+                for (int i = 0; i < n; i++) {
+                    data[i] = (int) value(bits);
+                }
+                int[] expected = data.clone();
+                Arrays.sort(expected);
+                sort.sort(data);
+                assertArrayEquals(expected, data);
+            }
+        }
+    }
+
+    @Test
+    public void sortsLongs() {
+        for (int n : SIZES) {
+            for (int bits : new int[]{4, 33, 64}) {
+                long[] data = new long[n];
+                for (int i = 0; i < n; i++) {
+                    data[i] = value(bits);
+                }
+                long[] expected = data.clone();
+                Arrays.sort(expected);
+                sort.sort(data);
+                assertArrayEquals(expected, data);
+            }
+        }
+    }
+
+    @Test
+    public void sortsFloatsAndDoubles() {
+        for (int n : SIZES) {
+            float[] floats = new float[n];
+            double[] doubles = new double[n];
+            for (int i = 0; i < n; i++) {
+                int r = random.nextInt(10);
+                doubles[i] = r == 0 ? Double.NaN : r == 1 ? -0.0 : r == 2 ? 0.0
+                        : r == 3 ? Double.NEGATIVE_INFINITY : random.nextGaussian() * 1e6;
+                floats[i] = (float) doubles[i];
+            }
+            float[] expectedFloats = floats.clone();
+            double[] expectedDoubles = doubles.clone();
+            Arrays.sort(expectedFloats);
+            Arrays.sort(expectedDoubles);
+            sort.sort(floats);
+            sort.sort(doubles);
+            // exact, -0.0 before 0.0 and NaN last
+            assertTrue(Arrays.equals(expectedFloats, floats));
+            assertTrue(Arrays.equals(expectedDoubles, doubles));
+        }
+    }
+
+    @Test
+    public void sortsByKeyStably() {
+        for (int n : SIZES) {
+            Item[] data = new Item[n];
+            for (int i = 0; i < n; i++) {
+                data[i] = new Item(value(random.nextBoolean() ? 3 : 64), i);
+            }
+            assertSortsStably(data.clone(), byLong -> sort.sortByLongKey(byLong, item -> item.key));
+
+            Item[] byInt = data.clone();
+            Item[] expected = data.clone();
+            Arrays.sort(expected, Comparator.comparingInt(item -> (int) item.key));
+            sort.sortByIntKey(byInt, item -> (int) item.key);
+            assertSameOrder(expected, byInt);
+        }
+    }
+
+    @Test
+    public void sortsBoxedIntegralsStably() {
+        for (int n : SIZES) {
+            Integer[] data = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                // equal values outside the Integer cache are distinct objects
+                data[i] = (int) value(random.nextBoolean() ? 10 : 32);
+            }
+            Integer[] expected = data.clone();
+            Arrays.sort(expected);
+            sort.sort(data);
+            assertSameOrder(expected, data);
+        }
+    }
+
+    @Test
+    public void sortsStrings() {
+        for (int n : SIZES) {
+            String[] data = new String[n];
+            for (int i = 0; i < n; i++) {
+                StringBuilder b = new StringBuilder(random.nextBoolean() ? "" : "prefix");
+                int length = random.nextInt(12);
+                for (int j = 0; j < length; j++) {
+                    int r = random.nextInt(8);
+                    b.append((char) (r == 0 ? 0x4e00 + random.nextInt(50) : r == 1 ? random.nextInt(3) : 'a' + random.nextInt(4)));
+                }
+                if (random.nextInt(50) == 0) {
+                    b.appendCodePoint(0x1F600 + random.nextInt(5));
+                }
+                data[i] = b.toString();
+            }
+            String[] expected = data.clone();
+            Arrays.sort(expected);
+            Object[] boxed = data.clone();
+            sort.sort(data);
+            sort.sort(boxed);
+            assertArrayEquals(expected, data);
+            assertArrayEquals(expected, boxed);
+        }
+    }
+
+    @Test
+    public void sortsByteArraysUnsigned() {
+        for (int n : SIZES) {
+            byte[][] data = new byte[n][];
+            for (int i = 0; i < n; i++) {
+                data[i] = new byte[random.nextInt(10)];
+                for (int j = 0; j < data[i].length; j++) {
+                    data[i][j] = (byte) (random.nextBoolean() ? random.nextInt(4) : random.nextInt(256));
+                }
+            }
+            byte[][] expected = data.clone();
+            Arrays.sort(expected, UNSIGNED);
+            sort.sort(data);
+            for (int i = 0; i < n; i++) {
+                assertArrayEquals("at " + i, expected[i], data[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package me.asu.sort.algorithm;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Checks {@link Selector} against a fully sorted copy, on random, presorted,
+ * reversed and few-valued input.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class SelectorTest {
+
+    private static final int[] SIZES = {1, 2, 10, 11, 12, 100, 1000, 4097};
+
+    private final Random random = new Random(12);
+
+    private Integer[][] inputs(int n) {
+        Integer[] randoms = new Integer[n];
+        Integer[] sorted = new Integer[n];
+        Integer[] reversed = new Integer[n];
+        Integer[] fewValues = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            randoms[i] = random.nextInt();
+            sorted[i] = i;
+            reversed[i] = n - i;
+            fewValues[i] = random.nextInt(3);
+        }
+        return new Integer[][]{randoms, sorted, reversed, fewValues};
+    }
+
+    private int[] ks(int n) {
+        return new int[]{0, n - 1, n / 2, random.nextInt(n)};
+    }
+
+    @Test
+    public void selectsTheKthAndPartitionsAroundIt() {
+        for (int n : SIZES) {
+            for (Integer[] input : inputs(n)) {
+                Integer[] expected = input.clone();
+                Arrays.sort(expected);
+                for (int k : ks(n)) {
+                    Integer[] data = input.clone();
+                    assertEquals(expected[k], Selector.selectKth(data, k, null));
+                    assertEquals(expected[k], data[k]);
+                    for (int i = 0; i < n; i++) {
+                        int d = data[i].compareTo(data[k]);
+                        assertTrue("at " + i, i < k ? d <= 0 : d >= 0);
+                    }
+                    Arrays.sort(data);
+                    assertArrayEquals(expected, data);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void selectsWithAComparator() {
+        for (int n : SIZES) {
+            Integer[] data = inputs(n)[0];
+            Integer[] expected = data.clone();
+            Arrays.sort(expected, Comparator.reverseOrder());
+            int k = random.nextInt(n);
+            assertEquals(expected[k], Selector.selectKth(data, k, Comparator.reverseOrder()));
+        }
+    }
+
+    @Test(expected = ArrayIndexOutOfBoundsException.class)
+    public void rejectsAKOutsideTheArray() {
+        Selector.selectKth(new Integer[]{1, 2, 3}, 3, null);
+    }
+
+    @Test
+    public void sortsTheKSmallest() {
+        for (int n : SIZES) {
+            for (Integer[] input : inputs(n)) {
+                Integer[] expected = input.clone();
+                Arrays.sort(expected);
+                for (int k : new int[]{0, 1, n / 3, n, n + 1}) {
+                    Integer[] data = input.clone();
+                    Selector.partialSort(data, k, null);
+                    int m = Math.min(k, n);
+                    assertArrayEquals(Arrays.copyOf(expected, m), Arrays.copyOf(data, m));
+                    Arrays.sort(data, m, n);
+                    assertArrayEquals(expected, data);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void keepsTheTopK() {
+        for (int n : SIZES) {
+            for (Integer[] input : inputs(n)) {
+                List<Integer> expected = Arrays.asList(input.clone());
+                Collections.sort(expected);
+                for (int k : new int[]{0, 1, n / 3, n, n + 1, 5000}) {
+                    List<Integer> top = Selector.topK(Arrays.asList(input).iterator(), k, null);
+                    assertEquals(expected.subList(0, Math.min(k, n)), top);
+                }
+                List<Integer> largest = Selector.topK(Arrays.asList(input).iterator(), 3,
+                        Comparator.reverseOrder());
+                assertEquals(expected.subList(Math.max(0, n - 3), n), reverse(largest));
+            }
+        }
+    }
+
+    private static <T> List<T> reverse(List<T> list) {
+        Collections.reverse(list);
+        return list;
+    }
+}
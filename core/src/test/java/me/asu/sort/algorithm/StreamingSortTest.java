@@ -0,0 +1,147 @@
+package me.asu.sort.algorithm;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+/**
+ * Checks the {@link StreamingSort} views against a sorted copy of what they
+ * should hold, kept in arrival order next to the view; the windows evict
+ * past the initial ring and heap capacity.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class StreamingSortTest {
+
+    private final Random random = new Random(13);
+
+    private static List<Integer> sorted(Iterable<Integer> values, Comparator<? super Integer> c) {
+        List<Integer> list = new ArrayList<>();
+        for (Integer v : values) {
+            list.add(v);
+        }
+        list.sort(c);
+        return list;
+    }
+
+    private static void assertView(List<Integer> expected, StreamingSort<Integer> view) {
+        assertEquals(expected.size(), view.size());
+        assertEquals(expected, view.snapshot());
+        int m = expected.size() / 2;
+        assertEquals(expected.subList(0, m), view.snapshot(m));
+        Integer[] out = new Integer[m];
+        assertEquals(m, view.snapshot(out));
+        assertEquals(expected.subList(0, m), Arrays.asList(out));
+    }
+
+    @Test
+    public void keepsTheKSmallest() {
+        for (int k : new int[]{1, 5, 100, 2000}) {
+            StreamingSort<Integer> view = StreamingSort.topK(k, null);
+            List<Integer> all = new ArrayList<>();
+            for (int i = 0; i < 3000; i++) {
+                int v = random.nextInt(1000);
+                view.offer(v);
+                all.add(v);
+                if (i % 97 == 0) {
+                    List<Integer> expected = sorted(all, null);
+                    assertView(expected.subList(0, Math.min(k, expected.size())), view);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void keepsTheKLargestWithAReversedComparator() {
+        StreamingSort<Integer> view = StreamingSort.topK(10, Comparator.reverseOrder());
+        List<Integer> all = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            all.add(random.nextInt());
+        }
+        Integer[] batch = all.toArray(new Integer[0]);
+        view.offerAll(batch);
+        all.sort(Collections.reverseOrder());
+        assertView(all.subList(0, 10), view);
+    }
+
+    @Test
+    public void evictsAllButTheLastN() {
+        for (int n : new int[]{1, 3, 16, 17, 500}) {
+            StreamingSort<Integer> view = StreamingSort.lastN(n, null);
+            Deque<Integer> last = new ArrayDeque<>();
+            for (int i = 0; i < 2000; i++) {
+                int v = random.nextInt(50);
+                view.offer(v);
+                last.addLast(v);
+                if (last.size() > n) {
+                    last.removeFirst();
+                }
+                if (i % 37 == 0 || i < 40) {
+                    assertView(sorted(last, null), view);
+                }
+            }
+            view.clear();
+            assertEquals(0, view.size());
+            view.offer(7);
+            assertEquals(Collections.singletonList(7), view.snapshot());
+        }
+    }
+
+    @Test
+    public void evictsByTheClock() {
+        final long[] now = {1000};
+        StreamingSort<Integer> view = StreamingSort.timeWindow(100, () -> now[0], Comparator.reverseOrder());
+        Deque<long[]> window = new ArrayDeque<>();
+        for (int i = 0; i < 5000; i++) {
+            // several elements per tick, and quiet spells that empty the window
+            now[0] += random.nextInt(50) == 0 ? 150 : random.nextInt(3);
+            int v = random.nextInt(1000);
+            view.offer(v);
+            window.addLast(new long[]{now[0], v});
+            while (window.getFirst()[0] <= now[0] - 100) {
+                window.removeFirst();
+            }
+            if (i % 41 == 0) {
+                List<Integer> values = new ArrayList<>();
+                for (long[] e : window) {
+                    values.add((int) e[1]);
+                }
+                assertView(sorted(values, Comparator.reverseOrder()), view);
+            }
+        }
+        now[0] += 100;
+        assertEquals(0, view.size());
+        assertEquals(Collections.emptyList(), view.snapshot());
+    }
+
+    @Test
+    public void evictsByEventTime() {
+        StreamingSort<Integer> view = StreamingSort.timeWindow(10, () -> 0L, null);
+        for (int t = 0; t < 30; t++) {
+            view.offer(30 - t, t);
+        }
+        // 20 to 29 are inside the window, offered as 10 down to 1
+        List<Integer> expected = new ArrayList<>();
+        for (int v = 1; v <= 10; v++) {
+            expected.add(v);
+        }
+        view.offer(0, 29);
+        expected.add(0, 0);
+        // the clock is behind the event time, so snapshot() evicts nothing more
+        assertEquals(expected, view.snapshot());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAnEmptyWindow() {
+        StreamingSort.lastN(0, null);
+    }
+}
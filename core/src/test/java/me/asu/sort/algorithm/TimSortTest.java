@@ -0,0 +1,130 @@
+package me.asu.sort.algorithm;
+
+import static me.asu.sort.StableFixture.BY_KEY;
+import static me.asu.sort.StableFixture.assertSameOrder;
+import static me.asu.sort.StableFixture.assertSortsStably;
+import static me.asu.sort.StableFixture.items;
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import me.asu.sort.StableFixture;
+import me.asu.sort.StableFixture.Item;
+import me.asu.sort.Workspace;
+import org.junit.Test;
+
+/**
+ * Checks {@link TimSort} on arrays built from ascending and descending runs
+ * of random lengths and from interleaved blocks, which drive the run
+ * detection, the merge policy and galloping.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class TimSortTest {
+
+    private static final int[] SIZES = StableFixture.sizes(64, 65, 65536);
+
+    private final TimSort sort = new TimSort();
+    private final Random random = new Random(6);
+
+    private int[] randomKeys(int n, int bound) {
+        int[] keys = new int[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = random.nextInt(bound);
+        }
+        return keys;
+    }
+
+    /**
+     * Ascending and descending runs, each of 1 to maxRun keys, with ties
+     * inside and across the runs.
+     */
+    private int[] runKeys(int n, int maxRun) {
+        int[] keys = new int[n];
+        int i = 0;
+        while (i < n) {
+            int end = Math.min(n, i + 1 + random.nextInt(maxRun));
+            int key = random.nextInt(n + 1);
+            boolean descending = random.nextBoolean();
+            for (; i < end; i++) {
+                keys[i] = key;
+                key += (descending ? -1 : 1) * random.nextInt(3);
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * Two ascending halves whose values alternate in blocks of block keys,
+     * so a merge takes long streaks from either side.
+     */
+    private static int[] interleavedKeys(int n, int block) {
+        int[] keys = new int[n];
+        int half = n / 2;
+        for (int i = 0; i < n; i++) {
+            int k = i < half ? i : i - half;
+            keys[i] = (k / block) * 2 * block + (i < half ? 0 : block) + k % block;
+        }
+        return keys;
+    }
+
+    private void check(int[] keys) {
+        assertSortsStably(items(keys), data -> sort.sort(data, BY_KEY));
+    }
+
+    @Test
+    public void sortsRandomInputStably() {
+        for (int n : SIZES) {
+            check(randomKeys(n, 1));
+            check(randomKeys(n, 10));
+            check(randomKeys(n, n + 1));
+        }
+    }
+
+    @Test
+    public void sortsRunsStably() {
+        for (int n : SIZES) {
+            for (int maxRun : new int[]{2, 40, 1000}) {
+                check(runKeys(n, maxRun));
+            }
+        }
+    }
+
+    @Test
+    public void sortsWithGalloping() {
+        for (int n : SIZES) {
+            for (int block : new int[]{1, 7, 100, 5000}) {
+                check(interleavedKeys(n, block));
+            }
+        }
+    }
+
+    @Test
+    public void sortsOnlyTheRange() {
+        for (int n : SIZES) {
+            Item[] data = items(runKeys(n, 50));
+            int from = n / 3;
+            int to = n - n / 4;
+            Item[] expected = data.clone();
+            Arrays.sort(expected, from, to, BY_KEY);
+            sort.sort(data, from, to, BY_KEY, new Workspace());
+            assertSameOrder(expected, data);
+        }
+    }
+
+    @Test
+    public void sortsInNaturalOrder() {
+        for (int n : SIZES) {
+            int[] keys = runKeys(n, 100);
+            String[] data = new String[n];
+            for (int i = 0; i < n; i++) {
+                data[i] = Integer.toString(keys[i], 36);
+            }
+            String[] expected = data.clone();
+            Arrays.sort(expected);
+            sort.sort(data);
+            assertArrayEquals(expected, data);
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package me.asu.sort.external;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Checks {@link ExternalSort} with a budget small enough for dozens of runs
+ * and several merge passes. Every sort, also a failing one, must leave the
+ * temp directory empty.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class ExternalSortTest {
+
+    /**
+     * About 700 four-byte records per chunk and a fan-in of 7.
+     */
+    private static final long BUDGET = 64 * 1024;
+
+    private static final Comparator<byte[]> BY_KEY = Comparator.comparingInt(record -> record[0] & 0xff);
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private final Random random = new Random(8);
+    private File tempDir;
+
+    @Before
+    public void setUp() throws IOException {
+        tempDir = folder.newFolder("runs");
+    }
+
+    private void assertNoRunsLeft() {
+        assertEquals(0, tempDir.list().length);
+    }
+
+    private static byte[] record(int key, int seq) {
+        return new byte[]{(byte) key, (byte) (seq >>> 16), (byte) (seq >>> 8), (byte) seq};
+    }
+
+    private static byte[] concat(byte[][] records) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] record : records) {
+            out.write(record, 0, record.length);
+        }
+        return out.toByteArray();
+    }
+
+    private ExternalSort<byte[]> newSort(Comparator<byte[]> c) {
+        ExternalSort<byte[]> sort = new ExternalSort<>(new FixedWidthFormat(4), c, BUDGET);
+        sort.setTempDir(tempDir);
+        return sort;
+    }
+
+    @Test
+    public void sortsStablyAcrossMergePasses() throws IOException {
+        for (int n : new int[]{0, 1, 700, 5000, 50000}) {
+            for (int fanIn : new int[]{2, 64}) {
+                byte[][] data = new byte[n][];
+                for (int i = 0; i < n; i++) {
+                    data[i] = record(random.nextInt(16), i);
+                }
+                byte[][] expected = data.clone();
+                Arrays.sort(expected, BY_KEY);
+                ExternalSort<byte[]> sort = newSort(BY_KEY);
+                sort.setFanIn(fanIn);
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                sort.sort(new ByteArrayInputStream(concat(data)), out);
+                assertArrayEquals(concat(expected), out.toByteArray());
+                assertNoRunsLeft();
+            }
+        }
+    }
+
+    @Test
+    public void sortsLines() throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder b = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                b.append((char) (random.nextInt(4) == 0 ? 0x4e00 + random.nextInt(50) : 'a' + random.nextInt(3)));
+            }
+            lines.add(b.toString());
+        }
+        File input = folder.newFile("input.txt");
+        File output = folder.newFile("output.txt");
+        Files.write(input.toPath(), lines, StandardCharsets.UTF_8);
+        ExternalSort<String> sort = new ExternalSort<>(new LineFormat(StandardCharsets.UTF_8),
+                Comparator.<String>naturalOrder(), BUDGET * 4);
+        sort.setTempDir(tempDir);
+        sort.sort(input, output);
+        lines.sort(null);
+        assertEquals(lines, Files.readAllLines(output.toPath(), StandardCharsets.UTF_8));
+        assertNoRunsLeft();
+    }
+
+    @Test
+    public void failsOnARecordLargerThanTheBudget() throws IOException {
+        StringBuilder b = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            b.append(random.nextInt()).append('\n');
+        }
+        // after several runs have been spilled
+        char[] large = new char[(int) BUDGET * 4];
+        Arrays.fill(large, 'x');
+        b.append(large).append('\n');
+        ExternalSort<String> sort = new ExternalSort<>(new LineFormat(StandardCharsets.UTF_8),
+                Comparator.<String>naturalOrder(), BUDGET * 4);
+        sort.setTempDir(tempDir);
+        try {
+            sort.sort(new ByteArrayInputStream(b.toString().getBytes(StandardCharsets.UTF_8)),
+                    new ByteArrayOutputStream());
+            fail();
+        } catch (IOException expected) {
+            // the record does not fit
+        }
+        assertNoRunsLeft();
+    }
+
+    @Test
+    public void deletesTheRunsWhenTheMergeFails() throws IOException {
+        byte[][] data = new byte[50000][];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = record(random.nextInt(256), i);
+        }
+        ExternalSort<byte[]> sort = newSort(FixedWidthFormat::compareUnsigned);
+        sort.setFanIn(4);
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("disk full");
+            }
+        };
+        try {
+            sort.sort(new ByteArrayInputStream(concat(data)), broken);
+            fail();
+        } catch (IOException expected) {
+            // from the last merge pass
+        }
+        assertNoRunsLeft();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsABudgetTooSmallToMerge() {
+        new ExternalSort<>(new FixedWidthFormat(4), BY_KEY, 1024);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsAFanInBelowTwo() {
+        newSort(BY_KEY).setFanIn(1);
+    }
+}
@@ -0,0 +1,131 @@
+package me.asu.sort.external;
+
+import static me.asu.sort.StableFixture.BY_KEY;
+import static me.asu.sort.StableFixture.assertSortsStably;
+import static me.asu.sort.StableFixture.items;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.function.ToLongFunction;
+import me.asu.sort.StableFixture;
+import me.asu.sort.StableFixture.Item;
+import me.asu.sort.algorithm.NormalizedKeys;
+import org.junit.Test;
+
+/**
+ * Checks {@link OffHeapSort} with prefixes that only tell some keys apart,
+ * which leaves tie groups to the comparator, small ones and ones too large
+ * for the tie buffer. Items are stored as their key and sequence number and
+ * read back as the very same objects, so stability is checked by identity.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class OffHeapSortTest {
+
+    private static final int[] SIZES = StableFixture.sizes(5000);
+
+    private final Random random = new Random(19);
+
+    /**
+     * Encodes an item of data as its key and index, decodes to the item.
+     */
+    private static final class ItemCodec implements RecordCodec<Item> {
+
+        private final Item[] data;
+
+        ItemCodec(Item[] data) {
+            this.data = data;
+        }
+
+        public int sizeOf(Item record) {
+            return 12;
+        }
+
+        public void write(Item record, ByteBuffer dst) {
+            dst.putLong(record.key);
+            dst.putInt(record.seq);
+        }
+
+        public Item read(ByteBuffer src) {
+            long key = src.getLong();
+            Item item = data[src.getInt()];
+            assertEquals(item.key, key);
+            return item;
+        }
+    }
+
+    /**
+     * Reads all records back, checking there are no more than fit into.
+     */
+    private static <T> T[] drain(OffHeapSort<T> sort, T[] into) {
+        Iterator<T> it = sort.iterator();
+        for (int i = 0; i < into.length; i++) {
+            into[i] = it.next();
+        }
+        assertFalse(it.hasNext());
+        return into;
+    }
+
+    /**
+     * Sorts data off heap and drains the result back into it.
+     */
+    private static void sortOffHeap(Item[] data, ToLongFunction<Item> prefix,
+                                    Comparator<? super Item> c) {
+        try (OffHeapSort<Item> sort = new OffHeapSort<>(new ItemCodec(data.clone()), prefix, c)) {
+            sort.addAll(Arrays.asList(data).iterator());
+            drain(sort, data);
+        }
+    }
+
+    @Test
+    public void sortsStringsLikeArraysSort() {
+        for (int n : SIZES) {
+            String[] data = new String[n];
+            for (int i = 0; i < n; i++) {
+                StringBuilder b = new StringBuilder(i % 2 == 0 ? "" : "common prefix ");
+                int length = random.nextInt(10);
+                for (int j = 0; j < length; j++) {
+                    b.append((char) (random.nextInt(4) == 0 ? 0x4e00 + random.nextInt(50) : 'a' + random.nextInt(3)));
+                }
+                data[i] = b.toString();
+            }
+            String[] expected = data.clone();
+            Arrays.sort(expected);
+            try (OffHeapSort<String> sort = new OffHeapSort<>(new StringCodec(), NormalizedKeys::prefix,
+                    Comparator.naturalOrder())) {
+                sort.setChunkBytes(4096);
+                for (String s : data) {
+                    sort.add(s);
+                }
+                sort.sort();
+                assertEquals(n, sort.size());
+                assertArrayEquals(expected, drain(sort, new String[n]));
+            }
+        }
+    }
+
+    @Test
+    public void breaksPrefixTiesStably() {
+        for (int n : SIZES) {
+            for (int keys : new int[]{2, 16, 256}) {
+                // the prefix tells only every fourth key apart
+                assertSortsStably(items(random, n, keys),
+                        data -> sortOffHeap(data, item -> item.key >>> 2 << 56, BY_KEY));
+            }
+        }
+    }
+
+    @Test
+    public void keepsEqualPrefixesInOrderWithoutComparator() {
+        for (int n : SIZES) {
+            assertSortsStably(items(random, n, 5), data -> sortOffHeap(data, item -> item.key << 56, null));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package me.asu.sort.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import me.asu.sort.algorithm.Sorts;
+import org.junit.Test;
+
+/**
+ * Checks that {@link SortService} completes every future with its sorted
+ * array, batches of tiny jobs and large ones alike, and that full queues,
+ * failing sorts and close surface through the futures and counters.
+ *
+ * @author Suk Honzeon
+ * @version 1.0
+ */
+public class SortServiceTest {
+
+    private static final long TIMEOUT_SECONDS = 30;
+
+    private static <A> A await(CompletableFuture<A> future) throws Exception {
+        return future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    private static void assertRejected(CompletableFuture<?> future) throws Exception {
+        try {
+            await(future);
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    @Test
+    public void sortsEveryJobFromManyProducers() throws Exception {
+        final int producers = 4;
+        final int jobs = 2000;
+        List<Thread> threads = new ArrayList<>();
+        final List<List<CompletableFuture<?>>> futures = new ArrayList<>();
+        final List<List<Object>> expected = new ArrayList<>();
+        try (final SortService service = new SortService(Sorts.get("auto"))) {
+            service.setBatchElements(1000);
+            for (int p = 0; p < producers; p++) {
+                final List<CompletableFuture<?>> mine = new ArrayList<>();
+                final List<Object> sorted = new ArrayList<>();
+                final Random random = new Random(24 + p);
+                futures.add(mine);
+                expected.add(sorted);
+                Thread t = new Thread(() -> {
+                    try {
+                        for (int j = 0; j < jobs; j++) {
+                            // mostly tiny jobs, a large one now and then
+                            int n = j % 500 == 0 ? 50000 : random.nextInt(40);
+                            int[] ints = new int[n];
+                            for (int i = 0; i < n; i++) {
+                                ints[i] = random.nextInt();
+                            }
+                            if (j % 2 == 0) {
+                                int[] copy = ints.clone();
+                                Arrays.sort(copy);
+                                sorted.add(copy);
+                                mine.add(service.submit(ints));
+                            } else {
+                                Integer[] boxed = new Integer[n];
+                                for (int i = 0; i < n; i++) {
+                                    boxed[i] = ints[i];
+                                }
+                                Integer[] copy = boxed.clone();
+                                Arrays.sort(copy, Comparator.reverseOrder());
+                                sorted.add(copy);
+                                mine.add(service.submit(boxed, Comparator.reverseOrder()));
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+                threads.add(t);
+                t.start();
+            }
+            for (Thread t : threads) {
+                t.join();
+            }
+            for (int p = 0; p < producers; p++) {
+                assertEquals(jobs, futures.get(p).size());
+                for (int j = 0; j < jobs; j++) {
+                    Object actual = await(futures.get(p).get(j));
+                    if (actual instanceof int[]) {
+                        assertArrayEquals((int[]) expected.get(p).get(j), (int[]) actual);
+                    } else {
+                        assertArrayEquals((Object[]) expected.get(p).get(j), (Object[]) actual);
+                    }
+                }
+            }
+            assertEquals(producers * jobs, service.getCompleted());
+            assertEquals(0, service.getFailed());
+            assertEquals(0, service.getRejected());
+            assertTrue(service.latencyPercentile(99) > 0);
+        }
+    }
+
+    @Test
+    public void rejectsWhenTheQueueIsFull() throws Exception {
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try (SortService service = new SortService(Sorts.get("insert"), pool, 1)) {
+            final CountDownLatch started = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            Comparator<Integer> blocking = (a, b) -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return a.compareTo(b);
+            };
+            // the only thread is busy with the first job, the second fills the queue
+            CompletableFuture<Integer[]> first = service.trySubmit(new Integer[]{2, 1}, blocking);
+            assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            Integer[] waiting = {4, 3};
+            CompletableFuture<Integer[]> second = service.trySubmit(waiting);
+            assertEquals(1, service.getQueueDepth());
+            assertRejected(service.trySubmit(new Integer[]{6, 5}));
+            assertEquals(1, service.getRejected());
+
+            release.countDown();
+            assertArrayEquals(new Integer[]{1, 2}, await(first));
+            assertSame(waiting, await(second));
+            assertArrayEquals(new Integer[]{3, 4}, waiting);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void failsTheFutureWithWhatTheSortThrew() throws Exception {
+        try (SortService service = new SortService(Sorts.get("tim"))) {
+            final IllegalStateException thrown = new IllegalStateException("bad comparator");
+            CompletableFuture<Integer[]> future = service.submit(new Integer[]{1, 2, 3}, (a, b) -> {
+                throw thrown;
+            });
+            try {
+                await(future);
+                fail();
+            } catch (ExecutionException e) {
+                assertSame(thrown, e.getCause());
+            }
+            assertEquals(1, service.getFailed());
+            assertArrayEquals(new long[]{1, 2}, await(service.submit(new long[]{2, 1})));
+        }
+    }
+
+    @Test
+    public void finishesQueuedJobsOnCloseAndRejectsLaterOnes() throws Exception {
+        SortService service = new SortService(Sorts.get("quick"));
+        Random random = new Random(24);
+        List<CompletableFuture<double[]>> futures = new ArrayList<>();
+        for (int j = 0; j < 500; j++) {
+            double[] data = new double[random.nextInt(200)];
+            for (int i = 0; i < data.length; i++) {
+                data[i] = random.nextGaussian();
+            }
+            futures.add(service.submit(data));
+        }
+        service.close();
+        for (CompletableFuture<double[]> future : futures) {
+            assertTrue(future.isDone());
+            double[] sorted = await(future);
+            for (int i = 1; i < sorted.length; i++) {
+                assertTrue(sorted[i - 1] <= sorted[i]);
+            }
+        }
+        assertRejected(service.submit(new int[]{2, 1}));
+        assertRejected(service.trySubmit(new Integer[]{2, 1}));
+        assertEquals(2, service.getRejected());
+    }
+}
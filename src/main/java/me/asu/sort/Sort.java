@@ -1,53 +0,0 @@
-package me.asu.sort;
-
-import java.util.Comparator;
-import me.asu.sort.algorithm.Sorts;
-
-/**
- * Created by suk on 2019/10/1.
- */
-public interface Sort {
-
-    <T> void sort(T[] data);
-
-    <T> void sort(T[] data, Comparator<? super T> c);
-
-    String algorithm();
-
-
-    static <T> void sortData(T[] data) {
-        sortData(data, "improved_quick");
-    }
-
-    static <T> void sortData(T[] data, String algorithm) {
-        int index = -1;
-        if (data == null || data.length == 0) {
-            return;
-        }
-        Sort Sort = Sorts.get(algorithm);
-        if (Sort != null) {
-            Sort.sort(data);
-        } else {
-            System.out.println("There's no " + algorithm);
-        }
-    }
-
-
-    static <T> void sortData(T[] data, String algorithm, Comparator<? super T> c) {
-        int index = -1;
-        if (data == null || data.length == 0) {
-            return;
-        }
-
-        Sort Sort = Sorts.get(algorithm);
-        if (Sort != null) {
-            if (c == null) {
-                Sort.sort(data);
-            } else {
-                Sort.sort(data, c);
-            }
-        } else {
-            System.out.println("There's no " + algorithm);
-        }
-    }
-}